@@ -0,0 +1,129 @@
+package com.vinn.springgenie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering throughput of each generator class, with no file I/O.
+ * Run with the GC profiler to see bytes allocated per rendered file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+
+    private static final String BASE_PACKAGE = "com.example.benchmark";
+    private static final String MODULE_NAME = "Catalog";
+    private static final String PROJECT_NAME = "benchmark-app";
+    private static final String FIELDS = "sku:String:required:unique:length=64,name:String:required:indexed:length=120,"
+            + "price:BigDecimal:required,description:String:length=2000,createdAt:Instant";
+
+    @Param({"Product", "InvoiceLineItem"})
+    public String entityName;
+
+    @Param({"postgresql"})
+    public String databaseType;
+
+    /**
+     * The optional features to render with, as a comma-separated list (e.g., -p features=keyset-pagination).
+     */
+    @Param({""})
+    public String features;
+
+    private EntitySpec entity;
+    private ProjectSpec propertiesSpec;
+    private ProjectSpec ymlSpec;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entity = new EntitySpec(entityName, FieldSpec.parseList(FIELDS));
+        propertiesSpec = spec("properties");
+        ymlSpec = spec("yml");
+    }
+
+    private ProjectSpec spec(final String configFileType) {
+        return ProjectSpec.fromMap(Map.ofEntries(
+                Map.entry("projectName", PROJECT_NAME),
+                Map.entry("basePackage", BASE_PACKAGE),
+                Map.entry("moduleName", MODULE_NAME),
+                Map.entry("entities", entityName),
+                Map.entry("configFileType", configFileType),
+                Map.entry("databaseType", databaseType),
+                Map.entry("databaseName", "benchmarkdb"),
+                Map.entry("createDatabaseIfNotExist", "yes"),
+                Map.entry("dbUsername", "user"),
+                Map.entry("dbPassword", "secret"),
+                Map.entry("features", features)));
+    }
+
+    @Benchmark
+    public String controllerClass() {
+        return ControllerClassGenerator.generate(propertiesSpec, entity);
+    }
+
+    @Benchmark
+    public String serviceClass() {
+        return ServiceClassGenerator.generate(propertiesSpec, entity);
+    }
+
+    @Benchmark
+    public String entityClass() {
+        return EntityClassGenerator.generate(propertiesSpec, entity);
+    }
+
+    @Benchmark
+    public String repositoryClass() {
+        return RepositoryClassGenerator.generate(propertiesSpec, entity);
+    }
+
+    @Benchmark
+    public String summaryInterface() {
+        return RepositoryClassGenerator.generateSummary(propertiesSpec, entity);
+    }
+
+    @Benchmark
+    public String requestRecord() {
+        return DtoClassGenerator.generateRequest(propertiesSpec, entity);
+    }
+
+    @Benchmark
+    public String responseRecord() {
+        return DtoClassGenerator.generateResponse(propertiesSpec, entity);
+    }
+
+    @Benchmark
+    public String pomXml() {
+        return PomXmlGenerator.generate(propertiesSpec);
+    }
+
+    @Benchmark
+    public String gradleBuildFile() {
+        return GradleBuildFileGenerator.generate(propertiesSpec);
+    }
+
+    @Benchmark
+    public String applicationProperties() {
+        return ApplicationConfigGenerator.generate(propertiesSpec);
+    }
+
+    @Benchmark
+    public String applicationYml() {
+        return ApplicationConfigGenerator.generate(ymlSpec);
+    }
+}
@@ -0,0 +1,111 @@
+package com.vinn.springgenie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end throughput of a full {@link CliGenerator} project run, including
+ * directory creation and file writes, into a temporary directory, and in-memory
+ * rendering throughput of a large multi-entity domain.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProjectGenerationBenchmark {
+
+    @Param({"maven", "gradle"})
+    public String buildTool;
+
+    private static final int LARGE_DOMAIN_ENTITIES = 200;
+
+    private final ProjectWriter writer = new ProjectWriter(false, false);
+    private Path outputRoot;
+    private long freshRuns;
+    private ProjectSpec spec;
+    private ProjectSpec largeDomainSpec;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        outputRoot = Files.createTempDirectory("springgenie-jmh");
+        spec = ProjectSpec.fromMap(Map.of(
+                "projectName", "benchmark-app",
+                "basePackage", "com.example.benchmark",
+                "moduleName", "Product",
+                "buildTool", buildTool,
+                "databaseType", "postgresql",
+                "databaseName", "benchmarkdb"));
+
+        final StringBuilder entities = new StringBuilder();
+        for (int i = 0; i < LARGE_DOMAIN_ENTITIES; i++) {
+            entities.append(i == 0 ? "" : ",").append("Entity").append(i);
+        }
+        largeDomainSpec = ProjectSpec.fromMap(Map.of(
+                "projectName", "benchmark-domain",
+                "basePackage", "com.example.benchmark",
+                "moduleName", "Domain",
+                "entities", entities.toString(),
+                "buildTool", buildTool,
+                "databaseType", "postgresql",
+                "databaseName", "benchmarkdb"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (final Stream<Path> paths = Files.walk(outputRoot)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Regenerates the same project over and over, which measures the incremental
+     * (hash-compare, nothing-changed) path after the first invocation.
+     */
+    @Benchmark
+    public ProjectWriter.WriteReport regenerateProject() throws IOException {
+        return CliGenerator.generateProject(spec, outputRoot, writer);
+    }
+
+    /**
+     * Generates the project into a fresh directory on each invocation, which measures a full write.
+     */
+    @Benchmark
+    public ProjectWriter.WriteReport generateFreshProject() throws IOException {
+        return CliGenerator.generateProject(spec, outputRoot.resolve("fresh-" + (freshRuns++)), writer);
+    }
+
+    @Benchmark
+    public int streamZipArchive() throws IOException {
+        return CliGenerator.generateArchive(spec, ArchiveOutput.Format.ZIP, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public List<GeneratedFile> renderLargeDomain() {
+        return CliGenerator.renderProject(largeDomainSpec);
+    }
+}
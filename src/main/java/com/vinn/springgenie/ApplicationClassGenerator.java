@@ -1,39 +1,68 @@
 package com.vinn.springgenie;
 
+import java.util.Map;
+
 /**
  * A helper class to generate the content for the main Spring Boot Application class.
  * This class serves as the entry point for the Spring Boot application.
  */
 public class ApplicationClassGenerator {
 
+    private static final Template TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage};
+
+            import org.springframework.boot.SpringApplication;
+            import org.springframework.boot.autoconfigure.SpringBootApplication;
+            ${startupImport}
+            /**
+             * Main entry point for the ${moduleName} Spring Boot application.
+             * This class enables auto-configuration, component scanning, and serves as the
+             * starting point for running the application.
+            ${startupDoc} */
+            @SpringBootApplication${scanBasePackages}
+            public class Application {
+            ${startupSteps}
+                public static void main(String[] args) {
+            ${run}    }
+
+            }
+            """);
+
+    /**
+     * The number of startup steps buffered with {@link Feature#FAST_STARTUP}. A context of a few
+     * dozen entities records several hundred; steps beyond the buffer are dropped.
+     */
+    private static final int STARTUP_STEPS = 2048;
+
     /**
      * Generates the content for the main Spring Boot Application class.
+     * With {@link Feature#FAST_STARTUP} the component scan is limited to the module's package, and
+     * the startup steps are buffered for the actuator's startup endpoint.
      *
-     * @param basePackage          The base package of the application.
-     * @param pascalCaseModuleName The module name in PascalCase.
+     * @param spec The project specification.
      * @return A string containing the Application class content.
      */
-    public static String generate(final String basePackage, final String pascalCaseModuleName) {
-        final String camelCaseModuleName = Character.toLowerCase(pascalCaseModuleName.charAt(0)) + pascalCaseModuleName.substring(1);
-        return """
-                package %s.%s;
-
-                import org.springframework.boot.SpringApplication;
-                import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-                /**
-                 * Main entry point for the %s Spring Boot application.
-                 * This class enables auto-configuration, component scanning, and serves as the
-                 * starting point for running the application.
-                 */
-                @SpringBootApplication
-                public class Application {
-
-                    public static void main(String[] args) {
-                        SpringApplication.run(Application.class, args);
-                    }
-
-                }
-                """.formatted(basePackage, camelCaseModuleName, pascalCaseModuleName);
+    public static String generate(final ProjectSpec spec) {
+        final String modulePackage = spec.basePackage() + "." + spec.modulePackage();
+        final boolean fastStartup = spec.hasFeature(Feature.FAST_STARTUP);
+        return TEMPLATE.render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage(),
+                "moduleName", spec.moduleName(),
+                "startupImport", fastStartup ? "import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;\n" : "",
+                "startupDoc", fastStartup
+                        ? " * Its startup steps are recorded and served by the actuator's startup endpoint\n"
+                        + " * (GET /actuator/startup), which lists the time each bean and startup phase took.\n"
+                        : "",
+                "scanBasePackages", fastStartup ? "(scanBasePackages = \"" + modulePackage + "\") // Only the module's own package" : "",
+                "startupSteps", fastStartup
+                        ? "\n    /**\n     * The number of startup steps kept for /actuator/startup.\n     */\n"
+                        + "    private static final int STARTUP_STEPS = " + STARTUP_STEPS + ";\n"
+                        : "",
+                "run", fastStartup
+                        ? "        final SpringApplication application = new SpringApplication(Application.class);\n"
+                        + "        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));\n"
+                        + "        application.run(args);\n"
+                        : "        SpringApplication.run(Application.class, args);\n"));
     }
-}
\ No newline at end of file
+}
@@ -1,177 +1,478 @@
 package com.vinn.springgenie;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
 /**
  * A helper class to generate the content for the application configuration file
  * (application.properties or application.yml) based on user's database choices.
+ * The settings are collected once as flat Spring Boot property keys, in order, and then
+ * written either as {@code key=value} lines or as the equivalent nested YAML.
  */
 public class ApplicationConfigGenerator {
 
+    /**
+     * YAML values that can be written without quotes: numbers, durations (e.g., 5000ms), booleans and
+     * unambiguous words, paths and JDBC URLs. Everything else is double-quoted.
+     */
+    private static final Pattern PLAIN_YAML_VALUE = Pattern.compile("-?(0|[1-9][0-9]*)|[0-9]+[a-z]+|[A-Za-z/][A-Za-z0-9_./:?&=+,-]*");
+
+    /**
+     * Words that YAML 1.1 parsers read as booleans or null, so they must be quoted to stay strings.
+     */
+    private static final Set<String> YAML_KEYWORDS = Set.of("y", "n", "yes", "no", "on", "off", "null");
+
+    /**
+     * The connection pool size with {@link Feature#PRODUCTION_TUNING} (HikariCP, or the R2DBC pool with
+     * {@link Feature#REACTIVE}). A small fixed pool keeps the database busy without making
+     * connections queue for its CPUs and disks.
+     */
+    private static final int HIKARI_POOL_SIZE = 10;
+
+    /**
+     * How long a request waits for a pooled connection before failing, in milliseconds.
+     */
+    private static final int HIKARI_CONNECTION_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * How long a pooled connection lives, in milliseconds; shorter than the usual database
+     * and firewall idle timeouts, so the pool retires connections before they are cut.
+     */
+    private static final int HIKARI_MAX_LIFETIME_MILLIS = 1_800_000;
+
+    /**
+     * The connection pool size with {@link Feature#VIRTUAL_THREADS}. Without Tomcat's 200 platform
+     * threads limiting concurrency, the pool is what bounds the load on the database, so it is
+     * somewhat larger than {@link #HIKARI_POOL_SIZE} but still far below the number of requests.
+     */
+    private static final int VIRTUAL_THREADS_HIKARI_POOL_SIZE = 20;
+
+    /**
+     * How long a request waits for a pooled connection with {@link Feature#VIRTUAL_THREADS}, in
+     * milliseconds. Virtual threads are cheap to park, so under overload they would queue up for
+     * connections without bound; a short timeout turns that into fast failures instead.
+     */
+    private static final int VIRTUAL_THREADS_HIKARI_CONNECTION_TIMEOUT_MILLIS = 2_000;
+
+    /**
+     * The smallest response compressed with {@link Feature#HTTP_CACHING}, in bytes. Below about a kilobyte,
+     * and so for most single entities, gzip saves too little to pay for its CPU time and header.
+     */
+    private static final int COMPRESSION_MIN_RESPONSE_SIZE = 1024;
+
+    /**
+     * The longest time an export of {@link Feature#EXPORT_IMPORT} may take to write its response.
+     */
+    private static final String EXPORT_TIMEOUT = "30m";
+
     /**
      * Generates the content for the application configuration file.
+     * Besides the datasource and JPA settings, it caps the page size of the generated
+     * list endpoints at {@link ProjectSpec#maxPageSize()}, and with {@link Feature#JDBC_BATCHING}
+     * it turns on Hibernate's JDBC batching with ordered inserts and updates. With
+     * {@link Feature#PRODUCTION_TUNING} it sizes the HikariCP pool, sets the driver's performance
+     * properties and turns SQL logging off. With {@link Feature#VIRTUAL_THREADS} it serves requests
+     * on virtual threads and sizes the pool for them. With {@link Feature#REACTIVE} the connection
+     * settings are written for R2DBC, and the schema is created from schema.sql instead of by Hibernate.
+     * With {@link Feature#CACHING} it exposes the actuator
+     * endpoints that report the cache statistics. With {@link Feature#OBSERVABILITY} it exposes the
+     * Prometheus endpoint, records percentile histograms of the request, controller, service and
+     * connection acquisition timers, and turns on Hibernate statistics. With {@link Feature#HTTP_CACHING}
+     * it compresses JSON responses above {@link #COMPRESSION_MIN_RESPONSE_SIZE} bytes and enables HTTP/2.
+     * With {@link Feature#EXPORT_IMPORT} it allows an export to stream for up to 30 minutes
+     * and lets MySQL fetch them through a cursor. With {@link Feature#FLYWAY} the schema is created by
+     * the migrations, and Hibernate validates it (or, with production tuning, leaves it alone). With
+     * {@link Feature#FAST_STARTUP} JPA bootstraps in the background, lazy initialization can be turned on
+     * with the LAZY_INITIALIZATION environment variable, and the actuator serves the startup steps.
      *
-     * @param configFileType  The chosen config file type ("properties" or "yml").
-     * @param databaseType    The chosen database type ("h2", "mysql", "postgresql").
-     * @param databaseName    The name of the database.
-     * @param databaseDialect The Hibernate dialect (can be empty if not explicitly provided).
-     * @param createDatabaseIfNotExist True if the database should be created if it doesn't exist.
-     * @param username        The database username (optional).
-     * @param password        The database password (optional).
+     * @param spec The project specification; its config file type, database settings,
+     *             maximum page size and features are used.
      * @return A string containing the configuration file content.
      */
-    public static String generate(String configFileType, String databaseType, String databaseName, String databaseDialect, boolean createDatabaseIfNotExist, String username, String password) {
-        StringBuilder configContent = new StringBuilder();
+    public static String generate(final ProjectSpec spec) {
+        final String configFileType = spec.configFileType();
+        if ("properties".equalsIgnoreCase(configFileType)) {
+            return toProperties(properties(spec));
+        } else if ("yml".equalsIgnoreCase(configFileType)) {
+            return toYaml(properties(spec));
+        } else {
+            System.err.println("Unsupported config file type: " + configFileType + ". Generating empty config file.");
+            return "";
+        }
+    }
+
+    /**
+     * Generates the content for loadtest.properties, the configuration the load test of
+     * {@link Feature#LOAD_TEST} starts the application with instead of the application configuration.
+     * It is the project's configuration on an in-memory H2 database, in the compatibility mode of the
+     * project's database (schema.sql is written in its dialect), on a random port and without SQL
+     * or startup logging, which would compete with the requests for the CPU.
+     *
+     * @param spec The project specification.
+     * @return A string containing the loadtest.properties content.
+     */
+    public static String generateLoadTest(final ProjectSpec spec) {
+        final Map<String, String> properties = properties(spec.withInMemoryDatabase());
+        String compatibilityMode = "";
+        switch (spec.databaseType().toLowerCase()) {
+            case "mysql":
+                compatibilityMode = ";MODE=MySQL";
+                break;
+            case "postgresql":
+                compatibilityMode = ";MODE=PostgreSQL";
+                break;
+        }
+        if (spec.isReactive()) {
+            properties.put("spring.r2dbc.url", "r2dbc:h2:mem:///loadtest?options=DB_CLOSE_DELAY=-1" + compatibilityMode);
+        } else {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1" + compatibilityMode);
+            properties.remove("spring.h2.console.enabled");
+            properties.remove("spring.h2.console.path");
+            properties.put("spring.jpa.show-sql", "false");
+            if (spec.hasFeature(Feature.FLYWAY)) {
+                // The migrations keep the column types of the project's database, which H2's dialect would reject
+                properties.put("spring.jpa.hibernate.ddl-auto", "none");
+            }
+        }
+        properties.put("server.port", "0");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "warn");
+        return toProperties(properties);
+    }
+
+    /**
+     * Generates the content for the configuration file of the {@code prod} profile of
+     * {@link Feature#FAST_STARTUP} (e.g., {@code --spring.profiles.active=prod}). It turns springdoc
+     * off, so that it neither registers its beans nor scans the controllers for the OpenAPI document.
+     *
+     * @param spec The project specification; its config file type is used.
+     * @return A string containing the configuration file content.
+     */
+    public static String generateProduction(final ProjectSpec spec) {
+        final Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("springdoc.api-docs.enabled", "false");
+        properties.put("springdoc.swagger-ui.enabled", "false");
+        if ("yml".equalsIgnoreCase(spec.configFileType())) {
+            return toYaml(properties);
+        }
+        return toProperties(properties);
+    }
+
+    /**
+     * Collects the configuration of a generated project as Spring Boot property keys.
+     *
+     * @param spec The project specification.
+     * @return The properties, in the order they are written.
+     */
+    private static Map<String, String> properties(final ProjectSpec spec) {
+        final String databaseType = spec.databaseType().toLowerCase();
+        final String databaseName = spec.databaseName();
+        final String databaseDialect = spec.databaseDialect();
+        final String username = spec.dbUsername();
+        final Map<String, String> properties = new LinkedHashMap<>();
+        final boolean production = spec.hasFeature(Feature.PRODUCTION_TUNING);
+        final boolean virtualThreads = spec.hasFeature(Feature.VIRTUAL_THREADS);
+
+        if (virtualThreads) {
+            properties.put("spring.threads.virtual.enabled", "true");
+        }
+        if (spec.hasFeature(Feature.FAST_STARTUP)) {
+            // Off unless LAZY_INITIALIZATION=true: beans are then created on first use, which moves
+            // their cost, and any configuration error, from the startup to the first requests
+            properties.put("spring.main.lazy-initialization", "${LAZY_INITIALIZATION:false}");
+        }
+        if (spec.hasFeature(Feature.HTTP_CACHING)) {
+            properties.put("server.compression.enabled", "true");
+            properties.put("server.compression.mime-types", spec.hasFeature(Feature.EXPORT_IMPORT)
+                    ? "application/json,application/problem+json,application/x-ndjson,text/csv"
+                    : "application/json,application/problem+json");
+            properties.put("server.compression.min-response-size", Integer.toString(COMPRESSION_MIN_RESPONSE_SIZE));
+            // Over TLS (server.ssl.*) this is h2; without TLS, clients can upgrade to cleartext HTTP/2 (h2c)
+            properties.put("server.http2.enabled", "true");
+        }
 
         String createDbSuffix = "";
-        if (createDatabaseIfNotExist && (databaseType.equalsIgnoreCase("mysql") || databaseType.equalsIgnoreCase("postgresql"))) {
+        if (spec.createDatabaseIfNotExist() && (databaseType.equals("mysql") || databaseType.equals("postgresql"))) {
             createDbSuffix = "&createDatabaseIfNotExist=true";
         }
+        // Connector/J reads the whole result set into memory unless it may use a cursor for the fetch size
+        final String cursorFetchSuffix = spec.hasFeature(Feature.EXPORT_IMPORT) ? "&useCursorFetch=true" : "";
 
-        if ("properties".equalsIgnoreCase(configFileType)) {
-            configContent.append("spring.datasource.url=");
-            switch (databaseType.toLowerCase()) {
-                case "h2":
-                    configContent.append("jdbc:h2:mem:testdb\n");
-                    configContent.append("spring.h2.console.enabled=true\n");
-                    configContent.append("spring.h2.console.path=/h2-console\n");
-                    break;
+        final boolean reactive = spec.isReactive();
+        final String connectionPrefix = reactive ? "spring.r2dbc." : "spring.datasource.";
+        switch (databaseType) {
+            case "mysql":
+                properties.put(connectionPrefix + "url", reactive
+                        ? "r2dbc:mysql://localhost:3306/" + databaseName
+                        : "jdbc:mysql://localhost:3306/" + databaseName + "?useSSL=false&serverTimezone=UTC" + cursorFetchSuffix + createDbSuffix);
+                break;
+            case "postgresql":
+                properties.put(connectionPrefix + "url", reactive
+                        ? "r2dbc:postgresql://localhost:5432/" + databaseName
+                        : "jdbc:postgresql://localhost:5432/" + databaseName + createDbSuffix);
+                break;
+            case "h2":
+            default:
+                if (reactive) {
+                    properties.put("spring.r2dbc.url", "r2dbc:h2:mem:///testdb?options=DB_CLOSE_DELAY=-1");
+                } else {
+                    properties.put("spring.datasource.url", "jdbc:h2:mem:testdb");
+                    properties.put("spring.h2.console.enabled", "true");
+                    properties.put("spring.h2.console.path", "/h2-console");
+                }
+                break;
+        }
+
+        if (!username.isEmpty()) {
+            properties.put(connectionPrefix + "username", username);
+        } else {
+            switch (databaseType) {
                 case "mysql":
-                    configContent.append("jdbc:mysql://localhost:3306/%s?useSSL=false&serverTimezone=UTC%s\n".formatted(databaseName, createDbSuffix));
+                    properties.put(connectionPrefix + "username", "root");
                     break;
                 case "postgresql":
-                    configContent.append("jdbc:postgresql://localhost:5432/%s%s\n".formatted(databaseName, createDbSuffix));
+                    properties.put(connectionPrefix + "username", "postgres");
                     break;
+                case "h2":
                 default:
-                    configContent.append("jdbc:h2:mem:testdb\n");
-                    configContent.append("spring.h2.console.enabled=true\n");
-                    configContent.append("spring.h2.console.path=/h2-console\n");
+                    properties.put(connectionPrefix + "username", "sa");
                     break;
             }
+        }
+        properties.put(connectionPrefix + "password", spec.dbPassword());
 
-            configContent.append("spring.datasource.username=");
-            if (!username.isEmpty()) {
-                configContent.append(username).append("\n");
-            } else {
-                switch (databaseType.toLowerCase()) {
-                    case "mysql":
-                        configContent.append("root\n");
-                        break;
-                    case "postgresql":
-                        configContent.append("postgres\n");
-                        break;
-                    case "h2":
-                    default:
-                        configContent.append("sa\n");
-                        break;
-                }
+        if (reactive) {
+            // R2DBC has no ddl-auto: the tables are created by schema.sql on every start
+            properties.put("spring.sql.init.mode", "always");
+            if (production) {
+                properties.put("spring.r2dbc.pool.initial-size", Integer.toString(HIKARI_POOL_SIZE));
+                properties.put("spring.r2dbc.pool.max-size", Integer.toString(HIKARI_POOL_SIZE));
+                properties.put("spring.r2dbc.pool.max-acquire-time", HIKARI_CONNECTION_TIMEOUT_MILLIS + "ms");
+                properties.put("spring.r2dbc.pool.max-life-time", HIKARI_MAX_LIFETIME_MILLIS + "ms");
             }
+            putManagementProperties(spec, properties);
+            return properties;
+        }
 
-            configContent.append("spring.datasource.password=");
-            if (!password.isEmpty()) {
-                configContent.append(password).append("\n");
-            } else {
-                configContent.append("\n");
-            }
-
-            configContent.append("spring.jpa.hibernate.ddl-auto=update\n");
-
-            if (!databaseDialect.isEmpty()) {
-                configContent.append("spring.jpa.properties.hibernate.dialect=").append(databaseDialect).append("\n");
-            } else {
-                switch (databaseType.toLowerCase()) {
-                    case "mysql":
-                        configContent.append("spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect\n");
-                        break;
-                    case "postgresql":
-                        configContent.append("spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect\n");
-                        break;
-                    case "h2":
-                        configContent.append("spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect\n");
-                        break;
-                }
+        if (production || virtualThreads) {
+            // A fixed-size pool: minimum-idle equal to the maximum avoids opening connections under load
+            final int poolSize = virtualThreads ? VIRTUAL_THREADS_HIKARI_POOL_SIZE : HIKARI_POOL_SIZE;
+            final int connectionTimeout = virtualThreads ? VIRTUAL_THREADS_HIKARI_CONNECTION_TIMEOUT_MILLIS : HIKARI_CONNECTION_TIMEOUT_MILLIS;
+            properties.put("spring.datasource.hikari.maximum-pool-size", Integer.toString(poolSize));
+            properties.put("spring.datasource.hikari.minimum-idle", Integer.toString(poolSize));
+            properties.put("spring.datasource.hikari.connection-timeout", Integer.toString(connectionTimeout));
+            properties.put("spring.datasource.hikari.max-lifetime", Integer.toString(HIKARI_MAX_LIFETIME_MILLIS));
+        }
+        if (production) {
+            switch (databaseType) {
+                case "mysql":
+                    properties.put("spring.datasource.hikari.data-source-properties.cachePrepStmts", "true");
+                    properties.put("spring.datasource.hikari.data-source-properties.prepStmtCacheSize", "250");
+                    properties.put("spring.datasource.hikari.data-source-properties.prepStmtCacheSqlLimit", "2048");
+                    properties.put("spring.datasource.hikari.data-source-properties.useServerPrepStmts", "true");
+                    properties.put("spring.datasource.hikari.data-source-properties.rewriteBatchedStatements", "true");
+                    break;
+                case "postgresql":
+                    properties.put("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", "true");
+                    properties.put("spring.datasource.hikari.data-source-properties.prepareThreshold", "3");
+                    break;
             }
-            configContent.append("spring.jpa.show-sql=true\n");
+        }
 
-        } else if ("yml".equalsIgnoreCase(configFileType)) {
-            configContent.append("spring:\n");
-            configContent.append("  datasource:\n");
-            configContent.append("    url: ");
-            switch (databaseType.toLowerCase()) {
-                case "h2":
-                    configContent.append("jdbc:h2:mem:testdb\n");
-                    configContent.append("  h2:\n");
-                    configContent.append("    console:\n");
-                    configContent.append("      enabled: true\n");
-                    configContent.append("      path: /h2-console\n");
-                    break;
+        if (spec.hasFeature(Feature.FLYWAY)) {
+            // Flyway creates the schema from db/migration; Hibernate checks its mapping against it, or with
+            // production tuning skips reading the schema metadata on startup altogether
+            properties.put("spring.jpa.hibernate.ddl-auto", production ? "none" : "validate");
+        } else {
+            properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        }
+        properties.put("spring.jpa.show-sql", production ? "false" : "true");
+        // Entities have no lazy associations and are mapped to records in the controller, so the
+        // persistence context need not stay open (holding a connection) while the response is written
+        properties.put("spring.jpa.open-in-view", "false");
+        if (spec.hasFeature(Feature.FAST_STARTUP)) {
+            // The EntityManagerFactory is built in the background while the rest of the context starts
+            properties.put("spring.data.jpa.repositories.bootstrap-mode", "deferred");
+        }
+        if (!databaseDialect.isEmpty()) {
+            properties.put("spring.jpa.properties.hibernate.dialect", databaseDialect);
+        } else {
+            switch (databaseType) {
                 case "mysql":
-                    configContent.append("jdbc:mysql://localhost:3306/%s?useSSL=false&serverTimezone=UTC%s\n".formatted(databaseName, createDbSuffix));
+                    properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
                     break;
                 case "postgresql":
-                    configContent.append("jdbc:postgresql://localhost:5432/%s%s\n".formatted(databaseName, createDbSuffix));
+                    properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
                     break;
-                default:
-                    configContent.append("jdbc:h2:mem:testdb\n");
-                    configContent.append("  h2:\n");
-                    configContent.append("    console:\n");
-                    configContent.append("      enabled: true\n");
-                    configContent.append("      path: /h2-console\n");
+                case "h2":
+                    properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
                     break;
             }
+        }
+        if (spec.hasFeature(Feature.JDBC_BATCHING)) {
+            properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.toString(ProjectSpec.JDBC_BATCH_SIZE));
+            properties.put("spring.jpa.properties.hibernate.order_inserts", "true");
+            properties.put("spring.jpa.properties.hibernate.order_updates", "true");
+        }
+        if (spec.hasFeature(Feature.OBSERVABILITY)) {
+            // Query, entity and cache counts of the session factory, published as the hibernate.* metrics
+            properties.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+        }
 
-            configContent.append("    username: ");
-            if (!username.isEmpty()) {
-                configContent.append(username).append("\n");
-            } else {
-                switch (databaseType.toLowerCase()) {
-                    case "mysql":
-                        configContent.append("root\n");
-                        break;
-                    case "postgresql":
-                        configContent.append("postgres\n");
-                        break;
-                    case "h2":
-                    default:
-                        configContent.append("sa\n");
-                        break;
-                }
-            }
-            configContent.append("    password: ");
-            if (!password.isEmpty()) {
-                configContent.append("\"").append(password).append("\"\n");
-            } else {
-                configContent.append("\"\"\n");
+        properties.put("spring.data.web.pageable.max-page-size", Integer.toString(spec.maxPageSize()));
+        if (spec.hasFeature(Feature.EXPORT_IMPORT)) {
+            // An export is written asynchronously; the 30 second default would cut off large tables
+            properties.put("spring.mvc.async.request-timeout", EXPORT_TIMEOUT);
+        }
+
+        putManagementProperties(spec, properties);
+        return properties;
+    }
+
+    /**
+     * Adds the actuator settings of {@link Feature#CACHING}, {@link Feature#OBSERVABILITY} and {@link Feature#FAST_STARTUP}.
+     *
+     * @param spec       The project specification.
+     * @param properties The properties to add to.
+     */
+    private static void putManagementProperties(final ProjectSpec spec, final Map<String, String> properties) {
+        final boolean caching = spec.hasFeature(Feature.CACHING);
+        final boolean observability = spec.hasFeature(Feature.OBSERVABILITY);
+        final boolean fastStartup = spec.hasFeature(Feature.FAST_STARTUP);
+        if (!caching && !observability && !fastStartup) {
+            return;
+        }
+
+        final List<String> endpoints = new ArrayList<>(List.of("health", "metrics"));
+        if (observability) {
+            endpoints.add("prometheus");
+        }
+        if (caching) {
+            // cache.gets (by result=hit/miss), cache.puts and cache.evictions per cache, and the caches themselves
+            endpoints.add("caches");
+        }
+        if (fastStartup) {
+            // The steps buffered by the BufferingApplicationStartup of the Application class
+            endpoints.add("startup");
+        }
+        properties.put("management.endpoints.web.exposure.include", String.join(",", endpoints));
+        if (!observability) {
+            return;
+        }
+
+        properties.put("management.metrics.tags.application", spec.projectName());
+        // Histogram buckets let Prometheus compute any percentile, aggregated across instances
+        properties.put("management.metrics.distribution.percentiles-histogram[http.server.requests]", "true");
+        if (!spec.isReactive()) {
+            // Turns on the aspects behind the @Timed controllers and @Observed services
+            properties.put("management.observations.annotations.enabled", "true");
+            properties.put("management.metrics.distribution.percentiles-histogram[" + metricPrefix(spec) + "]", "true");
+            properties.put("management.metrics.distribution.percentiles-histogram[hikaricp.connections.acquire]", "true");
+        }
+    }
+
+    /**
+     * Returns the common prefix of the metric names of the generated controllers and services
+     * (e.g., "catalog" for "catalog.controller" and "catalog.service").
+     *
+     * @param spec The project specification.
+     * @return The metric name prefix.
+     */
+    static String metricPrefix(final ProjectSpec spec) {
+        return spec.modulePackage().toLowerCase();
+    }
+
+    /**
+     * Writes properties in the .properties format, one {@code key=value} line each.
+     *
+     * @param properties The properties to write.
+     * @return The .properties file content.
+     */
+    private static String toProperties(final Map<String, String> properties) {
+        final StringBuilder configContent = new StringBuilder(properties.size() * 64);
+        for (final Map.Entry<String, String> property : properties.entrySet()) {
+            configContent.append(property.getKey()).append('=').append(property.getValue()).append("\n");
+        }
+        return configContent.toString();
+    }
+
+    /**
+     * Writes properties in the YAML format, nesting the dot-separated key segments.
+     * A segment is only opened once: keys sharing a prefix are grouped under it in the
+     * order in which the prefix first appears.
+     *
+     * @param properties The properties to write.
+     * @return The .yml file content.
+     */
+    private static String toYaml(final Map<String, String> properties) {
+        final Map<String, Object> tree = new LinkedHashMap<>();
+        for (final Map.Entry<String, String> property : properties.entrySet()) {
+            Map<String, Object> node = tree;
+            final List<String> segments = keySegments(property.getKey());
+            for (int i = 0; i < segments.size() - 1; i++) {
+                node = childNode(node, segments.get(i), property.getKey());
             }
+            node.put(segments.get(segments.size() - 1), property.getValue());
+        }
+        final StringBuilder configContent = new StringBuilder(properties.size() * 48);
+        appendYaml(configContent, tree, "");
+        return configContent.toString();
+    }
 
-            configContent.append("  jpa:\n");
-            configContent.append("    hibernate:\n");
-            configContent.append("      ddl-auto: update\n");
-            configContent.append("    show-sql: true\n");
-            configContent.append("    properties:\n");
-            configContent.append("      hibernate:\n");
-            configContent.append("        dialect: ");
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> childNode(final Map<String, Object> node, final String segment, final String key) {
+        final Object child = node.computeIfAbsent(segment, ignored -> new LinkedHashMap<String, Object>());
+        if (!(child instanceof Map)) {
+            throw new IllegalStateException("Property " + key + " nests under a key that already has a value");
+        }
+        return (Map<String, Object>) child;
+    }
 
-            if (!databaseDialect.isEmpty()) {
-                configContent.append(databaseDialect).append("\n");
+    @SuppressWarnings("unchecked")
+    private static void appendYaml(final StringBuilder configContent, final Map<String, Object> node, final String indent) {
+        for (final Map.Entry<String, Object> entry : node.entrySet()) {
+            final String key = entry.getKey();
+            configContent.append(indent).append(key.startsWith("[") ? '"' + key + '"' : key).append(':');
+            if (entry.getValue() instanceof Map) {
+                configContent.append("\n");
+                appendYaml(configContent, (Map<String, Object>) entry.getValue(), indent + "  ");
             } else {
-                switch (databaseType.toLowerCase()) {
-                    case "mysql":
-                        configContent.append("org.hibernate.dialect.MySQLDialect\n");
-                        break;
-                    case "postgresql":
-                        configContent.append("org.hibernate.dialect.PostgreSQLDialect\n");
-                        break;
-                    case "h2":
-                        configContent.append("org.hibernate.dialect.H2Dialect\n");
-                        break;
-                    default:
-                        configContent.append("\n");
-                        break;
-                }
+                configContent.append(' ').append(yamlValue((String) entry.getValue())).append("\n");
             }
-        } else {
-            System.err.println("Unsupported config file type: " + configFileType + ". Generating empty config file.");
         }
+    }
 
-        return configContent.toString();
+    /**
+     * Splits a property key at its dots, keeping a bracketed segment (e.g., {@code [org.hibernate.SQL]})
+     * in one piece, as Spring Boot does for map keys that contain dots.
+     */
+    private static List<String> keySegments(final String key) {
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        int depth = 0;
+        for (int i = 0; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            } else if (c == '.' && depth == 0) {
+                segments.add(key.substring(start, i));
+                start = i + 1;
+            }
+        }
+        segments.add(key.substring(start));
+        return segments;
+    }
+
+    private static String yamlValue(final String value) {
+        if (PLAIN_YAML_VALUE.matcher(value).matches() && !YAML_KEYWORDS.contains(value.toLowerCase())) {
+            return value;
+        }
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
     }
 }
@@ -0,0 +1,244 @@
+package com.vinn.springgenie;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A {@link ProjectOutput} that streams files straight into a zip or tar archive.
+ * Each file is written to the underlying stream as soon as it is handed over and is not
+ * kept afterwards, so memory use does not grow with the size of the project and a consumer
+ * (e.g., an HTTP download) can start reading while later files are still being rendered.
+ *
+ * All entries are placed under a single top-level directory named after the project.
+ * Closing the archive finishes it and closes the underlying stream.
+ */
+public abstract class ArchiveOutput implements ProjectOutput, Closeable {
+
+    /**
+     * The supported archive formats.
+     */
+    public enum Format {
+        ZIP("application/zip", ".zip"),
+        TAR("application/x-tar", ".tar"),
+        TAR_GZ("application/gzip", ".tar.gz");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(final String contentType, final String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        /**
+         * Returns the MIME type of the format.
+         *
+         * @return The content type (e.g., "application/zip").
+         */
+        public String contentType() {
+            return contentType;
+        }
+
+        /**
+         * Returns the usual file name extension of the format.
+         *
+         * @return The extension including the leading dot (e.g., ".tar.gz").
+         */
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * Picks the format from a name such as "zip" or a file name such as "app.tar.gz".
+         *
+         * @param name The format name or archive file name.
+         * @return The matching format.
+         * @throws IllegalArgumentException If the name does not match a supported format.
+         */
+        public static Format fromName(final String name) {
+            final String lowerCaseName = name.toLowerCase();
+            if (lowerCaseName.equals("zip") || lowerCaseName.endsWith(".zip")) {
+                return ZIP;
+            }
+            if (lowerCaseName.equals("tar.gz") || lowerCaseName.equals("tgz")
+                    || lowerCaseName.endsWith(".tar.gz") || lowerCaseName.endsWith(".tgz")) {
+                return TAR_GZ;
+            }
+            if (lowerCaseName.equals("tar") || lowerCaseName.endsWith(".tar")) {
+                return TAR;
+            }
+            throw new IllegalArgumentException("Unsupported archive format: " + name + " (expected .zip, .tar or .tar.gz)");
+        }
+    }
+
+    private final String rootDirectory;
+    private int entryCount;
+
+    private ArchiveOutput(final String rootDirectory) {
+        this.rootDirectory = rootDirectory;
+    }
+
+    /**
+     * Opens an archive over the given stream.
+     *
+     * @param format        The archive format.
+     * @param out           The stream to write the archive to.
+     * @param rootDirectory The name of the top-level directory inside the archive.
+     * @return A new archive output.
+     * @throws IOException If the archive cannot be started.
+     */
+    public static ArchiveOutput open(final Format format, final OutputStream out, final String rootDirectory) throws IOException {
+        switch (format) {
+            case ZIP:
+                return new ZipArchiveOutput(out, rootDirectory);
+            case TAR:
+                return new TarArchiveOutput(out, rootDirectory);
+            case TAR_GZ:
+                return new TarArchiveOutput(new GZIPOutputStream(out, 64 * 1024), rootDirectory);
+            default:
+                throw new IllegalArgumentException("Unsupported archive format: " + format);
+        }
+    }
+
+    @Override
+    public final void write(final GeneratedFile file) throws IOException {
+        writeEntry(rootDirectory + "/" + file.relativePath(), file.content().getBytes(StandardCharsets.UTF_8));
+        entryCount++;
+    }
+
+    /**
+     * Returns the number of files written to the archive so far.
+     *
+     * @return The number of entries.
+     */
+    public int entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Writes a single archive entry.
+     *
+     * @param name    The entry name, including the root directory.
+     * @param content The entry content.
+     * @throws IOException If the entry cannot be written.
+     */
+    protected abstract void writeEntry(String name, byte[] content) throws IOException;
+
+    /**
+     * Writes files into a zip archive.
+     */
+    private static final class ZipArchiveOutput extends ArchiveOutput {
+
+        private final ZipOutputStream zip;
+
+        private ZipArchiveOutput(final OutputStream out, final String rootDirectory) {
+            super(rootDirectory);
+            this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        protected void writeEntry(final String name, final byte[] content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(content);
+            zip.closeEntry();
+        }
+
+        @Override
+        public void close() throws IOException {
+            zip.close();
+        }
+    }
+
+    /**
+     * Writes files into a POSIX ustar archive.
+     */
+    private static final class TarArchiveOutput extends ArchiveOutput {
+
+        private static final int BLOCK_SIZE = 512;
+        private static final int NAME_LENGTH = 100;
+        private static final int PREFIX_LENGTH = 155;
+
+        private final OutputStream out;
+        private final long modificationTime = System.currentTimeMillis() / 1000;
+
+        private TarArchiveOutput(final OutputStream out, final String rootDirectory) {
+            super(rootDirectory);
+            this.out = out;
+        }
+
+        @Override
+        protected void writeEntry(final String name, final byte[] content) throws IOException {
+            out.write(header(name, content.length));
+            out.write(content);
+            final int padding = (BLOCK_SIZE - content.length % BLOCK_SIZE) % BLOCK_SIZE;
+            out.write(new byte[padding]);
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Two empty blocks mark the end of the archive.
+            out.write(new byte[BLOCK_SIZE * 2]);
+            out.close();
+        }
+
+        private byte[] header(final String name, final long size) throws IOException {
+            final byte[] header = new byte[BLOCK_SIZE];
+            final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+
+            // Names longer than 100 bytes are split at a '/' into the ustar prefix and name fields.
+            int split = 0;
+            if (nameBytes.length > NAME_LENGTH) {
+                split = -1;
+                for (int i = nameBytes.length - NAME_LENGTH - 1; i < nameBytes.length && i <= PREFIX_LENGTH; i++) {
+                    if (i > 0 && nameBytes[i] == '/') {
+                        split = i;
+                        break;
+                    }
+                }
+                if (split < 0) {
+                    throw new IOException("Path too long for a tar archive: " + name);
+                }
+            }
+            if (split > 0) {
+                System.arraycopy(nameBytes, split + 1, header, 0, nameBytes.length - split - 1);
+                System.arraycopy(nameBytes, 0, header, 345, split);
+            } else {
+                System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+            }
+
+            putOctal(header, 100, 8, 0644);
+            putOctal(header, 108, 8, 0);
+            putOctal(header, 116, 8, 0);
+            putOctal(header, 124, 12, size);
+            putOctal(header, 136, 12, modificationTime);
+            header[156] = '0';
+            System.arraycopy("ustar\u000000".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 8);
+
+            // The checksum is computed with the checksum field itself set to spaces.
+            for (int i = 148; i < 156; i++) {
+                header[i] = ' ';
+            }
+            long checksum = 0;
+            for (final byte b : header) {
+                checksum += b & 0xFF;
+            }
+            putOctal(header, 148, 7, checksum);
+            return header;
+        }
+
+        private static void putOctal(final byte[] header, final int offset, final int length, final long value) {
+            final String octal = Long.toOctalString(value);
+            final int digits = length - 1;
+            for (int i = 0; i < digits; i++) {
+                final int octalIndex = octal.length() - digits + i;
+                header[offset + i] = (byte) (octalIndex >= 0 ? octal.charAt(octalIndex) : '0');
+            }
+            header[offset + digits] = 0;
+        }
+    }
+}
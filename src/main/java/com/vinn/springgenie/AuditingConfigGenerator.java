@@ -0,0 +1,48 @@
+package com.vinn.springgenie;
+
+import java.util.Map;
+
+/**
+ * A helper class to generate the content for the auditing configuration of a project
+ * generated with {@link Feature#HTTP_CACHING}.
+ * This class creates a Spring configuration that turns on Spring Data auditing, which
+ * maintains the last modification date of the entities.
+ */
+public class AuditingConfigGenerator {
+
+    private static final Template TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.config;
+
+            import org.springframework.context.annotation.Configuration;
+            import ${enableAuditingImport};
+
+            /**
+             * Configuration for the auditing of the ${moduleName} entities.
+             * Spring Data sets the {@code lastModified} date of an entity whenever it is inserted or updated;
+             * the controllers send it as the Last-Modified header, next to the version as the ETag.
+             */
+            @Configuration
+            @${enableAuditing}
+            public class AuditingConfig {
+            }
+            """);
+
+    /**
+     * Generates the content for the auditing configuration class, for JPA or, with
+     * {@link Feature#REACTIVE}, for R2DBC.
+     *
+     * @param spec The project specification.
+     * @return A string containing the auditing configuration class content.
+     */
+    public static String generate(final ProjectSpec spec) {
+        final boolean reactive = spec.isReactive();
+        return TEMPLATE.render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage(),
+                "moduleName", spec.moduleName(),
+                "enableAuditingImport", reactive
+                        ? "org.springframework.data.r2dbc.config.EnableR2dbcAuditing"
+                        : "org.springframework.data.jpa.repository.config.EnableJpaAuditing",
+                "enableAuditing", reactive ? "EnableR2dbcAuditing" : "EnableJpaAuditing"));
+    }
+}
@@ -0,0 +1,201 @@
+package com.vinn.springgenie;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Generates many projects in one run from a properties manifest, without prompting.
+ * Projects are generated concurrently on the executor returned by
+ * {@link GenerationExecutors#newGenerationExecutor()}.
+ *
+ * A manifest lists the project keys and then one block of settings per project.
+ * Keys under {@code defaults.} apply to every project unless overridden:
+ * <pre>
+ * output=generated
+ * projects=orders,billing
+ * defaults.buildTool=gradle
+ * defaults.databaseType=postgresql
+ * orders.basePackage=com.acme.orders
+ * orders.moduleName=Order
+ * orders.databaseName=orders
+ * billing.basePackage=com.acme.billing
+ * billing.moduleName=Invoice
+ * billing.databaseType=h2
+ * </pre>
+ * The project key is used as the project name unless {@code <key>.projectName} is set.
+ * The remaining keys are the same as the components of {@link ProjectSpec}.
+ */
+public class BatchGenerator {
+
+    private static final String DEFAULTS_PREFIX = "defaults.";
+
+    /**
+     * The outcome of generating a single project.
+     *
+     * @param projectName The name of the generated project.
+     * @param fileCount   The number of files written.
+     * @param unchanged   The number of files that were already up to date.
+     * @param conflicts   The number of hand-edited files that were left alone.
+     * @param wallNanos   The wall-clock time spent generating the project.
+     * @param error       The failure message, or null if generation succeeded.
+     */
+    record ProjectResult(String projectName, int fileCount, int unchanged, int conflicts, long wallNanos, String error) {
+    }
+
+    /**
+     * Generates every project in the manifest and prints a timing report.
+     *
+     * @param manifestPath The path of the properties manifest.
+     * @param outputRoot   The output directory, or null to use the manifest's {@code output} key
+     *                     (defaulting to the current directory).
+     * @param writer       The writer used to write each project.
+     * @return True if all projects were generated successfully.
+     * @throws IOException              If the manifest cannot be read.
+     * @throws IllegalArgumentException If the manifest is invalid.
+     */
+    public static boolean run(final Path manifestPath, final Path outputRoot, final ProjectWriter writer) throws IOException {
+        final Properties manifest = new Properties();
+        try (final Reader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)) {
+            manifest.load(reader);
+        }
+
+        final Path resolvedOutputRoot = outputRoot != null ? outputRoot : Paths.get(manifest.getProperty("output", ""));
+        final List<ProjectSpec> specs = parseManifest(manifest);
+        Files.createDirectories(resolvedOutputRoot);
+
+        System.out.println("Generating " + specs.size() + " projects into " + resolvedOutputRoot.toAbsolutePath() + "...");
+
+        final long start = System.nanoTime();
+        final List<ProjectResult> results = generateAll(specs, resolvedOutputRoot, writer);
+        final long totalNanos = System.nanoTime() - start;
+
+        printReport(results, totalNanos);
+        return results.stream().allMatch(result -> result.error() == null);
+    }
+
+    /**
+     * Parses the manifest into one {@link ProjectSpec} per listed project.
+     *
+     * @param manifest The loaded manifest properties.
+     * @return The project specifications, in manifest order.
+     * @throws IllegalArgumentException If no projects are listed or a project is incomplete.
+     */
+    static List<ProjectSpec> parseManifest(final Properties manifest) {
+        final String projectList = manifest.getProperty("projects", "").trim();
+        if (projectList.isEmpty()) {
+            throw new IllegalArgumentException("Manifest does not list any projects (expected 'projects=a,b,...')");
+        }
+
+        final Map<String, String> defaults = new LinkedHashMap<>();
+        for (final String name : manifest.stringPropertyNames()) {
+            if (name.startsWith(DEFAULTS_PREFIX)) {
+                defaults.put(name.substring(DEFAULTS_PREFIX.length()), manifest.getProperty(name));
+            }
+        }
+
+        final List<ProjectSpec> specs = new ArrayList<>();
+        for (final String rawKey : projectList.split(",")) {
+            final String projectKey = rawKey.trim();
+            if (projectKey.isEmpty()) {
+                continue;
+            }
+            final Map<String, String> values = new LinkedHashMap<>(defaults);
+            values.put("projectName", projectKey);
+            final String prefix = projectKey + ".";
+            for (final String name : manifest.stringPropertyNames()) {
+                if (name.startsWith(prefix)) {
+                    values.put(name.substring(prefix.length()), manifest.getProperty(name));
+                }
+            }
+            try {
+                specs.add(ProjectSpec.fromMap(values));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Project '" + projectKey + "': " + e.getMessage(), e);
+            }
+        }
+        return specs;
+    }
+
+    /**
+     * Generates all projects concurrently and waits for them to finish.
+     * A failing project does not stop the others; its error is recorded in its result.
+     *
+     * @param specs      The projects to generate.
+     * @param outputRoot The directory in which the project directories are created.
+     * @param writer     The writer used to write each project.
+     * @return One result per project, in the same order as {@code specs}.
+     */
+    static List<ProjectResult> generateAll(final List<ProjectSpec> specs, final Path outputRoot, final ProjectWriter writer) {
+        final List<Future<ProjectResult>> futures = new ArrayList<>(specs.size());
+        final ExecutorService executor = GenerationExecutors.newGenerationExecutor();
+        try {
+            for (final ProjectSpec spec : specs) {
+                futures.add(executor.submit(() -> generateOne(spec, outputRoot, writer)));
+            }
+
+            final List<ProjectResult> results = new ArrayList<>(specs.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(new ProjectResult(specs.get(i).projectName(), 0, 0, 0, 0, String.valueOf(e.getCause())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.add(new ProjectResult(specs.get(i).projectName(), 0, 0, 0, 0, "interrupted"));
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ProjectResult generateOne(final ProjectSpec spec, final Path outputRoot, final ProjectWriter writer) {
+        final long start = System.nanoTime();
+        try {
+            final ProjectWriter.WriteReport report = CliGenerator.generateProject(spec, outputRoot, writer);
+            return new ProjectResult(spec.projectName(), report.written().size(), report.unchanged().size(),
+                    report.conflicts().size(), System.nanoTime() - start, null);
+        } catch (IOException | RuntimeException e) {
+            return new ProjectResult(spec.projectName(), 0, 0, 0, System.nanoTime() - start, e.getMessage());
+        }
+    }
+
+    private static void printReport(final List<ProjectResult> results, final long totalNanos) {
+        int succeeded = 0;
+        int totalFiles = 0;
+        for (final ProjectResult result : results) {
+            if (result.error() == null) {
+                succeeded++;
+                totalFiles += result.fileCount();
+                System.out.printf(Locale.ROOT, "  %-30s %4d written  %4d unchanged  %4d skipped  %9.2f ms%n",
+                        result.projectName(), result.fileCount(), result.unchanged(), result.conflicts(),
+                        result.wallNanos() / 1_000_000.0);
+            } else {
+                System.out.printf(Locale.ROOT, "  %-30s FAILED  %9.2f ms  (%s)%n",
+                        result.projectName(), result.wallNanos() / 1_000_000.0, result.error());
+            }
+        }
+
+        final double totalSeconds = totalNanos / 1_000_000_000.0;
+        System.out.printf(Locale.ROOT, "%nGenerated %d/%d projects (%d files written) in %.2f ms%n",
+                succeeded, results.size(), totalFiles, totalNanos / 1_000_000.0);
+        if (totalSeconds > 0) {
+            System.out.printf(Locale.ROOT, "Throughput: %.1f projects/s, %.1f files/s%n",
+                    succeeded / totalSeconds, totalFiles / totalSeconds);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.vinn.springgenie;
+
+import java.util.Map;
+
+/**
+ * A helper class to generate the content for the cache configuration of a project
+ * generated with {@link Feature#CACHING}.
+ * This class creates a Spring configuration that enables caching and declares
+ * one bounded Caffeine cache per entity.
+ */
+public class CacheConfigGenerator {
+
+    private static final Template TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.config;
+
+            import com.github.benmanes.caffeine.cache.Cache;
+            import com.github.benmanes.caffeine.cache.Caffeine;
+            import org.springframework.cache.CacheManager;
+            import org.springframework.cache.annotation.EnableCaching;
+            import org.springframework.cache.caffeine.CaffeineCacheManager;
+            import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+            import org.springframework.context.annotation.Bean;
+            import org.springframework.context.annotation.Configuration;
+
+            import java.time.Duration;
+
+            /**
+             * Configuration for the in-memory caches of the ${moduleName} application.
+             * Every entity has its own Caffeine cache of entities by ID. The caches are bounded in size
+             * and age, so they neither grow without limit nor serve rows changed elsewhere for long.
+             * Hits and misses are recorded and published as the cache.gets metric
+             * (e.g., /actuator/metrics/cache.gets?tag=cache:${firstCache}&tag=result:hit).
+             */
+            @Configuration
+            @EnableCaching
+            public class CacheConfig {
+
+                /**
+                 * Creates the cache manager with one cache per entity.
+                 * Cache updates are deferred until the surrounding transaction commits,
+                 * so a rolled back change never reaches the cache.
+                 *
+                 * @return The configured {@link CacheManager}.
+                 */
+                @Bean
+                public CacheManager cacheManager() {
+                    final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+                    cacheManager.setAllowNullValues(false);
+            ${caches}
+                    return new TransactionAwareCacheManagerProxy(cacheManager);
+                }
+
+                /**
+                 * Creates a Caffeine cache that records its statistics.
+                 *
+                 * @param maximumSize The maximum number of entries; the least used ones are evicted first.
+                 * @param expireAfterWrite How long an entry is served after it was cached.
+                 * @return A new cache.
+                 */
+                private static Cache<Object, Object> newCache(final long maximumSize, final Duration expireAfterWrite) {
+                    return Caffeine.newBuilder()
+                            .maximumSize(maximumSize)
+                            .expireAfterWrite(expireAfterWrite)
+                            .recordStats()
+                            .build();
+                }
+            }
+            """);
+
+    /**
+     * The maximum number of entities kept in each entity's cache.
+     */
+    private static final int CACHE_MAXIMUM_SIZE = 10_000;
+
+    /**
+     * How long a cached entity is served, in minutes.
+     */
+    private static final int CACHE_EXPIRE_AFTER_WRITE_MINUTES = 10;
+
+    /**
+     * Generates the content for the cache configuration class.
+     * It registers a cache named after each entity (e.g., "products" for Product),
+     * which the generated services use for their reads and writes by ID.
+     *
+     * @param spec The project specification.
+     * @return A string containing the cache configuration class content.
+     */
+    public static String generate(final ProjectSpec spec) {
+        final StringBuilder caches = new StringBuilder();
+        for (final EntitySpec entity : spec.entities()) {
+            caches.append("        cacheManager.registerCustomCache(\"").append(cacheName(entity))
+                    .append("\", newCache(").append(CACHE_MAXIMUM_SIZE).append(", Duration.ofMinutes(")
+                    .append(CACHE_EXPIRE_AFTER_WRITE_MINUTES).append(")));\n");
+        }
+        caches.setLength(caches.length() - 1);
+
+        return TEMPLATE.render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage(),
+                "moduleName", spec.moduleName(),
+                "firstCache", cacheName(spec.entities().get(0)),
+                "caches", caches.toString()));
+    }
+
+    /**
+     * Returns the name of an entity's cache, which is its plural in camelCase (e.g., "products").
+     *
+     * @param entity The entity.
+     * @return The cache name.
+     */
+    static String cacheName(final EntitySpec entity) {
+        return Character.toLowerCase(entity.name().charAt(0)) + entity.name().substring(1) + "s";
+    }
+}
@@ -1,12 +1,25 @@
 package com.vinn.springgenie;
 
-import java.io.File;
-import java.io.FileWriter;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import jdk.jfr.Recording;
 
 /**
  * A Command Line Interface (CLI) tool for generating a basic Spring Boot
@@ -16,117 +29,532 @@ import java.util.Scanner;
  * This tool prompts the user for project details, including configuration
  * and database preferences, then generates the corresponding Java source
  * files, a Maven pom.xml, and the application configuration file.
+ *
+ * When started with {@code --batch <manifest>}, it skips the prompts and
+ * generates every project listed in the manifest concurrently
+ * (see {@link BatchGenerator}).
+ *
+ * Files are rendered in memory first and then written through {@link ProjectWriter},
+ * so a failed run never leaves a partial project behind. Rerunning the generator
+ * over an existing project only rewrites files whose generated content changed and
+ * never overwrites files edited by hand unless {@code --force} is given.
+ * Pass {@code --durable} to flush the written files to stable storage before
+ * they are moved into place.
+ *
+ * With {@code --archive <file>} the project is streamed straight into a
+ * zip, tar or tar.gz archive (picked from the file extension) instead of a directory.
+ * With {@code --serve [port]} it runs as a long-lived HTTP generation server
+ * (see {@link GenerationServer}).
+ *
+ * {@code --metrics <report.json>} writes the wall time, bytes, files and allocations of
+ * every rendering and writing stage to a JSON report (see {@link GenerationMetrics}), and
+ * {@code --jfr <recording.jfr>} records the same stages as JDK Flight Recorder events.
  */
 public class CliGenerator {
 
     private static final String SRC_MAIN_JAVA = "src/main/java";
     private static final String SRC_MAIN_RESOURCES = "src/main/resources";
+    private static final String SRC_LOADTEST = "src/loadtest";
+    private static final int DEFAULT_SERVE_PORT = 8085;
 
     public static void main(String[] args) {
+        Path manifestPath = null;
+        Path outputRoot = null;
+        boolean durable = false;
+        boolean force = false;
+        Path archivePath = null;
+        Integer servePort = null;
+        Path metricsPath = null;
+        Path recordingPath = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch":
+                    if (i + 1 >= args.length) {
+                        printUsageAndExit();
+                    }
+                    manifestPath = Paths.get(args[++i]);
+                    break;
+                case "--durable":
+                    durable = true;
+                    break;
+                case "--force":
+                    force = true;
+                    break;
+                case "--serve":
+                    servePort = DEFAULT_SERVE_PORT;
+                    if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                        servePort = Integer.parseInt(args[++i]);
+                    }
+                    break;
+                case "--archive":
+                    if (i + 1 >= args.length) {
+                        printUsageAndExit();
+                    }
+                    archivePath = Paths.get(args[++i]);
+                    break;
+                case "--metrics":
+                    if (i + 1 >= args.length) {
+                        printUsageAndExit();
+                    }
+                    metricsPath = Paths.get(args[++i]);
+                    break;
+                case "--jfr":
+                    if (i + 1 >= args.length) {
+                        printUsageAndExit();
+                    }
+                    recordingPath = Paths.get(args[++i]);
+                    break;
+                default:
+                    if (args[i].startsWith("--") || outputRoot != null) {
+                        printUsageAndExit();
+                    }
+                    outputRoot = Paths.get(args[i]);
+                    break;
+            }
+        }
+
+        if (servePort != null) {
+            try {
+                final GenerationServer server = GenerationServer.start(servePort);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(2)));
+                System.out.println("Spring Genie generation server listening on port " + server.port());
+                System.out.println("POST a JSON project description to /generate; counters are available at /metrics");
+            } catch (IOException e) {
+                System.err.println("Error starting generation server: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        final long startNanos = System.nanoTime();
+        final GenerationMetrics metrics = metricsPath != null || recordingPath != null
+                ? GenerationMetrics.create() : GenerationMetrics.DISABLED;
+        final Recording recording = recordingPath != null ? startRecording() : null;
+
+        if (manifestPath != null) {
+            boolean success = false;
+            try {
+                success = BatchGenerator.run(manifestPath, outputRoot, new ProjectWriter(durable, force, metrics));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error running batch generation: " + e.getMessage());
+            }
+            finishMetrics(metrics, metricsPath, recording, recordingPath, startNanos);
+            if (!success) {
+                System.exit(1);
+            }
+            return;
+        }
+
         final Scanner scanner = new Scanner(System.in);
+        final Map<String, String> answers = new LinkedHashMap<>();
 
         System.out.println("Spring Boot Three-Layer Architecture Generator");
         System.out.println("----------------------------------------------");
 
         System.out.print("Enter Project Name (e.g., my-app): ");
-        final String projectName = scanner.nextLine();
+        answers.put("projectName", scanner.nextLine());
 
         System.out.print("Enter Base Package (e.g., com.example.myapp): ");
-        final String basePackage = scanner.nextLine().toLowerCase();
+        answers.put("basePackage", scanner.nextLine());
 
         System.out.print("Enter Module Name (e.g., Product, User - singular, PascalCase): ");
         final String moduleName = scanner.nextLine();
+        answers.put("moduleName", moduleName);
 
-        System.out.print("Choose Build Tool (maven/gradle) [default: maven]: ");
-            String buildTool = scanner.nextLine().trim().toLowerCase();
-        if (buildTool.isEmpty()) {
-            buildTool = "maven";
+        System.out.print("Enter Entity Names, comma-separated (e.g., Product, Category) [default: " + moduleName.trim() + "]: ");
+        final String entities = scanner.nextLine();
+        answers.put("entities", entities);
+
+        for (final String rawEntityName : (entities.trim().isEmpty() ? moduleName : entities).split(",")) {
+            final String entityName = toPascalCase(rawEntityName.trim());
+            if (entityName.isEmpty()) {
+                continue;
+            }
+            System.out.print("Enter Fields of " + entityName + ", comma-separated as name:Type[:required][:unique][:indexed][:length=N]"
+                    + " (e.g., sku:String:required:unique:length=64, price:BigDecimal) [default: " + FieldSpec.DEFAULT_FIELDS + "]: ");
+            answers.put("fields." + entityName, scanner.nextLine());
         }
 
+        System.out.print("Choose Build Tool (maven/gradle) [default: maven]: ");
+        answers.put("buildTool", scanner.nextLine());
+
         System.out.print("Choose config file type (properties/yml) [default: properties]: ");
-        String configFileType = scanner.nextLine().trim();
-        if (configFileType.isEmpty()) {
-            configFileType = "properties";
-        }
+        answers.put("configFileType", scanner.nextLine());
 
         System.out.print("Choose Database Type (h2/mysql/postgresql) [default: h2]: ");
-        String databaseType = scanner.nextLine().trim().toLowerCase();
-        if (databaseType.isEmpty()) {
-            databaseType = "h2";
-        }
+        final String databaseType = scanner.nextLine().trim().toLowerCase();
+        answers.put("databaseType", databaseType);
 
-        String databaseName = "";
-        String databaseDialect = "";
-        boolean createDatabaseIfNotExist = false;
-        String dbUsername = "";
-        String dbPassword = "";
-
-        if (!databaseType.equals("h2")) {
+        if (!databaseType.isEmpty() && !databaseType.equals("h2")) {
             System.out.print("Enter Database Name (e.g., mydb): ");
-            databaseName = scanner.nextLine().trim();
+            answers.put("databaseName", scanner.nextLine());
 
             System.out.print("Do you want Spring Boot to create the database if it doesn't exist? (yes/no) [default: no]: ");
-            String createDbChoice = scanner.nextLine().trim().toLowerCase();
+            final String createDbChoice = scanner.nextLine().trim().toLowerCase();
+            answers.put("createDatabaseIfNotExist", createDbChoice);
             if (createDbChoice.equals("yes")) {
-                createDatabaseIfNotExist = true;
                 System.out.print("Enter Database Username [optional, default varies]: ");
-                dbUsername = scanner.nextLine().trim();
+                answers.put("dbUsername", scanner.nextLine());
                 System.out.print("Enter Database Password [optional, default varies]: ");
-                dbPassword = scanner.nextLine().trim();
+                answers.put("dbPassword", scanner.nextLine());
             }
 
             System.out.print("Enter Hibernate Dialect (e.g., org.hibernate.dialect.MySQLDialect) [optional]: ");
-            databaseDialect = scanner.nextLine().trim();
+            answers.put("databaseDialect", scanner.nextLine());
         }
 
-        final String pascalCaseModuleName = toPascalCase(moduleName);
-        final String camelCaseModuleName = toCamelCase(moduleName);
+        System.out.print("Enter Maximum Page Size of list endpoints [default: 100]: ");
+        answers.put("maxPageSize", scanner.nextLine());
 
-        System.out.println("\nGenerating project structure for module: " + pascalCaseModuleName + "...");
+        System.out.println("Optional features:");
+        for (final Feature feature : Feature.values()) {
+            System.out.println("  " + feature.id() + " - " + feature.description());
+        }
+        System.out.print("Choose features, comma-separated [default: none]: ");
+        answers.put("features", scanner.nextLine());
 
         try {
-            // Create root project directory
-            final Path projectRootPath = Paths.get(projectName);
-            Files.createDirectories(projectRootPath);
+            final ProjectSpec spec = ProjectSpec.fromMap(answers);
 
-            if (buildTool.equalsIgnoreCase("gradle")) {
-                generateGradleBuildFile(projectRootPath, projectName, basePackage, databaseType);
-            } else {
-                generatePomXml(projectRootPath, projectName, basePackage, databaseType);
+            System.out.println("\nGenerating project structure for module: " + spec.moduleName() + "...");
+
+            if (archivePath != null) {
+                final ArchiveOutput.Format format = ArchiveOutput.Format.fromName(archivePath.getFileName().toString());
+                final int fileCount = generateArchive(spec, format, new BufferedOutputStream(Files.newOutputStream(archivePath), 64 * 1024), metrics);
+                System.out.println("\nProject '" + spec.projectName() + "' (" + fileCount + " files) written to " + archivePath);
+                return;
+            }
+
+            final ProjectWriter.WriteReport report = generateProject(spec, outputRoot != null ? outputRoot : Paths.get(""), new ProjectWriter(durable, force, metrics));
+            for (final Path generatedFile : report.written()) {
+                System.out.println("Generated: " + generatedFile.getFileName());
+            }
+            if (!report.unchanged().isEmpty()) {
+                System.out.println("Unchanged: " + report.unchanged().size() + " file(s)");
+            }
+            for (final Path conflict : report.conflicts()) {
+                System.out.println("Skipped (edited by hand, use --force to overwrite): " + conflict);
+            }
+            for (final Path staleFile : report.stale()) {
+                System.out.println("No longer generated (left in place): " + staleFile);
             }
 
-            // Create Java source directories
-            final Path javaBasePath = projectRootPath.resolve(SRC_MAIN_JAVA).resolve(basePackage.replace(".", File.separator));
-            final Path moduleBasePath = javaBasePath.resolve(camelCaseModuleName);
-
-            Files.createDirectories(moduleBasePath.resolve("config"));
-            Files.createDirectories(moduleBasePath.resolve("controller"));
-            Files.createDirectories(moduleBasePath.resolve("service"));
-            Files.createDirectories(moduleBasePath.resolve("repository"));
-            Files.createDirectories(moduleBasePath.resolve("entity"));
-
-            // Generate Java files
-            generateApplicationClass(basePackage, pascalCaseModuleName, moduleBasePath);
-            generateOpenApiConfig(basePackage, pascalCaseModuleName, moduleBasePath);
-            generateEntityClass(basePackage, pascalCaseModuleName, moduleBasePath);
-            generateRepositoryClass(basePackage, pascalCaseModuleName, moduleBasePath);
-            generateServiceClass(basePackage, pascalCaseModuleName, moduleBasePath);
-            generateControllerClass(basePackage, pascalCaseModuleName, moduleBasePath);
-            generateApplicationConfigFile(projectRootPath, configFileType, databaseType, databaseName, databaseDialect, createDatabaseIfNotExist, dbUsername, dbPassword);
-
-            System.out.println("\nProject '" + projectName + "' generated successfully!");
-            System.out.println("Navigate to the project directory: cd " + projectName);
-            if (buildTool.equalsIgnoreCase("gradle")) {
+            System.out.println("\nProject '" + spec.projectName() + "' generated successfully!");
+            System.out.println("Navigate to the project directory: cd " + spec.projectName());
+            if (spec.isGradle()) {
                 System.out.println("Then you can build and run it using Gradle: gradle bootRun");
             } else {
                 System.out.println("Then you can build and run it using Maven: mvn spring-boot:run");
             }
 
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             System.err.println("Error generating project: " + e.getMessage());
         } finally {
             scanner.close();
+            finishMetrics(metrics, metricsPath, recording, recordingPath, startNanos);
+        }
+    }
+
+    private static void printUsageAndExit() {
+        System.err.println("Usage: CliGenerator [--durable] [--force] [--metrics <report.json>] [--jfr <recording.jfr>] [output-directory]");
+        System.err.println("       CliGenerator --archive <project.zip|project.tar|project.tar.gz> [--metrics <report.json>] [--jfr <recording.jfr>]");
+        System.err.println("       CliGenerator --serve [port]");
+        System.err.println("       CliGenerator --batch <manifest.properties> [--durable] [--force] [--metrics <report.json>] [--jfr <recording.jfr>] [output-directory]");
+        System.exit(1);
+    }
+
+    /**
+     * Starts a Flight Recorder recording of the generation stage events.
+     */
+    private static Recording startRecording() {
+        final Recording recording = new Recording();
+        recording.setName("Spring Genie generation");
+        recording.enable(GenerationStageEvent.class);
+        recording.start();
+        return recording;
+    }
+
+    /**
+     * Writes the metrics report and the Flight Recorder recording, if they were requested.
+     */
+    private static void finishMetrics(final GenerationMetrics metrics, final Path metricsPath,
+                                      final Recording recording, final Path recordingPath, final long startNanos) {
+        try {
+            if (metricsPath != null) {
+                Files.writeString(metricsPath, metrics.toJson(System.nanoTime() - startNanos), StandardCharsets.UTF_8);
+                System.out.println("Metrics written to " + metricsPath);
+            }
+            if (recording != null) {
+                recording.stop();
+                recording.dump(recordingPath);
+                recording.close();
+                System.out.println("Flight recording written to " + recordingPath);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Generates a complete project for the given specification and writes it to disk.
+     * This method holds no shared state and is safe to call concurrently
+     * for different projects.
+     *
+     * With {@link Feature#FLYWAY} the migrations already in the project keep their versions.
+     *
+     * @param spec       The project specification.
+     * @param outputRoot The directory in which the project directory is created.
+     * @param writer     The writer used to write the project.
+     * @return A report of the written, unchanged and skipped files.
+     * @throws IOException If an I/O error occurs.
+     */
+    static ProjectWriter.WriteReport generateProject(final ProjectSpec spec, final Path outputRoot, final ProjectWriter writer) throws IOException {
+        final Path projectRoot = outputRoot.resolve(spec.projectName());
+        final MigrationHistory migrations = spec.hasFeature(Feature.FLYWAY) ? MigrationHistory.load(projectRoot) : MigrationHistory.empty();
+        return writer.write(projectRoot, renderProject(spec, writer.metrics(), migrations), spec.toMap());
+    }
+
+    /**
+     * Streams a complete project into an archive, without touching the file system
+     * and without holding the whole project in memory.
+     *
+     * @param spec   The project specification.
+     * @param format The archive format.
+     * @param out    The stream to write the archive to; it is closed when the archive is complete.
+     * @return The number of files in the archive.
+     * @throws IOException If an I/O error occurs.
+     */
+    static int generateArchive(final ProjectSpec spec, final ArchiveOutput.Format format, final OutputStream out) throws IOException {
+        return generateArchive(spec, format, out, GenerationMetrics.DISABLED);
+    }
+
+    /**
+     * Streams a complete project into an archive, recording every stage in the given metrics.
+     *
+     * @param spec    The project specification.
+     * @param format  The archive format.
+     * @param out     The stream to write the archive to; it is closed when the archive is complete.
+     * @param metrics The metrics to record the rendering and archiving stages in.
+     * @return The number of files in the archive.
+     * @throws IOException If an I/O error occurs.
+     */
+    static int generateArchive(final ProjectSpec spec, final ArchiveOutput.Format format, final OutputStream out, final GenerationMetrics metrics) throws IOException {
+        try (final ArchiveOutput archive = ArchiveOutput.open(format, out, spec.projectName())) {
+            renderProject(spec, file -> {
+                try (final GenerationMetrics.Span span = metrics.start("write.archiveEntry")) {
+                    archive.write(file);
+                    if (metrics.isEnabled()) {
+                        span.addFile(GenerationMetrics.utf8Length(file.content()));
+                    }
+                }
+            }, metrics);
+            return archive.entryCount();
+        }
+    }
+
+    /**
+     * Renders every file of a project in memory, without touching the file system.
+     *
+     * @param spec The project specification.
+     * @return The rendered files, with paths relative to the project root.
+     */
+    static List<GeneratedFile> renderProject(final ProjectSpec spec) {
+        return renderProject(spec, GenerationMetrics.DISABLED);
+    }
+
+    /**
+     * Renders every file of a project in memory, recording each generator as a stage in the given metrics.
+     *
+     * @param spec    The project specification.
+     * @param metrics The metrics to record the rendering stages in.
+     * @return The rendered files, with paths relative to the project root.
+     */
+    static List<GeneratedFile> renderProject(final ProjectSpec spec, final GenerationMetrics metrics) {
+        return renderProject(spec, metrics, MigrationHistory.empty());
+    }
+
+    /**
+     * Renders every file of a project in memory, numbering the new Flyway migrations after the given ones.
+     *
+     * @param spec       The project specification.
+     * @param metrics    The metrics to record the rendering stages in.
+     * @param migrations The migrations already issued to the project.
+     * @return The rendered files, with paths relative to the project root.
+     */
+    static List<GeneratedFile> renderProject(final ProjectSpec spec, final GenerationMetrics metrics, final MigrationHistory migrations) {
+        final List<GeneratedFile> files = new ArrayList<>();
+        try {
+            renderProject(spec, files::add, metrics, migrations);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not thrown: adding to a list does no I/O.
+        }
+        return files;
+    }
+
+    /**
+     * Renders every file of a project and hands each one to the output as soon as it is ready.
+     * The module-level files are rendered once; the per-entity layers are rendered in parallel,
+     * one task per entity, and handed over in entity order. At most a small window of entities
+     * is rendered ahead of the output, so a slow output does not cause the whole project to be
+     * buffered.
+     *
+     * @param spec   The project specification.
+     * @param output The destination of the rendered files.
+     * @throws IOException If the output fails.
+     */
+    static void renderProject(final ProjectSpec spec, final ProjectOutput output) throws IOException {
+        renderProject(spec, output, GenerationMetrics.DISABLED);
+    }
+
+    /**
+     * Renders every file of a project as described in {@link #renderProject(ProjectSpec, ProjectOutput)},
+     * recording each generator as a {@code render.<generator>} stage in the given metrics.
+     *
+     * @param spec    The project specification.
+     * @param output  The destination of the rendered files.
+     * @param metrics The metrics to record the rendering stages in.
+     * @throws IOException If the output fails.
+     */
+    static void renderProject(final ProjectSpec spec, final ProjectOutput output, final GenerationMetrics metrics) throws IOException {
+        renderProject(spec, output, metrics, MigrationHistory.empty());
+    }
+
+    /**
+     * Renders every file of a project as described in {@link #renderProject(ProjectSpec, ProjectOutput)}.
+     * A table that already has a Flyway migration keeps its file; only new tables get the next versions.
+     *
+     * @param spec       The project specification.
+     * @param output     The destination of the rendered files.
+     * @param metrics    The metrics to record the rendering stages in.
+     * @param migrations The migrations already issued to the project.
+     * @throws IOException If the output fails.
+     */
+    static void renderProject(final ProjectSpec spec, final ProjectOutput output, final GenerationMetrics metrics, final MigrationHistory migrations) throws IOException {
+        final String basePackage = spec.basePackage();
+        final String modulePackage = spec.modulePackage();
+        final String moduleBasePath = SRC_MAIN_JAVA + "/" + basePackage.replace('.', '/') + "/" + modulePackage;
+
+        if (spec.isGradle()) {
+            output.write(measure(metrics, "render.GradleBuildFileGenerator", () -> generateGradleBuildFile(spec)));
+        } else {
+            output.write(measure(metrics, "render.PomXmlGenerator", () -> generatePomXml(spec)));
+        }
+
+        // Generate Java files shared by all entities of the module
+        output.write(measure(metrics, "render.ApplicationClassGenerator", () -> generateApplicationClass(spec, moduleBasePath)));
+        output.write(measure(metrics, "render.OpenApiConfigGenerator", () -> generateOpenApiConfig(spec, moduleBasePath)));
+        if (spec.hasFeature(Feature.CACHING)) {
+            output.write(measure(metrics, "render.CacheConfigGenerator", () -> generateCacheConfig(spec, moduleBasePath)));
+        }
+        if (spec.hasFeature(Feature.HTTP_CACHING)) {
+            output.write(measure(metrics, "render.AuditingConfigGenerator", () -> generateAuditingConfig(spec, moduleBasePath)));
+        }
+        if (spec.hasFeature(Feature.NATIVE_IMAGE)) {
+            output.write(measure(metrics, "render.NativeHintsGenerator", () -> generateNativeHints(spec, moduleBasePath)));
+        }
+        if (spec.hasFeature(Feature.APP_CDS)) {
+            output.write(measure(metrics, "render.DockerfileGenerator", () -> generateDockerfile(spec)));
+        }
+        if (spec.hasFeature(Feature.EXPORT_IMPORT)) {
+            output.write(measure(metrics, "render.ExportImportControllerGenerator.csv", () -> generateCsv(spec, moduleBasePath)));
+        }
+
+        // Generate the layers of each entity; rendering is CPU-bound, so spread it across cores
+        final int window = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+        final Deque<CompletableFuture<List<GeneratedFile>>> inFlight = new ArrayDeque<>();
+        for (final EntitySpec entity : spec.entities()) {
+            inFlight.addLast(CompletableFuture.supplyAsync(() -> renderEntity(spec, entity, moduleBasePath, metrics)));
+            if (inFlight.size() >= window) {
+                writeAll(output, join(inFlight.removeFirst()));
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            writeAll(output, join(inFlight.removeFirst()));
+        }
+
+        output.write(measure(metrics, "render.ApplicationConfigGenerator", () -> generateApplicationConfigFile(spec)));
+        if (spec.hasFeature(Feature.FAST_STARTUP)) {
+            output.write(measure(metrics, "render.ApplicationConfigGenerator.production", () -> generateProductionConfigFile(spec)));
+        }
+        if (spec.isReactive()) {
+            output.write(measure(metrics, "render.SchemaSqlGenerator", () -> generateSchemaSql(spec)));
+        }
+        if (spec.hasFeature(Feature.FLYWAY)) {
+            for (final EntitySpec entity : spec.entities()) {
+                final String fileName = migrations.fileName(entity.tableName());
+                output.write(measure(metrics, "render.SchemaSqlGenerator.migration", () -> generateMigration(spec, entity, fileName)));
+            }
+        }
+        if (spec.hasFeature(Feature.LOAD_TEST)) {
+            output.write(measure(metrics, "render.LoadTestGenerator", () -> generateLoadTest(spec)));
+            output.write(measure(metrics, "render.ApplicationConfigGenerator.loadTest", () -> generateLoadTestConfigFile(spec)));
+        }
+    }
+
+    /**
+     * Waits for the rendering of an entity. An exception thrown by a generator is rethrown as it is,
+     * not wrapped in a {@link CompletionException}, so the callers report it like any other invalid input.
+     *
+     * @param rendering The rendering of an entity's files.
+     * @return The rendered files.
+     */
+    private static List<GeneratedFile> join(final CompletableFuture<List<GeneratedFile>> rendering) {
+        try {
+            return rendering.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Renders a single file as a measured stage.
+     */
+    private static GeneratedFile measure(final GenerationMetrics metrics, final String stage, final Supplier<GeneratedFile> generator) {
+        if (!metrics.isEnabled()) {
+            return generator.get();
+        }
+        try (final GenerationMetrics.Span span = metrics.start(stage)) {
+            final GeneratedFile file = generator.get();
+            span.addFile(GenerationMetrics.utf8Length(file.content()));
+            return file;
+        }
+    }
+
+    private static void writeAll(final ProjectOutput output, final List<GeneratedFile> files) throws IOException {
+        for (final GeneratedFile file : files) {
+            output.write(file);
+        }
+    }
+
+    /**
+     * Renders the Entity, Repository, summary projection, Service, request and response records
+     * and Controller of a single entity, and with {@link Feature#EXPORT_IMPORT} its export and import controller.
+     *
+     * @param spec           The project specification.
+     * @param entity         The entity and its fields.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @param metrics        The metrics to record the rendering stages in.
+     * @return The rendered files of the entity.
+     */
+    private static List<GeneratedFile> renderEntity(final ProjectSpec spec, final EntitySpec entity, final String moduleBasePath, final GenerationMetrics metrics) {
+        final List<GeneratedFile> files = new ArrayList<>(List.of(
+                measure(metrics, "render.EntityClassGenerator", () -> generateEntityClass(spec, entity, moduleBasePath)),
+                measure(metrics, "render.RepositoryClassGenerator", () -> generateRepositoryClass(spec, entity, moduleBasePath)),
+                measure(metrics, "render.RepositoryClassGenerator.summary", () -> generateSummaryInterface(spec, entity, moduleBasePath)),
+                measure(metrics, "render.ServiceClassGenerator", () -> generateServiceClass(spec, entity, moduleBasePath)),
+                measure(metrics, "render.DtoClassGenerator.request", () -> generateRequestRecord(spec, entity, moduleBasePath)),
+                measure(metrics, "render.DtoClassGenerator.response", () -> generateResponseRecord(spec, entity, moduleBasePath)),
+                measure(metrics, "render.ControllerClassGenerator", () -> generateControllerClass(spec, entity, moduleBasePath))));
+        if (spec.hasFeature(Feature.EXPORT_IMPORT)) {
+            files.add(measure(metrics, "render.ExportImportControllerGenerator", () -> generateExportImportController(spec, entity, moduleBasePath)));
         }
+        return files;
     }
 
     /**
@@ -135,7 +563,7 @@ public class CliGenerator {
      * @param input The input string.
      * @return The PascalCase string.
      */
-    private static String toPascalCase(final String input) {
+    static String toPascalCase(final String input) {
         if (input == null || input.isEmpty()) {
             return "";
         }
@@ -162,7 +590,7 @@ public class CliGenerator {
      * @param input The input string.
      * @return The camelCase string.
      */
-    private static String toCamelCase(final String input) {
+    static String toCamelCase(final String input) {
         final String pascalCase = toPascalCase(input);
         if (pascalCase.isEmpty()) {
             return "";
@@ -171,152 +599,283 @@ public class CliGenerator {
     }
 
     /**
-     * Writes content to a file.
+     * Generates the pom.xml file.
      *
-     * @param path    The path to the file.
-     * @param content The content to write.
-     * @throws IOException If an I/O error occurs.
+     * @param spec The project specification.
+     * @return The rendered file.
      */
-    private static void writeFile(final Path path, String content) throws IOException {
-        try (final FileWriter writer = new FileWriter(path.toFile())) {
-            writer.write(content);
-            System.out.println("Generated: " + path.getFileName());
-        }
+    private static GeneratedFile generatePomXml(final ProjectSpec spec) {
+        final String content = PomXmlGenerator.generate(spec);
+        return new GeneratedFile("pom.xml", content);
     }
 
     /**
-     * Generates the pom.xml file.
+     * Generates the build.gradle file with the appropriate database dependency.
      *
-     * @param projectRootPath The root path of the project.
-     * @param projectName     The name of the project.
-     * @param basePackage     The base package of the project.
-     * @throws IOException If an I/O error occurs.
+     * @param spec The project specification.
+     * @return The rendered file.
      */
-    private static void generatePomXml(final Path projectRootPath, final  String projectName, final  String basePackage, final String databaseType) throws IOException {
-        final Path pomPath = projectRootPath.resolve("pom.xml");
-        final String content = PomXmlGenerator.generate(projectName, basePackage, databaseType);
-        writeFile(pomPath, content);
+    private static GeneratedFile generateGradleBuildFile(final ProjectSpec spec) {
+        final String content = GradleBuildFileGenerator.generate(spec);
+        return new GeneratedFile("build.gradle", content);
     }
 
     /**
-     * Generates the build.gradle file with the appropriate database dependency.
+     * Generates the main Spring Boot Application class.
      *
-     * @param projectRootPath The root path of the project.
-     * @param projectName     The name of the project.
-     * @param basePackage     The base package of the project.
-     * @param databaseType    The selected database type (h2, mysql, postgresql).
-     * @throws IOException If an I/O error occurs.
+     * @param spec           The project specification.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
      */
-    private static void generateGradleBuildFile(final Path projectRootPath, final String projectName, final String basePackage, final String databaseType) throws IOException {
-        final Path buildGradlePath = projectRootPath.resolve("build.gradle");
-        final String content = GradleBuildFileGenerator.generate(projectName, basePackage, databaseType);
-        writeFile(buildGradlePath, content);
+    private static GeneratedFile generateApplicationClass(final ProjectSpec spec, final String moduleBasePath) {
+        final String content = ApplicationClassGenerator.generate(spec);
+        return new GeneratedFile(moduleBasePath + "/Application.java", content);
     }
 
     /**
-     * Generates the main Spring Boot Application class.
+     * Generates the OpenAPI configuration class.
      *
-     * @param basePackage          The base package.
-     * @param pascalCaseModuleName The module name in PascalCase.
-     * @param moduleBasePath       The base path for the module's Java files.
-     * @throws IOException If an I/O error occurs.
+     * @param spec           The project specification.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
      */
-    private static void generateApplicationClass(final String basePackage, final  String pascalCaseModuleName, final  Path moduleBasePath) throws IOException {
-        final Path filePath = moduleBasePath.resolve("Application.java");
-        final String content = ApplicationClassGenerator.generate(basePackage, pascalCaseModuleName);
-        writeFile(filePath, content);
+    private static GeneratedFile generateOpenApiConfig(final ProjectSpec spec, final String moduleBasePath) {
+        final String content = OpenApiConfigGenerator.generate(spec);
+        return new GeneratedFile(moduleBasePath + "/config/OpenApiConfig.java", content);
     }
 
     /**
-     * Generates the OpenAPI configuration class.
+     * Generates the cache configuration class.
      *
-     * @param basePackage The base package of the application.
-     * @param pascalCaseModuleName The module name in PascalCase.
-     * @param moduleBasePath       The base path for the module's Java files.
-     * @throws IOException If an I/O error occurs.
+     * @param spec           The project specification.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateCacheConfig(final ProjectSpec spec, final String moduleBasePath) {
+        final String content = CacheConfigGenerator.generate(spec);
+        return new GeneratedFile(moduleBasePath + "/config/CacheConfig.java", content);
+    }
+
+    /**
+     * Generates the configuration class that turns on Spring Data auditing.
+     *
+     * @param spec           The project specification.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateAuditingConfig(final ProjectSpec spec, final String moduleBasePath) {
+        final String content = AuditingConfigGenerator.generate(spec);
+        return new GeneratedFile(moduleBasePath + "/config/AuditingConfig.java", content);
+    }
+
+    /**
+     * Generates the configuration class with the runtime hints of the native image.
+     *
+     * @param spec           The project specification.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateNativeHints(final ProjectSpec spec, final String moduleBasePath) {
+        final String content = NativeHintsGenerator.generate(spec);
+        return new GeneratedFile(moduleBasePath + "/config/NativeHints.java", content);
+    }
+
+    /**
+     * Generates the Dockerfile that builds a layered image with an AppCDS archive.
+     *
+     * @param spec The project specification.
+     * @return The rendered file.
      */
-    private static void generateOpenApiConfig(final String basePackage, final String pascalCaseModuleName, final Path moduleBasePath) throws IOException {
-        final Path filePath = moduleBasePath.resolve("config").resolve("OpenApiConfig.java");
-        final String content = OpenApiConfigGenerator.generate(basePackage, pascalCaseModuleName);
-        writeFile(filePath, content);
+    private static GeneratedFile generateDockerfile(final ProjectSpec spec) {
+        final String content = DockerfileGenerator.generate(spec);
+        return new GeneratedFile("Dockerfile", content);
     }
 
     /**
      * Generates the Entity class.
      *
-     * @param basePackage          The base package.
-     * @param pascalCaseModuleName The module name in PascalCase.
-     * @param moduleBasePath       The base path for the module's Java files.
-     * @throws IOException If an I/O error occurs.
+     * @param spec           The project specification.
+     * @param entity         The entity and its fields.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
      */
-    private static void generateEntityClass(final String basePackage, final  String pascalCaseModuleName, final  Path moduleBasePath) throws IOException {
-        final Path filePath = moduleBasePath.resolve("entity").resolve(pascalCaseModuleName + ".java");
-        final String content = EntityClassGenerator.generate(basePackage, pascalCaseModuleName);
-        writeFile(filePath, content);
+    private static GeneratedFile generateEntityClass(final ProjectSpec spec, final EntitySpec entity, final String moduleBasePath) {
+        final String content = EntityClassGenerator.generate(spec, entity);
+        return new GeneratedFile(moduleBasePath + "/entity/" + entity.name() + ".java", content);
     }
 
     /**
      * Generates the Repository interface.
      *
-     * @param basePackage          The base package.
-     * @param pascalCaseModuleName The module name in PascalCase.
-     * @param moduleBasePath       The base path for the module's Java files.
-     * @throws IOException If an I/O error occurs.
+     * @param spec           The project specification.
+     * @param entity         The entity and its fields.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateRepositoryClass(final ProjectSpec spec, final EntitySpec entity, final String moduleBasePath) {
+        final String content = RepositoryClassGenerator.generate(spec, entity);
+        return new GeneratedFile(moduleBasePath + "/repository/" + entity.name() + "Repository.java", content);
+    }
+
+    /**
+     * Generates the summary projection interface that the list queries return.
+     *
+     * @param spec           The project specification.
+     * @param entity         The entity and its fields.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
      */
-    private static void generateRepositoryClass(final String basePackage, final  String pascalCaseModuleName, final  Path moduleBasePath) throws IOException {
-        final Path filePath = moduleBasePath.resolve("repository").resolve(pascalCaseModuleName + "Repository.java");
-        final String content = RepositoryClassGenerator.generate(basePackage, pascalCaseModuleName);
-        writeFile(filePath, content);
+    private static GeneratedFile generateSummaryInterface(final ProjectSpec spec, final EntitySpec entity, final String moduleBasePath) {
+        final String content = RepositoryClassGenerator.generateSummary(spec, entity);
+        return new GeneratedFile(moduleBasePath + "/dto/" + entity.name() + "Summary.java", content);
     }
 
     /**
      * Generates the Service class.
      *
-     * @param basePackage          The base package.
-     * @param pascalCaseModuleName The module name in PascalCase.
-     * @param moduleBasePath       The base path for the module's Java files.
-     * @throws IOException If an I/O error occurs.
+     * @param spec           The project specification.
+     * @param entity         The entity and its fields.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateServiceClass(final ProjectSpec spec, final EntitySpec entity, final String moduleBasePath) {
+        final String content = ServiceClassGenerator.generate(spec, entity);
+        return new GeneratedFile(moduleBasePath + "/service/" + entity.name() + "Service.java", content);
+    }
+
+    /**
+     * Generates the request record that the controller reads.
+     *
+     * @param spec           The project specification.
+     * @param entity         The entity and its fields.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
      */
-    private static void generateServiceClass(final String basePackage, final  String pascalCaseModuleName, final  Path moduleBasePath) throws IOException {
-        final Path filePath = moduleBasePath.resolve("service").resolve(pascalCaseModuleName + "Service.java");
-        final String content = ServiceClassGenerator.generate(basePackage, pascalCaseModuleName);
-        writeFile(filePath, content);
+    private static GeneratedFile generateRequestRecord(final ProjectSpec spec, final EntitySpec entity, final String moduleBasePath) {
+        final String content = DtoClassGenerator.generateRequest(spec, entity);
+        return new GeneratedFile(moduleBasePath + "/dto/" + entity.name() + "Request.java", content);
+    }
+
+    /**
+     * Generates the response record that the controller writes.
+     *
+     * @param spec           The project specification.
+     * @param entity         The entity and its fields.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateResponseRecord(final ProjectSpec spec, final EntitySpec entity, final String moduleBasePath) {
+        final String content = DtoClassGenerator.generateResponse(spec, entity);
+        return new GeneratedFile(moduleBasePath + "/dto/" + entity.name() + "Response.java", content);
     }
 
     /**
      * Generates the Controller class.
      *
-     * @param basePackage          The base package.
-     * @param pascalCaseModuleName The module name in PascalCase.
-     * @param moduleBasePath       The base path for the module's Java files.
-     * @throws IOException If an I/O error occurs.
+     * @param spec           The project specification.
+     * @param entity         The entity and its fields.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateControllerClass(final ProjectSpec spec, final EntitySpec entity, final String moduleBasePath) {
+        final String content = ControllerClassGenerator.generate(spec, entity);
+        return new GeneratedFile(moduleBasePath + "/controller/" + entity.name() + "Controller.java", content);
+    }
+
+    /**
+     * Generates the export and import controller for a specific entity.
+     *
+     * @param spec           The project specification.
+     * @param entity         The entity and its fields.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateExportImportController(final ProjectSpec spec, final EntitySpec entity, final String moduleBasePath) {
+        final String content = ExportImportControllerGenerator.generate(spec, entity);
+        return new GeneratedFile(moduleBasePath + "/controller/" + entity.name() + "ExportImportController.java", content);
+    }
+
+    /**
+     * Generates the CSV reader and writer shared by the export and import controllers.
+     *
+     * @param spec           The project specification.
+     * @param moduleBasePath The project-relative path of the module's Java files.
+     * @return The rendered file.
      */
-    private static void generateControllerClass(final String basePackage, final  String pascalCaseModuleName, final  Path moduleBasePath) throws IOException {
-        final Path filePath = moduleBasePath.resolve("controller").resolve(pascalCaseModuleName + "Controller.java");
-        final String content = ControllerClassGenerator.generate(basePackage, pascalCaseModuleName);
-        writeFile(filePath, content);
+    private static GeneratedFile generateCsv(final ProjectSpec spec, final String moduleBasePath) {
+        final String content = ExportImportControllerGenerator.generateCsv(spec);
+        return new GeneratedFile(moduleBasePath + "/controller/Csv.java", content);
     }
 
     /**
      * Generates the application configuration file (application.properties or application.yml).
      *
-     * @param projectRootPath The root path of the project.
-     * @param configFileType  The chosen config file type (properties/yml).
-     * @param databaseType    The chosen database type.
-     * @param databaseName    The database name.
-     * @param databaseDialect The Hibernate dialect (optional).
-     * @param createDatabaseIfNotExist True if the database should be created if it doesn't exist.
-     * @param username        The database username (optional).
-     * @param password        The database password (optional).
-     * @throws IOException If an I/O error occurs.
+     * @param spec The project specification.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateApplicationConfigFile(final ProjectSpec spec) {
+        final String fileName = "application." + spec.configFileType();
+        final String content = ApplicationConfigGenerator.generate(spec);
+        return new GeneratedFile(SRC_MAIN_RESOURCES + "/" + fileName, content);
+    }
+
+    /**
+     * Generates the configuration file of the {@code prod} profile (application-prod.properties or application-prod.yml).
+     *
+     * @param spec The project specification.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateProductionConfigFile(final ProjectSpec spec) {
+        final String fileName = "application-prod." + spec.configFileType();
+        final String content = ApplicationConfigGenerator.generateProduction(spec);
+        return new GeneratedFile(SRC_MAIN_RESOURCES + "/" + fileName, content);
+    }
+
+    /**
+     * Generates the Flyway migration that creates the table of an entity.
+     * New migrations are numbered in the order the entities were given, see {@link MigrationHistory}.
+     *
+     * @param spec     The project specification.
+     * @param entity   The entity and its fields.
+     * @param fileName The file name of the migration.
+     * @return The rendered file.
      */
-    private static void generateApplicationConfigFile(final Path projectRootPath, final String configFileType, final String databaseType, final String databaseName, final String databaseDialect, final boolean createDatabaseIfNotExist, final String username, final String password) throws IOException {
-        final Path resourcesPath = projectRootPath.resolve(SRC_MAIN_RESOURCES);
-        Files.createDirectories(resourcesPath); // Ensure resources directory exists
+    private static GeneratedFile generateMigration(final ProjectSpec spec, final EntitySpec entity, final String fileName) {
+        final String content = SchemaSqlGenerator.generateMigration(spec, entity);
+        return new GeneratedFile(MigrationHistory.RELATIVE_PATH + "/" + fileName, content);
+    }
+
+    /**
+     * Generates the schema.sql file that creates the tables of a reactive project on startup.
+     *
+     * @param spec The project specification.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateSchemaSql(final ProjectSpec spec) {
+        final String content = SchemaSqlGenerator.generate(spec);
+        return new GeneratedFile(SRC_MAIN_RESOURCES + "/schema.sql", content);
+    }
+
+    /**
+     * Generates the load test class in the loadtest source set.
+     *
+     * @param spec The project specification.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateLoadTest(final ProjectSpec spec) {
+        final String content = LoadTestGenerator.generate(spec);
+        return new GeneratedFile(SRC_LOADTEST + "/java/" + spec.basePackage().replace('.', '/') + "/" + spec.modulePackage()
+                + "/loadtest/LoadTest.java", content);
+    }
 
-        final String fileName = "application." + configFileType;
-        final Path filePath = resourcesPath.resolve(fileName);
-        final String content = ApplicationConfigGenerator.generate(configFileType, databaseType, databaseName, databaseDialect, createDatabaseIfNotExist, username, password);
-        writeFile(filePath, content);
+    /**
+     * Generates loadtest.properties, the configuration the load test starts the application with.
+     *
+     * @param spec The project specification.
+     * @return The rendered file.
+     */
+    private static GeneratedFile generateLoadTestConfigFile(final ProjectSpec spec) {
+        final String content = ApplicationConfigGenerator.generateLoadTest(spec);
+        return new GeneratedFile(SRC_LOADTEST + "/resources/loadtest.properties", content);
     }
-}
\ No newline at end of file
+}
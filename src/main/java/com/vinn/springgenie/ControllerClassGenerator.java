@@ -1,229 +1,503 @@
 package com.vinn.springgenie;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * A helper class to generate the content for a Presentation layer Controller class.
  * This class handles incoming HTTP requests and delegates to the service layer.
  */
 public class ControllerClassGenerator {
 
-    /**
-     * Generates the content for a Presentation layer Controller class.
-     * It includes basic REST endpoints for CRUD operations.
-     *
-     * @param basePackage          The base package of the application.
-     * @param pascalCaseModuleName The module name in PascalCase (e.g., "Product").
-     * @return A string containing the Controller class content.
-     */
-    public static String generate(final String basePackage, final String pascalCaseModuleName) {
-        final String camelCaseModuleName = Character.toLowerCase(pascalCaseModuleName.charAt(0)) + pascalCaseModuleName.substring(1);
-        final String serviceVarName = camelCaseModuleName + "Service";
-        final String pluralModuleName = pascalCaseModuleName + "s";
-        final String pluralCamelCaseModuleName = camelCaseModuleName + "s";
-        return """
-                package %s.%s.controller;
-
-                import %s.%s.entity.%s;
-                import %s.%s.service.%sService;
-                import io.swagger.v3.oas.annotations.Operation;
-                import io.swagger.v3.oas.annotations.Parameter;
-                import io.swagger.v3.oas.annotations.media.Content;
-                import io.swagger.v3.oas.annotations.media.Schema;
-                import io.swagger.v3.oas.annotations.responses.ApiResponse;
-                import io.swagger.v3.oas.annotations.responses.ApiResponses;
-                import io.swagger.v3.oas.annotations.tags.Tag;
-                import org.springframework.http.HttpStatus;
-                import org.springframework.http.ResponseEntity;
-                import org.springframework.web.bind.annotation.*;
-
-                import java.util.List;
+    private static final Template TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.controller;
+
+            import ${basePackage}.${modulePackage}.dto.${entity}Request;
+            import ${basePackage}.${modulePackage}.dto.${entity}Response;
+            import ${basePackage}.${modulePackage}.dto.${entity}Summary;
+            import ${basePackage}.${modulePackage}.entity.${entity};
+            import ${basePackage}.${modulePackage}.service.${entity}Service;
+            ${timedImport}import io.swagger.v3.oas.annotations.Operation;
+            import io.swagger.v3.oas.annotations.Parameter;
+            import io.swagger.v3.oas.annotations.media.Content;
+            import io.swagger.v3.oas.annotations.media.Schema;
+            import io.swagger.v3.oas.annotations.responses.ApiResponse;
+            import io.swagger.v3.oas.annotations.responses.ApiResponses;
+            import io.swagger.v3.oas.annotations.tags.Tag;
+            import org.springdoc.core.annotations.ParameterObject;
+            import org.springframework.data.domain.Pageable;
+            import org.springframework.data.domain.Slice;
+            import org.springframework.data.web.PageableDefault;
+            ${httpHeadersImport}import org.springframework.http.HttpStatus;
+            import org.springframework.http.ResponseEntity;
+            import org.springframework.web.bind.annotation.*;
+            ${listImport}
+            /**
+             * REST Controller for the ${entity} module.
+             * Handles incoming HTTP requests and interacts with the ${entity}Service
+             * to perform operations on ${entity} entities. Requests and responses are records
+             * (${entity}Request, ${entity}Response, ${entity}Summary); the entity itself is never serialized.
+             */
+            @Tag(name = "${entity} Module", description = "Endpoints for managing ${entitiesVar}")
+            @RestController
+            @RequestMapping("/api/${entitiesVar}") // Base path for this module's API endpoints
+            public class ${entity}Controller {
+
+                private final ${entity}Service ${service};
 
                 /**
-                 * REST Controller for the %s module.
-                 * Handles incoming HTTP requests and interacts with the %sService
-                 * to perform operations on %s entities.
-                 */
-                @Tag(name = "%s Module", description = "Endpoints for managing %s")
-                @RestController
-                @RequestMapping("/api/%s") // Base path for this module's API endpoints
-                public class %sController {
-
-                    private final %sService %s;
-
-                    /**
-                     * Constructs a new %sController with the given %sService.
-                     * Spring automatically injects the %sService instance.
-                     *
-                     * @param %s The %sService to be used by this controller.
-                     */
-                    public %sController(final %sService %s) {
-                        this.%s = %s;
-                    }
+                 * Constructs a new ${entity}Controller with the given ${entity}Service.
+                 * Spring automatically injects the ${entity}Service instance.
+                 *
+                 * @param ${service} The ${entity}Service to be used by this controller.
+                 */
+                public ${entity}Controller(final ${entity}Service ${service}) {
+                    this.${service} = ${service};
+                }
 
-                    /**
-                     * Retrieves all %s entities.
-                     *
-                     * @return A ResponseEntity containing a list of all %s and HTTP status OK.
-                     */
-                    @Operation(summary = "Retrieve all %s", description = "Fetches a list of all %s entities.")
-                    @ApiResponses(
-                            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of %s",
-                                    content = { @Content(mediaType = "application/json",
-                                        schema = @Schema(implementation = %s.class))
-                                    })
-                            )
-                    @GetMapping
-                    public ResponseEntity<List<%s>> getAll%s() {
-                        final List<%s> %s = this.%s.findAll();
-                        return new ResponseEntity<>(%s, HttpStatus.OK);
-                    }
+                /**
+                 * Retrieves one page of ${entity} summaries.
+                 * The page size is capped by spring.data.web.pageable.max-page-size (${maxPageSize}),
+                 * and no count query is run: the response only tells whether a next page exists.
+                 * Only the summary columns are read; use the endpoint by ID for all fields.
+                 *
+                 * @param pageable The page to retrieve (e.g., ?page=0&size=${defaultPageSize}&sort=id,asc).
+                 * @return A ResponseEntity containing a slice of ${entity} summaries and HTTP status OK.
+                 */
+                @Operation(summary = "Retrieve ${entitiesVar} page by page", description = "Fetches one page of ${entitiesVar} entities.")
+                @ApiResponses(
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of ${entitiesVar}",
+                                content = { @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ${entity}Summary.class))
+                                })
+                        )
+            ${timed}    @GetMapping
+                public ResponseEntity<Slice<${entity}Summary>> getAll${entities}(@ParameterObject @PageableDefault(size = ${defaultPageSize}, sort = "id") final Pageable pageable) {
+                    final Slice<${entity}Summary> ${entitiesVar} = this.${service}.findAll(pageable);
+                    return new ResponseEntity<>(${entitiesVar}, HttpStatus.OK);
+                }
 
-                    /**
-                     * Retrieves a single %s entity by its ID.
-                     *
-                     * @param id The ID of the %s to retrieve.
-                     * @return A ResponseEntity containing the %s if found (HTTP status OK),
-                     * or HTTP status NOT_FOUND if not found.
-                     */
-                     @Operation(summary = "Retrieve a %s by ID", description = "Fetches the details of a specific %s by its ID.")
-                     @ApiResponses(value = {
-                         @ApiResponse(responseCode = "200", description = "Found the %s",
-                             content = { @Content(mediaType = "application/json",
-                                     schema = @Schema(implementation = %s.class)) }),
-                         @ApiResponse(responseCode = "404", description = "%s not found", content = @Content)
-                     })
-                    @GetMapping("/{id}")
-                    public ResponseEntity<%s> get%sById(@PathVariable final  Long id) {
-                        return this.%s.findById(id)
-                                .map(%s -> new ResponseEntity<>(%s, HttpStatus.OK))
-                                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
-                    }
+            ${scrollEndpoint}    /**
+                 * Retrieves a single ${entity} entity by its ID.
+                 *
+                 * @param id The ID of the ${entity} to retrieve.
+                 * @return A ResponseEntity containing the ${entity} if found (HTTP status OK),
+                 * or HTTP status NOT_FOUND if not found.
+                 */
+                 @Operation(summary = "Retrieve a ${entityVar} by ID", description = "Fetches the details of a specific ${entityVar} by its ID.")
+                 @ApiResponses(value = {
+                     @ApiResponse(responseCode = "200", description = "Found the ${entity}",
+                         content = { @Content(mediaType = "application/json",
+                                 schema = @Schema(implementation = ${entity}Response.class)) }),
+            ${notModifiedResponse}         @ApiResponse(responseCode = "404", description = "${entity} not found", content = @Content)
+                 })
+            ${timed}    @GetMapping("/{id}")
+                public ResponseEntity<${entity}Response> get${entity}ById(@PathVariable final  Long id) {
+                    return this.${service}.findById(id)
+                            .map(${entityVar} -> ${getResponse})
+                            .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                }
+
+                /**
+                 * Creates a new ${entityVar} entity.
+                 *
+                 * @param ${entityVar}Request The fields of the ${entity} to create, sent in the request body.
+                 * @return A ResponseEntity containing the created ${entity} and HTTP status CREATED.
+                 */
+                 @Operation(summary = "Create a new ${entityVar}", description = "Creates a new ${entityVar} with the provided details.")
+                 @ApiResponses(value = {
+                     @ApiResponse(responseCode = "201", description = "${entity} created successfully",
+                         content = { @Content(mediaType = "application/json",
+                                 schema = @Schema(implementation = ${entity}Response.class)) }),
+                     @ApiResponse(responseCode = "400", description = "Invalid ${entityVar} details provided", content = @Content)
+                 })
+            ${timed}    @PostMapping
+                public ResponseEntity<${entity}Response> create${entity}(@RequestBody final  ${entity}Request ${entityVar}Request) {
+                    final ${entity} saved${entityVar} = this.${service}.save(${entityVar}Request.toEntity());
+                    return new ResponseEntity<>(${entity}Response.from(saved${entityVar}), HttpStatus.CREATED);
+                }
+
+            ${batchEndpoint}    /**
+                 * Updates an existing ${entity} entity.
+                 *
+                 * @param id The ID of the ${entityVar} to update.
+                 * @param ${entityVar}Request The new fields of the ${entity}, sent in the request body.
+                 * @return A ResponseEntity containing the updated ${entity} if found (HTTP status OK),
+                 * or HTTP status NOT_FOUND if the original ${entity} is not found.
+                 */
+                 @Operation(summary = "Update an existing ${entityVar}", description = "Updates an existing ${entityVar} with the provided details.")
+                 @ApiResponses(value = {
+                     @ApiResponse(responseCode = "200", description = "${entity} updated successfully",
+                         content = { @Content(mediaType = "application/json",
+                                 schema = @Schema(implementation = ${entity}Response.class)) }),
+                     @ApiResponse(responseCode = "404", description = "${entity} not found", content = @Content),
+                     @ApiResponse(responseCode = "400", description = "Invalid ${entityVar} details provided", content = @Content)
+                 })
+            ${timed}    @PutMapping("/{id}")
+                public ResponseEntity<${entity}Response> update${entity}(@PathVariable final Long id, @RequestBody final ${entity}Request ${entityVar}Request) {
+                    return this.${service}.update(id, ${entityVar}Request.toEntity())
+                            .map(updated${entity} -> ${updateResponse})
+                            .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                }
 
-                    /**
-                     * Creates a new %s entity.
-                     *
-                     * @param %s The %s object to create, sent in the request body.
-                     * @return A ResponseEntity containing the created %s and HTTP status CREATED.
-                     */
-                     @Operation(summary = "Create a new %s", description = "Creates a new %s with the provided details.")
-                     @ApiResponses(value = {
-                         @ApiResponse(responseCode = "201", description = "%s created successfully",
-                             content = { @Content(mediaType = "application/json",
-                                     schema = @Schema(implementation = %s.class)) }),
-                         @ApiResponse(responseCode = "400", description = "Invalid %s details provided", content = @Content)
-                     })
-                    @PostMapping
-                    public ResponseEntity<%s> create%s(@RequestBody final  %s %s) {
-                        final %s saved%s = this.%s.save(%s);
-                        return new ResponseEntity<>(saved%s, HttpStatus.CREATED);
+                /**
+                 * Deletes a ${entity} entity by its ID.
+                 *
+                 * @param id The ID of the ${entity} to delete.
+                 * @return A ResponseEntity with HTTP status NO_CONTENT if successful,
+                 * or HTTP status NOT_FOUND if the ${entity} does not exist.
+                 */
+                 @Operation(summary = "Delete a ${entityVar}", description = "Deletes a ${entityVar} by its ID.")
+                 @ApiResponses(value = {
+                     @ApiResponse(responseCode = "204", description = "${entity} deleted successfully", content = @Content),
+                     @ApiResponse(responseCode = "404", description = "${entity} not found", content = @Content)
+                 })
+            ${timed}    @DeleteMapping("/{id}")
+                public ResponseEntity<Void> delete${entity}(@PathVariable final Long id) {
+                    if (this.${service}.deleteById(id) > 0) {
+                        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                    } else {
+                        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
                     }
+                }
+            ${eTagMethod}}
+            """);
 
-                    /**
-                     * Updates an existing %s entity.
-                     *
-                     * @param id The ID of the %s to update.
-                     * @param %s The updated %s object, sent in the request body.
-                     * @return A ResponseEntity containing the updated %s if found (HTTP status OK),
-                     * or HTTP status NOT_FOUND if the original %s is not found.
-                     */
-                     @Operation(summary = "Update an existing %s", description = "Updates an existing %s with the provided details.")
-                     @ApiResponses(value = {
-                         @ApiResponse(responseCode = "200", description = "%s updated successfully",
-                             content = { @Content(mediaType = "application/json",
-                                     schema = @Schema(implementation = %s.class)) }),
-                         @ApiResponse(responseCode = "404", description = "%s not found", content = @Content),
-                         @ApiResponse(responseCode = "400", description = "Invalid %s details provided", content = @Content)
-                     })
-                    @PutMapping("/{id}")
-                    public ResponseEntity<%s> update%s(@PathVariable final Long id, @RequestBody final %s %s) {
-                        return this.%s.findById(id)
-                                .map(existing%s -> {
-                                    existing%s.setName(%s.getName());
-                                    existing%s.setDescription(%s.getDescription());
-                                    // Set other fields as needed for update
-                                    %s updated%s = this.%s.save(existing%s);
-                                    return new ResponseEntity<>(updated%s, HttpStatus.OK);
+    private static final Template SCROLL_TEMPLATE = Template.compile("""
+                /**
+                 * Retrieves the ${entitiesVar} that follow the given ID, ordered by ID (keyset pagination).
+                 * Each request is a single index range scan, so its cost does not grow with how far the
+                 * client has scrolled. If more results may follow, a Link header points to the next page.
+                 *
+                 * @param after The ID of the last ${entityVar} of the previous page (0 for the first page).
+                 * @param size The maximum number of ${entitiesVar} to return (capped at ${maxPageSize}).
+                 * @return A ResponseEntity containing the summaries of the next ${entitiesVar} and HTTP status OK.
+                 */
+                @Operation(summary = "Scroll through ${entitiesVar} by ID", description = "Fetches the ${entitiesVar} that follow the given ID, using keyset pagination.")
+                @ApiResponses(
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved the next ${entitiesVar}",
+                                content = { @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ${entity}Summary.class))
                                 })
-                                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                        )
+            ${timed}    @GetMapping("/scroll")
+                public ResponseEntity<List<${entity}Summary>> scroll${entities}(@RequestParam(defaultValue = "0") final Long after,
+                                                                         @RequestParam(defaultValue = "${defaultPageSize}") final int size) {
+                    final int limit = Math.max(1, Math.min(size, ${maxPageSize}));
+                    final List<${entity}Summary> ${entitiesVar} = this.${service}.findAfter(after, limit);
+                    final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (${entitiesVar}.size() == limit) {
+                        final Long lastId = ${entitiesVar}.get(${entitiesVar}.size() - 1).getId();
+                        response.header(HttpHeaders.LINK, "</api/${entitiesVar}/scroll?after=" + lastId + "&size=" + limit + ">; rel=\\"next\\"");
                     }
+                    return response.body(${entitiesVar});
+                }
+
+            """);
+
+    private static final Template BATCH_TEMPLATE = Template.compile("""
+                /**
+                 * Creates many ${entityVar} entities at once.
+                 * They are saved in one transaction and inserted in JDBC batches, which is much faster
+                 * than one POST per ${entityVar} for bulk loads.
+                 *
+                 * @param ${entityVar}Requests The fields of the ${entitiesVar} to create, sent in the request body as a JSON array.
+                 * @return A ResponseEntity containing the created ${entitiesVar} and HTTP status CREATED.
+                 */
+                 @Operation(summary = "Create many ${entitiesVar}", description = "Creates all given ${entitiesVar} in one batched transaction.")
+                 @ApiResponses(value = {
+                     @ApiResponse(responseCode = "201", description = "${entities} created successfully",
+                         content = { @Content(mediaType = "application/json",
+                                 schema = @Schema(implementation = ${entity}Response.class)) }),
+                     @ApiResponse(responseCode = "400", description = "Invalid ${entityVar} details provided", content = @Content)
+                 })
+            ${timed}    @PostMapping("/batch")
+                public ResponseEntity<List<${entity}Response>> create${entities}(@RequestBody final List<${entity}Request> ${entityVar}Requests) {
+                    final List<${entity}> saved${entities} = this.${service}.saveAll(${entityVar}Requests.stream().map(${entity}Request::toEntity).toList());
+                    return new ResponseEntity<>(saved${entities}.stream().map(${entity}Response::from).toList(), HttpStatus.CREATED);
+                }
+
+            """);
+
+    private static final Template REACTIVE_TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.controller;
+
+            import ${basePackage}.${modulePackage}.dto.${entity}Request;
+            import ${basePackage}.${modulePackage}.dto.${entity}Response;
+            import ${basePackage}.${modulePackage}.dto.${entity}Summary;
+            ${entityImport}import ${basePackage}.${modulePackage}.service.${entity}Service;
+            import io.swagger.v3.oas.annotations.Operation;
+            import io.swagger.v3.oas.annotations.media.Content;
+            import io.swagger.v3.oas.annotations.media.Schema;
+            import io.swagger.v3.oas.annotations.responses.ApiResponse;
+            import io.swagger.v3.oas.annotations.responses.ApiResponses;
+            import io.swagger.v3.oas.annotations.tags.Tag;
+            import org.springframework.data.domain.PageRequest;
+            import org.springframework.data.domain.Sort;
+            ${httpHeadersImport}import org.springframework.http.HttpStatus;
+            import org.springframework.http.ResponseEntity;
+            import org.springframework.web.bind.annotation.*;
+            import reactor.core.publisher.Flux;
+            import reactor.core.publisher.Mono;
+            ${listImport}
+            /**
+             * Reactive REST Controller for the ${entity} module.
+             * Handles incoming HTTP requests on the WebFlux event loop and interacts with the
+             * ${entity}Service to perform non-blocking operations on ${entity} entities. Requests and responses
+             * are records (${entity}Request, ${entity}Response, ${entity}Summary); the entity itself is never serialized.
+             */
+            @Tag(name = "${entity} Module", description = "Endpoints for managing ${entitiesVar}")
+            @RestController
+            @RequestMapping("/api/${entitiesVar}") // Base path for this module's API endpoints
+            public class ${entity}Controller {
+
+                private final ${entity}Service ${service};
+
+                /**
+                 * Constructs a new ${entity}Controller with the given ${entity}Service.
+                 * Spring automatically injects the ${entity}Service instance.
+                 *
+                 * @param ${service} The ${entity}Service to be used by this controller.
+                 */
+                public ${entity}Controller(final ${entity}Service ${service}) {
+                    this.${service} = ${service};
+                }
+
+                /**
+                 * Retrieves one page of ${entity} summaries, ordered by ID.
+                 * The page size is capped at ${maxPageSize}, and the summaries are streamed to the client as they are read.
+                 * Only the summary columns are read; use the endpoint by ID for all fields.
+                 *
+                 * @param page The zero-based page number.
+                 * @param size The page size (capped at ${maxPageSize}).
+                 * @return A Flux of the ${entity} summaries of the page.
+                 */
+                @Operation(summary = "Retrieve ${entitiesVar} page by page", description = "Fetches one page of ${entitiesVar} entities.")
+                @ApiResponses(
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of ${entitiesVar}",
+                                content = { @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ${entity}Summary.class))
+                                })
+                        )
+                @GetMapping
+                public Flux<${entity}Summary> getAll${entities}(@RequestParam(defaultValue = "0") final int page,
+                                                      @RequestParam(defaultValue = "${defaultPageSize}") final int size) {
+                    final PageRequest pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, ${maxPageSize})), Sort.by("id"));
+                    return this.${service}.findAll(pageable);
+                }
+
+            ${scrollEndpoint}    /**
+                 * Retrieves a single ${entity} entity by its ID.
+                 *
+                 * @param id The ID of the ${entity} to retrieve.
+                 * @return A Mono of a ResponseEntity containing the ${entity} if found (HTTP status OK),
+                 * or HTTP status NOT_FOUND if not found.
+                 */
+                 @Operation(summary = "Retrieve a ${entityVar} by ID", description = "Fetches the details of a specific ${entityVar} by its ID.")
+                 @ApiResponses(value = {
+                     @ApiResponse(responseCode = "200", description = "Found the ${entity}",
+                         content = { @Content(mediaType = "application/json",
+                                 schema = @Schema(implementation = ${entity}Response.class)) }),
+            ${notModifiedResponse}         @ApiResponse(responseCode = "404", description = "${entity} not found", content = @Content)
+                 })
+                @GetMapping("/{id}")
+                public Mono<ResponseEntity<${entity}Response>> get${entity}ById(@PathVariable final Long id) {
+                    return this.${service}.findById(id)
+                            .map(${entityVar} -> ${getResponse})
+                            .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                }
+
+                /**
+                 * Creates a new ${entityVar} entity.
+                 *
+                 * @param ${entityVar}Request The fields of the ${entity} to create, sent in the request body.
+                 * @return A Mono of a ResponseEntity containing the created ${entity} and HTTP status CREATED.
+                 */
+                 @Operation(summary = "Create a new ${entityVar}", description = "Creates a new ${entityVar} with the provided details.")
+                 @ApiResponses(value = {
+                     @ApiResponse(responseCode = "201", description = "${entity} created successfully",
+                         content = { @Content(mediaType = "application/json",
+                                 schema = @Schema(implementation = ${entity}Response.class)) }),
+                     @ApiResponse(responseCode = "400", description = "Invalid ${entityVar} details provided", content = @Content)
+                 })
+                @PostMapping
+                public Mono<ResponseEntity<${entity}Response>> create${entity}(@RequestBody final ${entity}Request ${entityVar}Request) {
+                    return this.${service}.save(${entityVar}Request.toEntity())
+                            .map(saved${entity} -> new ResponseEntity<>(${entity}Response.from(saved${entity}), HttpStatus.CREATED));
+                }
+
+                /**
+                 * Updates an existing ${entity} entity.
+                 *
+                 * @param id The ID of the ${entityVar} to update.
+                 * @param ${entityVar}Request The new fields of the ${entity}, sent in the request body.
+                 * @return A Mono of a ResponseEntity containing the updated ${entity} if found (HTTP status OK),
+                 * or HTTP status NOT_FOUND if the original ${entity} is not found.
+                 */
+                 @Operation(summary = "Update an existing ${entityVar}", description = "Updates an existing ${entityVar} with the provided details.")
+                 @ApiResponses(value = {
+                     @ApiResponse(responseCode = "200", description = "${entity} updated successfully",
+                         content = { @Content(mediaType = "application/json",
+                                 schema = @Schema(implementation = ${entity}Response.class)) }),
+                     @ApiResponse(responseCode = "404", description = "${entity} not found", content = @Content),
+                     @ApiResponse(responseCode = "400", description = "Invalid ${entityVar} details provided", content = @Content)
+                 })
+                @PutMapping("/{id}")
+                public Mono<ResponseEntity<${entity}Response>> update${entity}(@PathVariable final Long id, @RequestBody final ${entity}Request ${entityVar}Request) {
+                    return this.${service}.update(id, ${entityVar}Request.toEntity())
+                            .map(updated${entity} -> ${updateResponse})
+                            .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                }
+
+                /**
+                 * Deletes a ${entity} entity by its ID.
+                 *
+                 * @param id The ID of the ${entity} to delete.
+                 * @return A Mono of a ResponseEntity with HTTP status NO_CONTENT if successful,
+                 * or HTTP status NOT_FOUND if the ${entity} does not exist.
+                 */
+                 @Operation(summary = "Delete a ${entityVar}", description = "Deletes a ${entityVar} by its ID.")
+                 @ApiResponses(value = {
+                     @ApiResponse(responseCode = "204", description = "${entity} deleted successfully", content = @Content),
+                     @ApiResponse(responseCode = "404", description = "${entity} not found", content = @Content)
+                 })
+                @DeleteMapping("/{id}")
+                public Mono<ResponseEntity<Void>> delete${entity}(@PathVariable final Long id) {
+                    return this.${service}.deleteById(id)
+                            .map(deletedRows -> new ResponseEntity<Void>(deletedRows > 0 ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND));
+                }
+            ${eTagMethod}}
+            """);
+
+    private static final Template ETAG_TEMPLATE = Template.compile("""
 
-                    /**
-                     * Deletes a %s entity by its ID.
-                     *
-                     * @param id The ID of the %s to delete.
-                     * @return A ResponseEntity with HTTP status NO_CONTENT if successful,
-                     * or HTTP status NOT_FOUND if the %s does not exist.
-                     */
-                     @Operation(summary = "Delete a %s", description = "Deletes a %s by its ID.")
-                     @ApiResponses(value = {
-                         @ApiResponse(responseCode = "204", description = "%s deleted successfully", content = @Content),
-                         @ApiResponse(responseCode = "404", description = "%s not found", content = @Content)
-                     })
-                    @DeleteMapping("/{id}")
-                    public ResponseEntity<Void> delete%s(@PathVariable final Long id) {
-                        if (%s.findById(id).isPresent()) {
-                            this.%s.deleteById(id);
-                            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-                        } else {
-                            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-                        }
+                /**
+                 * Returns an OK response with the version of a ${entity} as its ETag and the last modification date
+                 * as Last-Modified. The ETag is weak, because a strong ETag promises the same bytes, which a
+                 * compressed response does not have. A header whose value is missing, as in a row inserted
+                 * without the application, is left out.
+                 * Spring answers a GET whose If-None-Match matches the ETag, or whose If-Modified-Since is not
+                 * older than the Last-Modified date, with 304 Not Modified, without writing the body.
+                 *
+                 * @param ${entityVar} The ${entity} to respond with.
+                 * @return The response builder, without a body.
+                 */
+                private static ResponseEntity.BodyBuilder okWithValidators(final ${entity} ${entityVar}) {
+                    final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (${entityVar}.getVersion() != null) {
+                        response.eTag("W/\\"" + ${entityVar}.getVersion() + "\\"");
+                    }
+                    if (${entityVar}.getLastModified() != null) {
+                        response.lastModified(${entityVar}.getLastModified());
                     }
+                    return response;
                 }
-                """.formatted(basePackage, camelCaseModuleName, // 1, 2
-                basePackage, camelCaseModuleName, pascalCaseModuleName, // 3, 4, 5
-                basePackage, camelCaseModuleName, pascalCaseModuleName, // 6, 7, 8
-                pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, // 9, 10, 11 (Class Javadoc)
-                pascalCaseModuleName, pluralCamelCaseModuleName, // (Swagger @Tag)
-                pluralCamelCaseModuleName, pascalCaseModuleName, // 12, 13 (RequestMapping and Class name)
-                pascalCaseModuleName, serviceVarName, // 14, 15 (private final)
-                pascalCaseModuleName, pascalCaseModuleName, // 16, 17 (Constructor Javadoc 1)
-                pascalCaseModuleName, // 18 (Constructor Javadoc 2)
-                serviceVarName, pascalCaseModuleName, // 19, 20 (Constructor Javadoc param)
-                pascalCaseModuleName, pascalCaseModuleName, serviceVarName, // 21, 22, 23 (Constructor method signature)
-                serviceVarName, serviceVarName, // 24, 25 (this.service = service)
-                pascalCaseModuleName, // 26 (getAll Javadoc 1)
-                pluralModuleName, // 27 (getAll Javadoc 2)
-                pluralCamelCaseModuleName, pluralCamelCaseModuleName, // (Swagger @Operation for getAll)
-                pluralCamelCaseModuleName, pascalCaseModuleName, // (@ApiResponse for getAll)
-                pascalCaseModuleName, pluralModuleName, // 28, 29 (getAll method signature)
-                pascalCaseModuleName, pluralCamelCaseModuleName, serviceVarName, // 30, 31, 32 (List<Product> products = productService.findAll();)
-                pluralCamelCaseModuleName, // 33 (return new ResponseEntity<>(products, HttpStatus.OK);)
-                pascalCaseModuleName, // 34 (getById Javadoc 1)
-                pascalCaseModuleName, // 35 (getById Javadoc 2)
-                pascalCaseModuleName, // 36 (getById Javadoc 3)
-                camelCaseModuleName, camelCaseModuleName, // (Swagger @Operation getById)
-                pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, // (@ApiResponse for getById)
-                pascalCaseModuleName, pascalCaseModuleName, // 37, 38 (getById method signature)
-                serviceVarName, // 39 (getById method body - findById)
-                camelCaseModuleName, camelCaseModuleName, // 40, 41 (getById method body - map lambda param and return)
-                camelCaseModuleName, // 42 (create Javadoc 1)
-                camelCaseModuleName, pascalCaseModuleName, // 43, 44 (create Javadoc param)
-                pascalCaseModuleName, // 45 (create Javadoc return)
-                camelCaseModuleName, camelCaseModuleName, // (Swagger @Operation create)
-                pascalCaseModuleName, pascalCaseModuleName, camelCaseModuleName, // (@ApiResponse for create)
-                pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, camelCaseModuleName, // 46, 47, 48, 49 (create method signature)
-                pascalCaseModuleName, camelCaseModuleName, serviceVarName, camelCaseModuleName, // 50, 51, 52, 53 (create method body - save)
-                camelCaseModuleName, // 54 (create method body - return)
-                pascalCaseModuleName, // 55 (update Javadoc 1)
-                camelCaseModuleName, // 56 (update Javadoc 2)
-                camelCaseModuleName, pascalCaseModuleName, // 57, 58 (update Javadoc param)
-                pascalCaseModuleName, // 59 (update Javadoc return 1)
-                pascalCaseModuleName, // 60 (update Javadoc return 2)
-                camelCaseModuleName, camelCaseModuleName, // (Swagger @Operation update)
-                pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, camelCaseModuleName, // (Swagger @Operation update)
-                pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, camelCaseModuleName, // 61, 62, 63, 64 (update method signature)
-                serviceVarName, // 65 (update method body - findById)
-                pascalCaseModuleName, // 66 (update method body - map lambda param)
-                pascalCaseModuleName, camelCaseModuleName, // 67, 68 (existing.setName)
-                pascalCaseModuleName, camelCaseModuleName, // 69, 70 (existing.setDescription)
-                pascalCaseModuleName, pascalCaseModuleName, serviceVarName, pascalCaseModuleName, // 71, 72, 73, 74 (save updated)
-                pascalCaseModuleName, // 75 (return updated)
-                pascalCaseModuleName, // 76 (delete Javadoc 1)
-                pascalCaseModuleName, // 77 (delete Javadoc 2)
-                pascalCaseModuleName, // 78 (delete Javadoc 3)
-                camelCaseModuleName, camelCaseModuleName, // (Swagger @Operation delete)
-                pascalCaseModuleName, pascalCaseModuleName, // (Swagger @Operation delete)
-                pascalCaseModuleName, // 79 (delete method signature)
-                serviceVarName, // 80 (delete method body - findById)
-                serviceVarName); // 81 (delete method body - deleteById)
+            """);
+
+    private static final Template REACTIVE_SCROLL_TEMPLATE = Template.compile("""
+                /**
+                 * Retrieves the ${entitiesVar} that follow the given ID, ordered by ID (keyset pagination).
+                 * Each request is a single index range scan, so its cost does not grow with how far the
+                 * client has scrolled. If more results may follow, a Link header points to the next page.
+                 *
+                 * @param after The ID of the last ${entityVar} of the previous page (0 for the first page).
+                 * @param size The maximum number of ${entitiesVar} to return (capped at ${maxPageSize}).
+                 * @return A Mono of a ResponseEntity containing the summaries of the next ${entitiesVar} and HTTP status OK.
+                 */
+                @Operation(summary = "Scroll through ${entitiesVar} by ID", description = "Fetches the ${entitiesVar} that follow the given ID, using keyset pagination.")
+                @ApiResponses(
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved the next ${entitiesVar}",
+                                content = { @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ${entity}Summary.class))
+                                })
+                        )
+                @GetMapping("/scroll")
+                public Mono<ResponseEntity<List<${entity}Summary>>> scroll${entities}(@RequestParam(defaultValue = "0") final Long after,
+                                                                               @RequestParam(defaultValue = "${defaultPageSize}") final int size) {
+                    final int limit = Math.max(1, Math.min(size, ${maxPageSize}));
+                    return this.${service}.findAfter(after, limit)
+                            .collectList()
+                            .map(${entitiesVar} -> {
+                                final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                                if (${entitiesVar}.size() == limit) {
+                                    final Long lastId = ${entitiesVar}.get(${entitiesVar}.size() - 1).getId();
+                                    response.header(HttpHeaders.LINK, "</api/${entitiesVar}/scroll?after=" + lastId + "&size=" + limit + ">; rel=\\"next\\"");
+                                }
+                                return response.body(${entitiesVar});
+                            });
+                }
+
+            """);
+
+    /**
+     * The default page size of list endpoints, unless the maximum page size is smaller.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * Generates the content for a Presentation layer Controller class.
+     * It includes basic REST endpoints for CRUD operations, which read request records and write
+     * response records, never the entity. The list endpoint returns one {@code Slice} of summary
+     * projections at a time instead of the whole table; with {@link Feature#KEYSET_PAGINATION}
+     * a {@code /scroll} endpoint pages by ID as well, and with {@link Feature#JDBC_BATCHING}
+     * a {@code POST /batch} endpoint creates a whole list of entities.
+     * With {@link Feature#OBSERVABILITY} every endpoint is {@code @Timed} with a percentile histogram.
+     * With {@link Feature#REACTIVE} it is a WebFlux controller returning {@code Mono} and {@code Flux}.
+     * Updates and deletes are each one service call in one transaction; a delete maps the
+     * deleted row count to NO_CONTENT or NOT_FOUND instead of checking for the entity first.
+     * With {@link Feature#HTTP_CACHING} a single entity is returned with its version as a weak ETag
+     * and its last modification date as Last-Modified.
+     *
+     * @param spec   The project specification.
+     * @param entity The entity and its fields.
+     * @return A string containing the Controller class content.
+     */
+    public static String generate(final ProjectSpec spec, final EntitySpec entity) {
+        final String pascalCaseEntityName = entity.name();
+        final String camelCaseEntityName = Character.toLowerCase(pascalCaseEntityName.charAt(0)) + pascalCaseEntityName.substring(1);
+        final boolean keyset = spec.hasFeature(Feature.KEYSET_PAGINATION);
+        final boolean batching = spec.hasFeature(Feature.JDBC_BATCHING);
+        final Map<String, String> values = new HashMap<>();
+        values.put("basePackage", spec.basePackage());
+        values.put("modulePackage", spec.modulePackage());
+        values.put("entity", pascalCaseEntityName);
+        values.put("entityVar", camelCaseEntityName);
+        values.put("entities", pascalCaseEntityName + "s");
+        values.put("entitiesVar", camelCaseEntityName + "s");
+        values.put("service", camelCaseEntityName + "Service");
+        values.put("maxPageSize", Integer.toString(spec.maxPageSize()));
+        values.put("defaultPageSize", Integer.toString(Math.min(DEFAULT_PAGE_SIZE, spec.maxPageSize())));
+        values.put("httpHeadersImport", keyset ? "import org.springframework.http.HttpHeaders;\n" : "");
+        values.put("listImport", keyset || batching ? "\nimport java.util.List;\n" : "");
+        // WebFlux already times every endpoint as http.server.requests; the aspect could not time a Mono
+        final boolean timed = spec.hasFeature(Feature.OBSERVABILITY) && !spec.isReactive();
+        values.put("timedImport", timed ? "import io.micrometer.core.annotation.Timed;\n" : "");
+        values.put("timed", timed ? "    @Timed(value = \"" + ApplicationConfigGenerator.metricPrefix(spec) + ".controller\", histogram = true)\n" : "");
+        final boolean validators = spec.hasFeature(Feature.HTTP_CACHING);
+        values.put("getResponse", okResponse(pascalCaseEntityName, camelCaseEntityName, validators));
+        values.put("updateResponse", okResponse(pascalCaseEntityName, "updated" + pascalCaseEntityName, validators));
+        values.put("notModifiedResponse", validators
+                ? "         @ApiResponse(responseCode = \"304\", description = \"" + pascalCaseEntityName + " not modified since the ETag or date of the request\", content = @Content),\n"
+                : "");
+        values.put("eTagMethod", validators ? ETAG_TEMPLATE.render(values) : "");
+        if (spec.isReactive()) {
+            values.put("entityImport", validators ? "import " + spec.basePackage() + "." + spec.modulePackage() + ".entity." + pascalCaseEntityName + ";\n" : "");
+            values.put("scrollEndpoint", keyset ? REACTIVE_SCROLL_TEMPLATE.render(values) : "");
+            return REACTIVE_TEMPLATE.render(values);
+        }
+        values.put("scrollEndpoint", keyset ? SCROLL_TEMPLATE.render(values) : "");
+        values.put("batchEndpoint", batching ? BATCH_TEMPLATE.render(values) : "");
+        return TEMPLATE.render(values);
+    }
+
+    /**
+     * Returns the expression of an OK response with the given entity, with its ETag and Last-Modified
+     * headers if {@code validators} is true.
+     */
+    private static String okResponse(final String entity, final String entityVar, final boolean validators) {
+        if (validators) {
+            return "okWithValidators(" + entityVar + ").body(" + entity + "Response.from(" + entityVar + "))";
+        }
+        return "new ResponseEntity<>(" + entity + "Response.from(" + entityVar + "), HttpStatus.OK)";
     }
-}
\ No newline at end of file
+}
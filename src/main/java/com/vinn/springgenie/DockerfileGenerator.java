@@ -0,0 +1,65 @@
+package com.vinn.springgenie;
+
+import java.util.Map;
+
+/**
+ * A helper class to generate the content for the `Dockerfile` of a project
+ * generated with {@link Feature#APP_CDS}.
+ * The image keeps the dependencies and the application classes in separate layers
+ * and starts the JVM with an AppCDS archive recorded during the image build.
+ */
+public class DockerfileGenerator {
+
+    private static final Template TEMPLATE = Template.compile("""
+            # Build the application first (${buildCommand}), then: docker build -t ${projectName} .
+
+            FROM eclipse-temurin:${javaVersion}-jdk AS builder
+            WORKDIR /builder
+            COPY ${jarPath} application.jar
+            # Unpack the executable jar into plain dependency jars and a jar of the application classes:
+            # CDS only archives classes that the JDK's own class loaders load from jar files
+            RUN mkdir unpacked && cd unpacked && jar -xf ../application.jar \\
+                && mv BOOT-INF/lib ../lib \\
+                && jar -cf ../app.jar -C BOOT-INF/classes .
+
+            FROM eclipse-temurin:${javaVersion}-jre
+            WORKDIR /application
+            # The dependencies change less often than the application, so they get a layer of their own
+            COPY --from=builder /builder/lib lib
+            COPY --from=builder /builder/app.jar app.jar
+            # Training run: start the application context, exit once it is refreshed, and record every
+            # loaded class in a CDS archive. It does not connect to the database.
+            RUN java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh ${trainingProperties} \\
+                -cp "app.jar:lib/*" ${mainClass}
+            EXPOSE 8080
+            ENTRYPOINT ["java", "-XX:SharedArchiveFile=app.jsa", "-cp", "app.jar:lib/*", "${mainClass}"]
+            """);
+
+    /**
+     * Generates the `Dockerfile` content.
+     * The executable jar is taken from the build output of the selected build tool, and the base
+     * images match the project's Java version.
+     *
+     * @param spec The project specification.
+     * @return A string containing the `Dockerfile` content.
+     */
+    public static String generate(final ProjectSpec spec) {
+        final String trainingProperties;
+        if (spec.isReactive()) {
+            trainingProperties = "-Dspring.sql.init.mode=never";
+        } else {
+            // Without JDBC metadata, Hibernate takes the configured dialect instead of asking the database
+            trainingProperties = "-Dspring.jpa.hibernate.ddl-auto=none \\\n"
+                    + "    -Dspring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false"
+                    + (spec.hasFeature(Feature.FLYWAY) ? " \\\n    -Dspring.flyway.enabled=false" : "");
+        }
+
+        return TEMPLATE.render(Map.of(
+                "projectName", spec.projectName(),
+                "buildCommand", spec.isGradle() ? "./gradlew bootJar" : "mvn package",
+                "jarPath", spec.isGradle() ? "build/libs/" + spec.projectName() + ".jar" : "target/" + spec.projectName() + "-0.0.1-SNAPSHOT.jar",
+                "javaVersion", Integer.toString(spec.javaVersion()),
+                "trainingProperties", trainingProperties,
+                "mainClass", spec.basePackage() + "." + spec.modulePackage() + ".Application"));
+    }
+}
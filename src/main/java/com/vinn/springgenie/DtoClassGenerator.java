@@ -0,0 +1,151 @@
+package com.vinn.springgenie;
+
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A helper class to generate the content for the request and response records of an entity.
+ * The controllers exchange these records instead of the entity itself, so the API does not
+ * depend on the persistence mapping and the entity never reaches the JSON serializer.
+ */
+public class DtoClassGenerator {
+
+    private static final Template REQUEST_TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.dto;
+
+            import ${basePackage}.${modulePackage}.entity.${entity};
+            ${imports}
+            /**
+             * The request body to create or update a ${entity}.
+             * It carries the fields a client may write; the ID is assigned by the database.
+             *
+            ${componentDocs} */
+            public record ${entity}Request(${components}) {
+
+                /**
+                 * Creates a new, unsaved ${entity} entity from this request.
+                 *
+                 * @return A ${entity} without an ID.
+                 */
+                public ${entity} toEntity() {
+                    return new ${entity}(${fieldNames});
+                }
+            }
+            """);
+
+    private static final Template RESPONSE_TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.dto;
+
+            import ${basePackage}.${modulePackage}.entity.${entity};
+            ${imports}
+            /**
+             * The response body of a single ${entity}, with all of its fields.
+             *
+             * @param id The ID of the ${entity}.
+            ${componentDocs} */
+            public record ${entity}Response(Long id, ${components}) {
+
+                /**
+                 * Creates the response of a ${entity} entity.
+                 *
+                 * @param ${entityVar} The ${entity} entity.
+                 * @return The response with the entity's ID and fields.
+                 */
+                public static ${entity}Response from(final ${entity} ${entityVar}) {
+                    return new ${entity}Response(${entityVar}.getId(), ${getters});
+                }
+            }
+            """);
+
+    /**
+     * Generates the content for the request record of an entity.
+     * It has one component per field and maps itself to a new entity with {@code toEntity()}.
+     *
+     * @param spec   The project specification.
+     * @param entity The entity and its fields.
+     * @return A string containing the request record content.
+     */
+    public static String generateRequest(final ProjectSpec spec, final EntitySpec entity) {
+        final StringBuilder fieldNames = new StringBuilder();
+        for (final FieldSpec field : entity.fields()) {
+            if (fieldNames.length() > 0) {
+                fieldNames.append(", ");
+            }
+            fieldNames.append(field.name());
+        }
+        return REQUEST_TEMPLATE.render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage(),
+                "entity", entity.name(),
+                "imports", imports(entity),
+                "componentDocs", componentDocs(entity),
+                "components", components(entity),
+                "fieldNames", fieldNames.toString()));
+    }
+
+    /**
+     * Generates the content for the response record of an entity.
+     * It has the ID and one component per field, and is created from an entity with {@code from(entity)}.
+     *
+     * @param spec   The project specification.
+     * @param entity The entity and its fields.
+     * @return A string containing the response record content.
+     */
+    public static String generateResponse(final ProjectSpec spec, final EntitySpec entity) {
+        final String entityVar = Character.toLowerCase(entity.name().charAt(0)) + entity.name().substring(1);
+        final StringBuilder getters = new StringBuilder();
+        for (final FieldSpec field : entity.fields()) {
+            if (getters.length() > 0) {
+                getters.append(", ");
+            }
+            getters.append(entityVar).append(".get").append(field.capitalizedName()).append("()");
+        }
+        return RESPONSE_TEMPLATE.render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage(),
+                "entity", entity.name(),
+                "entityVar", entityVar,
+                "imports", imports(entity),
+                "componentDocs", componentDocs(entity),
+                "components", components(entity),
+                "getters", getters.toString()));
+    }
+
+    private static String imports(final EntitySpec entity) {
+        final TreeSet<String> javaImports = new TreeSet<>();
+        for (final FieldSpec field : entity.fields()) {
+            final String typeImport = FieldSpec.SUPPORTED_TYPES.get(field.type());
+            if (!typeImport.isEmpty()) {
+                javaImports.add(typeImport);
+            }
+        }
+        final StringBuilder imports = new StringBuilder();
+        if (!javaImports.isEmpty()) {
+            imports.append('\n');
+            for (final String javaImport : javaImports) {
+                imports.append("import ").append(javaImport).append(";\n");
+            }
+        }
+        return imports.toString();
+    }
+
+    private static String componentDocs(final EntitySpec entity) {
+        final StringBuilder componentDocs = new StringBuilder();
+        for (final FieldSpec field : entity.fields()) {
+            componentDocs.append(" * @param ").append(field.name()).append(" The ").append(field.name())
+                    .append(" of the ").append(entity.name()).append(".\n");
+        }
+        return componentDocs.toString();
+    }
+
+    private static String components(final EntitySpec entity) {
+        final StringBuilder components = new StringBuilder();
+        for (final FieldSpec field : entity.fields()) {
+            if (components.length() > 0) {
+                components.append(", ");
+            }
+            components.append(field.type()).append(' ').append(field.name());
+        }
+        return components.toString();
+    }
+}
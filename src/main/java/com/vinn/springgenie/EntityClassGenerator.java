@@ -1,63 +1,257 @@
 package com.vinn.springgenie;
 
+import java.util.Map;
+import java.util.TreeSet;
+
 /**
  * A helper class to generate the content for a JPA Entity class.
  * This class represents a table in the database and defines its structure.
  */
 public class EntityClassGenerator {
 
+    private static final Template TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.entity;
+
+            ${imports}
+            /**
+             * Represents the ${entity} entity in the database.
+             * This class is mapped to a database table and defines the schema for ${entity} data.
+             */
+            @Entity
+            ${table}
+            @Data // Lombok: Generates getters, setters, toString, equals, and hashCode methods
+            @NoArgsConstructor // Lombok: Generates a no-argument constructor
+            @AllArgsConstructor // Lombok: Generates a constructor with all fields
+            public class ${entity} {
+
+                @Id
+            ${idGeneration}    private Long id;
+            ${fields}
+                // Additional fields can be added here based on specific requirements
+
+                /**
+                 * Constructor for creating a new ${entity} without an ID (for persistence).
+                 *
+            ${constructorDocs}     */
+                public ${entity}(${constructorParameters}) {
+            ${constructorBody}    }
+            }
+            """);
+
+    private static final Template REACTIVE_TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.entity;
+
+            ${imports}
+            /**
+             * Represents the ${entity} entity in the database.
+             * This class is mapped to the ${table} table by Spring Data R2DBC; the table is created by schema.sql.
+             */
+            @Table("${table}")
+            @Data // Lombok: Generates getters, setters, toString, equals, and hashCode methods
+            @NoArgsConstructor // Lombok: Generates a no-argument constructor
+            @AllArgsConstructor // Lombok: Generates a constructor with all fields
+            public class ${entity} {
+
+                @Id
+                private Long id;
+            ${fields}
+                // Additional fields can be added here based on specific requirements
+
+                /**
+                 * Constructor for creating a new ${entity} without an ID (for persistence).
+                 *
+            ${constructorDocs}     */
+                public ${entity}(${constructorParameters}) {
+            ${constructorBody}    }
+            }
+            """);
+
     /**
      * Generates the content for a JPA Entity class.
-     * It includes basic ID, name, and description fields,
-     * along with Lombok annotations for boilerplate code (getters, setters, constructors).
+     * It includes a generated ID and the entity's fields, each mapped with a {@code @Column}
+     * carrying its nullability and length. Unique fields get a named unique constraint and
+     * indexed fields a named index in {@code @Table}, so lookups by those columns do not scan
+     * the table. Lombok annotations cover the boilerplate code (getters, setters, constructors).
+     * IDs come from an identity column, except with {@link Feature#JDBC_BATCHING} on databases
+     * with sequences: there a pooled sequence hands out {@link ProjectSpec#JDBC_BATCH_SIZE} IDs
+     * per call, because identity IDs force Hibernate to send every insert on its own.
+     * With {@link Feature#REACTIVE} the class is a Spring Data R2DBC entity instead; its
+     * constraints and indexes are declared in the schema (see {@link SchemaSqlGenerator}).
+     * With {@link Feature#HTTP_CACHING} the entity gets a {@code @Version} and a {@code @LastModifiedDate}
+     * maintained by Spring Data auditing, which the controller sends as ETag and Last-Modified.
      *
-     * @param basePackage          The base package of the application.
-     * @param pascalCaseModuleName The module name in PascalCase (e.g., "Product").
+     * @param spec   The project specification.
+     * @param entity The entity and its fields.
      * @return A string containing the Entity class content.
      */
-    public static String generate(final String basePackage, final String pascalCaseModuleName) {
-        final String camelCaseModuleName = Character.toLowerCase(pascalCaseModuleName.charAt(0)) + pascalCaseModuleName.substring(1);
-        return """
-                package %s.%s.entity;
-
-                import jakarta.persistence.Entity;
-                import jakarta.persistence.GeneratedValue;
-                import jakarta.persistence.GenerationType;
-                import jakarta.persistence.Id;
-                import lombok.AllArgsConstructor;
-                import lombok.Data;
-                import lombok.NoArgsConstructor;
+    public static String generate(final ProjectSpec spec, final EntitySpec entity) {
+        final String tableName = entity.tableName();
+        final StringBuilder fields = new StringBuilder(entity.fields().size() * 96);
+        final StringBuilder constructorDocs = new StringBuilder();
+        final StringBuilder constructorParameters = new StringBuilder();
+        final StringBuilder constructorBody = new StringBuilder();
+        final StringBuilder indexes = new StringBuilder();
+        final StringBuilder uniqueConstraints = new StringBuilder();
+        final TreeSet<String> javaImports = new TreeSet<>();
 
-                /**
-                 * Represents the %s entity in the database.
-                 * This class is mapped to a database table and defines the schema for %s data.
-                 */
-                @Entity
-                @Data // Lombok: Generates getters, setters, toString, equals, and hashCode methods
-                @NoArgsConstructor // Lombok: Generates a no-argument constructor
-                @AllArgsConstructor // Lombok: Generates a constructor with all fields
-                public class %s {
-
-                    @Id
-                    @GeneratedValue(strategy = GenerationType.IDENTITY)
-                    private Long id;
-
-                    private String name;
-                    private String description;
-
-                    // Additional fields can be added here based on specific requirements
-
-                    /**
-                     * Constructor for creating a new %s without an ID (for persistence).
-                     *
-                     * @param name The name of the %s.
-                     * @param description A brief description of the %s.
-                     */
-                    public %s(String name, String description) {
-                        this.name = name;
-                        this.description = description;
-                    }
-                }
-                """.formatted(basePackage, camelCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName);
+        final boolean reactive = spec.isReactive();
+        for (final FieldSpec field : entity.fields()) {
+            if (reactive) {
+                fields.append("\n    @Column(\"").append(field.columnName()).append("\")\n    private ")
+                        .append(field.type()).append(' ').append(field.name()).append(";\n");
+            } else {
+                appendJpaField(fields, field);
+            }
+
+            constructorDocs.append("     * @param ").append(field.name()).append(" The ").append(field.name())
+                    .append(" of the ").append(entity.name()).append(".\n");
+            if (constructorParameters.length() > 0) {
+                constructorParameters.append(", ");
+            }
+            constructorParameters.append(field.type()).append(' ').append(field.name());
+            constructorBody.append("        this.").append(field.name()).append(" = ").append(field.name()).append(";\n");
+
+            if (field.unique()) {
+                uniqueConstraints.append(uniqueConstraints.length() > 0 ? ",\n" : "")
+                        .append("                @UniqueConstraint(name = \"uk_").append(tableName).append('_').append(field.columnName())
+                        .append("\", columnNames = \"").append(field.columnName()).append("\")");
+            } else if (field.indexed()) {
+                indexes.append(indexes.length() > 0 ? ",\n" : "")
+                        .append("                @Index(name = \"idx_").append(tableName).append('_').append(field.columnName())
+                        .append("\", columnList = \"").append(field.columnName()).append("\")");
+            }
+            final String typeImport = FieldSpec.SUPPORTED_TYPES.get(field.type());
+            if (!typeImport.isEmpty()) {
+                javaImports.add(typeImport);
+            }
+        }
+
+        final boolean validators = spec.hasFeature(Feature.HTTP_CACHING);
+        if (validators) {
+            javaImports.add("java.time.Instant");
+        }
+
+        if (reactive) {
+            if (validators) {
+                fields.append("\n    @Version // Incremented by Spring Data on every update; sent as the ETag of the ").append(entity.name()).append("\n")
+                        .append("    private Long version;\n")
+                        .append("\n    @LastModifiedDate // Set by Spring Data auditing on every insert and update; sent as Last-Modified\n")
+                        .append("    @Column(\"last_modified\")\n")
+                        .append("    private Instant lastModified;\n");
+            }
+            final StringBuilder imports = new StringBuilder();
+            imports.append("import lombok.AllArgsConstructor;\n")
+                    .append("import lombok.Data;\n")
+                    .append("import lombok.NoArgsConstructor;\n")
+                    .append("import org.springframework.data.annotation.Id;\n");
+            if (validators) {
+                imports.append("import org.springframework.data.annotation.LastModifiedDate;\n")
+                        .append("import org.springframework.data.annotation.Version;\n");
+            }
+            imports.append("import org.springframework.data.relational.core.mapping.Column;\n")
+                    .append("import org.springframework.data.relational.core.mapping.Table;\n");
+            appendJavaImports(imports, javaImports);
+            return REACTIVE_TEMPLATE.render(Map.of(
+                    "basePackage", spec.basePackage(),
+                    "modulePackage", spec.modulePackage(),
+                    "entity", entity.name(),
+                    "imports", imports.toString(),
+                    "table", tableName,
+                    "fields", fields.toString(),
+                    "constructorDocs", constructorDocs.toString(),
+                    "constructorParameters", constructorParameters.toString(),
+                    "constructorBody", constructorBody.toString()));
+        }
+
+        final boolean sequenceIds = spec.usesSequenceIds();
+        final String idGeneration;
+        if (sequenceIds) {
+            final String sequenceName = tableName + "_seq";
+            idGeneration = "    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = \"" + sequenceName + "\")\n"
+                    + "    @SequenceGenerator(name = \"" + sequenceName + "\", sequenceName = \"" + sequenceName
+                    + "\", allocationSize = " + ProjectSpec.JDBC_BATCH_SIZE + ")\n";
+        } else {
+            idGeneration = "    @GeneratedValue(strategy = GenerationType.IDENTITY)\n";
+        }
+
+        final StringBuilder table = new StringBuilder("@Table(name = \"").append(tableName).append('"');
+        if (indexes.length() > 0) {
+            table.append(",\n        indexes = {\n").append(indexes).append("\n        }");
+        }
+        if (uniqueConstraints.length() > 0) {
+            table.append(",\n        uniqueConstraints = {\n").append(uniqueConstraints).append("\n        }");
+        }
+        table.append(')');
+        if (validators) {
+            fields.append("\n    @Version // Incremented by Hibernate on every update; sent as the ETag of the ").append(entity.name()).append("\n")
+                    .append("    private Long version;\n")
+                    .append("\n    @LastModifiedDate // Set by Spring Data auditing on every insert and update; sent as Last-Modified\n")
+                    .append("    @Column(name = \"last_modified\", nullable = false)\n")
+                    .append("    private Instant lastModified;\n");
+            table.append("\n@EntityListeners(AuditingEntityListener.class)");
+        }
+
+        final StringBuilder imports = new StringBuilder();
+        imports.append("import jakarta.persistence.Column;\n")
+                .append("import jakarta.persistence.Entity;\n");
+        if (validators) {
+            imports.append("import jakarta.persistence.EntityListeners;\n");
+        }
+        imports.append("import jakarta.persistence.GeneratedValue;\n")
+                .append("import jakarta.persistence.GenerationType;\n")
+                .append("import jakarta.persistence.Id;\n");
+        if (indexes.length() > 0) {
+            imports.append("import jakarta.persistence.Index;\n");
+        }
+        if (sequenceIds) {
+            imports.append("import jakarta.persistence.SequenceGenerator;\n");
+        }
+        imports.append("import jakarta.persistence.Table;\n");
+        if (uniqueConstraints.length() > 0) {
+            imports.append("import jakarta.persistence.UniqueConstraint;\n");
+        }
+        if (validators) {
+            imports.append("import jakarta.persistence.Version;\n");
+        }
+        imports.append("import lombok.AllArgsConstructor;\n")
+                .append("import lombok.Data;\n")
+                .append("import lombok.NoArgsConstructor;\n");
+        if (validators) {
+            imports.append("import org.springframework.data.annotation.LastModifiedDate;\n")
+                    .append("import org.springframework.data.jpa.domain.support.AuditingEntityListener;\n");
+        }
+        appendJavaImports(imports, javaImports);
+
+        return TEMPLATE.render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage(),
+                "entity", entity.name(),
+                "imports", imports.toString(),
+                "table", table.toString(),
+                "idGeneration", idGeneration,
+                "fields", fields.toString(),
+                "constructorDocs", constructorDocs.toString(),
+                "constructorParameters", constructorParameters.toString(),
+                "constructorBody", constructorBody.toString()));
+    }
+
+    private static void appendJpaField(final StringBuilder fields, final FieldSpec field) {
+        fields.append("\n    @Column(name = \"").append(field.columnName()).append('"');
+        if (!field.nullable()) {
+            fields.append(", nullable = false");
+        }
+        if (field.length() > 0) {
+            fields.append(", length = ").append(field.length());
+        }
+        fields.append(")\n    private ").append(field.type()).append(' ').append(field.name()).append(";\n");
+    }
+
+    private static void appendJavaImports(final StringBuilder imports, final TreeSet<String> javaImports) {
+        if (!javaImports.isEmpty()) {
+            imports.append('\n');
+            for (final String javaImport : javaImports) {
+                imports.append("import ").append(javaImport).append(";\n");
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package com.vinn.springgenie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable description of a single entity to generate: its name and its persistent fields.
+ * The {@code id} primary key is always generated and is not part of {@code fields}.
+ *
+ * @param name   The entity name in PascalCase (e.g., "Product").
+ * @param fields The persistent fields, in declaration order.
+ */
+public record EntitySpec(String name, List<FieldSpec> fields) {
+
+    public EntitySpec {
+        fields = List.copyOf(fields);
+    }
+
+    /**
+     * Creates an entity with the default fields ({@link FieldSpec#DEFAULT_FIELDS}).
+     *
+     * @param name The entity name in PascalCase.
+     * @return A new {@code EntitySpec}.
+     */
+    public static EntitySpec withDefaultFields(final String name) {
+        return new EntitySpec(name, FieldSpec.parseList(FieldSpec.DEFAULT_FIELDS));
+    }
+
+    /**
+     * Returns the database table name of the entity (e.g., "invoice_line" for "InvoiceLine"),
+     * matching Spring Boot's default physical naming strategy.
+     *
+     * @return The table name in snake_case.
+     */
+    public String tableName() {
+        return FieldSpec.toSnakeCase(name);
+    }
+
+    /**
+     * Returns the fields that are looked up by value, i.e., the unique and the indexed fields.
+     * The repository gets a finder method for each of them.
+     *
+     * @return The indexed fields, in declaration order.
+     */
+    public List<FieldSpec> indexedFields() {
+        final List<FieldSpec> indexedFields = new ArrayList<>();
+        for (final FieldSpec field : fields) {
+            if (field.unique() || field.indexed()) {
+                indexedFields.add(field);
+            }
+        }
+        return indexedFields;
+    }
+
+    /**
+     * Returns the fields that list endpoints return besides the ID: the unique, indexed and required fields.
+     * Optional fields that are not looked up (e.g., a description) are only returned for a single entity.
+     * If no field qualifies, all fields are listed.
+     *
+     * @return The summary fields, in declaration order.
+     */
+    public List<FieldSpec> summaryFields() {
+        final List<FieldSpec> summaryFields = new ArrayList<>();
+        for (final FieldSpec field : fields) {
+            if (field.unique() || field.indexed() || !field.nullable()) {
+                summaryFields.add(field);
+            }
+        }
+        return summaryFields.isEmpty() ? fields : summaryFields;
+    }
+
+    /**
+     * Formats the fields in the notation accepted by {@link FieldSpec#parseList(String)}.
+     *
+     * @return The comma-separated field definitions.
+     */
+    public String fieldDefinitions() {
+        final List<String> definitions = new ArrayList<>(fields.size());
+        for (final FieldSpec field : fields) {
+            definitions.add(field.toDefinition());
+        }
+        return String.join(",", definitions);
+    }
+}
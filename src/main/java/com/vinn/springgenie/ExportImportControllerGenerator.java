@@ -0,0 +1,398 @@
+package com.vinn.springgenie;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A helper class to generate the content for the export and import controllers of a project
+ * generated with {@link Feature#EXPORT_IMPORT}, and for the CSV reader and writer they share.
+ * Both endpoints stream: neither the exported rows nor the imported ones are ever held in a list.
+ */
+public class ExportImportControllerGenerator {
+
+    private static final Template TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.controller;
+
+            import ${basePackage}.${modulePackage}.dto.${entity}Request;
+            import ${basePackage}.${modulePackage}.dto.${entity}Response;
+            import ${basePackage}.${modulePackage}.entity.${entity};
+            import ${basePackage}.${modulePackage}.service.${entity}Service;
+            import com.fasterxml.jackson.core.JsonProcessingException;
+            import com.fasterxml.jackson.databind.ObjectMapper;
+            ${timedImport}import io.swagger.v3.oas.annotations.Operation;
+            import io.swagger.v3.oas.annotations.Parameter;
+            import io.swagger.v3.oas.annotations.media.Content;
+            import io.swagger.v3.oas.annotations.responses.ApiResponse;
+            import io.swagger.v3.oas.annotations.responses.ApiResponses;
+            import io.swagger.v3.oas.annotations.tags.Tag;
+            import org.springframework.http.ContentDisposition;
+            import org.springframework.http.HttpHeaders;
+            import org.springframework.http.HttpStatus;
+            import org.springframework.http.MediaType;
+            import org.springframework.http.ResponseEntity;
+            import org.springframework.web.bind.annotation.*;
+            import org.springframework.web.server.ResponseStatusException;
+            import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+            ${javaImports}
+
+            /**
+             * REST Controller for the bulk export and import of ${entity} entities, as NDJSON (one JSON
+             * ${entity}Response or ${entity}Request per line) or as CSV with a header line.
+             * Both directions stream: the export writes each row as it is read from a database cursor, and the
+             * import parses and saves one row at a time, so memory does not grow with the number of ${entitiesVar}.
+             */
+            @Tag(name = "${entity} Module", description = "Endpoints for managing ${entitiesVar}")
+            @RestController
+            @RequestMapping("/api/${entitiesVar}") // Base path for this module's API endpoints
+            public class ${entity}ExportImportController {
+
+                private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+                private static final List<String> CSV_HEADER = List.of(${csvHeader});
+
+                private final ${entity}Service ${service};
+
+                private final ObjectMapper objectMapper;
+
+                /**
+                 * Constructs a new ${entity}ExportImportController with the given ${entity}Service and ObjectMapper.
+                 * Spring automatically injects both instances.
+                 *
+                 * @param ${service} The ${entity}Service to be used by this controller.
+                 * @param objectMapper The ObjectMapper that reads and writes the NDJSON lines.
+                 */
+                public ${entity}ExportImportController(final ${entity}Service ${service}, final ObjectMapper objectMapper) {
+                    this.${service} = ${service};
+                    this.objectMapper = objectMapper;
+                }
+
+                /**
+                 * Exports all ${entitiesVar}, ordered by ID.
+                 * The body is written after this method returns, on an MVC async thread, while the service
+                 * reads the rows in a read-only transaction; spring.mvc.async.request-timeout bounds its duration.
+                 *
+                 * @param format The format of the export: ndjson (the default) or csv.
+                 * @return A ResponseEntity that streams the ${entitiesVar} as an attachment.
+                 */
+                @Operation(summary = "Export all ${entitiesVar}", description = "Streams all ${entitiesVar} as NDJSON or CSV.")
+                @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "${entities} exported",
+                        content = { @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv") }),
+                    @ApiResponse(responseCode = "400", description = "Unsupported format", content = @Content)
+                })
+                @GetMapping("/export")
+                public ResponseEntity<StreamingResponseBody> export${entities}(
+                        @Parameter(description = "ndjson or csv") @RequestParam(defaultValue = "ndjson") final String format) {
+                    final boolean csv = "csv".equals(format);
+                    if (!csv && !"ndjson".equals(format)) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported format: " + format);
+                    }
+                    final StreamingResponseBody body = outputStream -> {
+                        final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                        if (csv) {
+                            writer.write(Csv.line(CSV_HEADER.toArray()));
+                        }
+                        this.${service}.exportAll(${entityVar} -> {
+                            try {
+                                writer.write(csv ? toCsv(${entityVar}) : this.objectMapper.writeValueAsString(${entityVar}) + "\\n");
+                            } catch (final IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                        writer.flush();
+                    };
+                    return ResponseEntity.ok()
+                            .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("${entitiesVar}." + format).build().toString())
+                            .body(body);
+                }
+
+                /**
+                 * Imports ${entitiesVar} from the request body, in the format of its Content-Type.
+                 * CSV must start with the header of the export; the IDs of the rows are ignored, since new
+                 * ${entitiesVar} get their IDs from the database. The import is one transaction: if a row
+                 * is invalid, none of the ${entitiesVar} are saved.
+                 *
+                 * @param contentType The Content-Type of the request: application/x-ndjson or text/csv.
+                 * @param body The request body, read as it arrives.
+                 * @return A ResponseEntity containing the number of imported ${entitiesVar} and HTTP status OK.
+                 * @throws IOException If the request body cannot be read.
+                 */
+                @Operation(summary = "Import ${entitiesVar}", description = "Creates a ${entityVar} for every NDJSON line or CSV row of the request body.")
+                @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "${entities} imported", content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Invalid line or row", content = @Content)
+                })
+            ${timed}    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+                public ResponseEntity<Map<String, Long>> import${entities}(@RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+                                                                     final InputStream body) throws IOException {
+                    final BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+                    final Stream<${entity}Request> requests;
+                    if (MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)) {
+                        final List<String> header = Csv.read(reader);
+                        if (!CSV_HEADER.equals(header)) {
+                            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The first CSV line must be " + String.join(",", CSV_HEADER));
+                        }
+                        requests = Csv.records(reader).map(${entity}ExportImportController::fromCsv);
+                    } else {
+                        requests = reader.lines().filter(line -> !line.isBlank()).map(this::fromJson);
+                    }
+                    final Iterator<${entity}> ${entitiesVar} = requests.map(${entity}Request::toEntity).iterator();
+                    return ResponseEntity.ok(Map.of("imported", this.${service}.importAll(${entitiesVar})));
+                }
+
+                private ${entity}Request fromJson(final String line) {
+                    try {
+                        return this.objectMapper.readValue(line, ${entity}Request.class);
+                    } catch (final JsonProcessingException e) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid NDJSON line: " + e.getOriginalMessage(), e);
+                    }
+                }
+
+                private static String toCsv(final ${entity}Response ${entityVar}) {
+                    return Csv.line(${entityVar}.id(), ${csvValues});
+                }
+
+                private static ${entity}Request fromCsv(final List<String> values) {
+                    if (values.size() != CSV_HEADER.size()) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Expected " + CSV_HEADER.size() + " CSV values, got " + values.size());
+                    }
+                    try {
+                        // values.get(0) is the exported ID
+                        return new ${entity}Request(
+                                ${csvParsers});
+                    } catch (final IllegalArgumentException | DateTimeException e) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid CSV value: " + e.getMessage(), e);
+                    }
+                }
+            }
+            """);
+
+    private static final Template CSV_TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.controller;
+
+            import org.springframework.http.HttpStatus;
+            import org.springframework.web.server.ResponseStatusException;
+
+            import java.io.BufferedReader;
+            import java.io.IOException;
+            import java.io.UncheckedIOException;
+            import java.util.ArrayList;
+            import java.util.List;
+            import java.util.Objects;
+            import java.util.function.Function;
+            import java.util.stream.Stream;
+
+            /**
+             * Writes and reads the CSV records (RFC 4180) of the export and import endpoints.
+             * A value that contains a comma, a quote or a line break is quoted, and an empty value stands for null.
+             */
+            final class Csv {
+
+                private Csv() {
+                }
+
+                /**
+                 * Returns the CSV line of the given values.
+                 *
+                 * @param values The values; null is written as an empty value.
+                 * @return The line, ending with a line break.
+                 */
+                static String line(final Object... values) {
+                    final StringBuilder line = new StringBuilder();
+                    for (int i = 0; i < values.length; i++) {
+                        if (i > 0) {
+                            line.append(',');
+                        }
+                        if (values[i] != null) {
+                            final String value = values[i].toString();
+                            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\\n') >= 0 || value.indexOf('\\r') >= 0) {
+                                line.append('"').append(value.replace("\\"", "\\"\\"")).append('"');
+                            } else {
+                                line.append(value);
+                            }
+                        }
+                    }
+                    return line.append('\\n').toString();
+                }
+
+                /**
+                 * Reads the next record. It spans several lines if a quoted value contains line breaks.
+                 *
+                 * @param reader The reader of the CSV input.
+                 * @return The values of the record, or null at the end of the input.
+                 * @throws IOException If the input cannot be read.
+                 */
+                static List<String> read(final BufferedReader reader) throws IOException {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        return null;
+                    }
+                    final List<String> values = new ArrayList<>();
+                    final StringBuilder value = new StringBuilder();
+                    boolean quoted = false;
+                    int i = 0;
+                    while (quoted || i < line.length()) {
+                        if (i == line.length()) {
+                            line = reader.readLine();
+                            if (line == null) {
+                                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unterminated quoted CSV value");
+                            }
+                            value.append('\\n');
+                            i = 0;
+                            continue;
+                        }
+                        final char c = line.charAt(i++);
+                        if (quoted) {
+                            if (c != '"') {
+                                value.append(c);
+                            } else if (i < line.length() && line.charAt(i) == '"') {
+                                value.append('"');
+                                i++;
+                            } else {
+                                quoted = false;
+                            }
+                        } else if (c == '"') {
+                            quoted = true;
+                        } else if (c == ',') {
+                            values.add(value.toString());
+                            value.setLength(0);
+                        } else {
+                            value.append(c);
+                        }
+                    }
+                    values.add(value.toString());
+                    return values;
+                }
+
+                /**
+                 * Returns the remaining records, read lazily as the stream is consumed.
+                 *
+                 * @param reader The reader of the CSV input.
+                 * @return The records.
+                 */
+                static Stream<List<String>> records(final BufferedReader reader) {
+                    return Stream.iterate(next(reader), Objects::nonNull, previous -> next(reader));
+                }
+
+                /**
+                 * Parses a value.
+                 *
+                 * @param value  The value.
+                 * @param parser Parses a non-empty value.
+                 * @param <T>    The type of the value.
+                 * @return The parsed value, or null if the value is empty.
+                 */
+                static <T> T parse(final String value, final Function<String, T> parser) {
+                    return value.isEmpty() ? null : parser.apply(value);
+                }
+
+                private static List<String> next(final BufferedReader reader) {
+                    try {
+                        return read(reader);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+            """);
+
+    /**
+     * The functions that parse a CSV value of each supported field type.
+     */
+    private static final Map<String, String> CSV_PARSERS = Map.ofEntries(
+            Map.entry("String", "Function.identity()"),
+            Map.entry("Integer", "Integer::valueOf"),
+            Map.entry("Long", "Long::valueOf"),
+            Map.entry("Double", "Double::valueOf"),
+            Map.entry("Float", "Float::valueOf"),
+            Map.entry("Boolean", "Boolean::valueOf"),
+            Map.entry("BigDecimal", "BigDecimal::new"),
+            Map.entry("LocalDate", "LocalDate::parse"),
+            Map.entry("LocalDateTime", "LocalDateTime::parse"),
+            Map.entry("Instant", "Instant::parse"),
+            Map.entry("UUID", "UUID::fromString"));
+
+    /**
+     * Generates the content for the export and import controller of an entity.
+     * {@code GET /export} streams the {@code Stream} of the service to the response as it is read,
+     * and {@code POST /import} hands the service an iterator over the lazily parsed request body,
+     * which the service saves in flushed and cleared batches of {@link ProjectSpec#JDBC_BATCH_SIZE}.
+     * The CSV columns are the ID and the entity's fields, in their declared order.
+     *
+     * @param spec   The project specification.
+     * @param entity The entity and its fields.
+     * @return A string containing the export and import controller class content.
+     */
+    public static String generate(final ProjectSpec spec, final EntitySpec entity) {
+        final String pascalCaseEntityName = entity.name();
+        final String camelCaseEntityName = Character.toLowerCase(pascalCaseEntityName.charAt(0)) + pascalCaseEntityName.substring(1);
+        final TreeSet<String> javaImports = new TreeSet<>(List.of(
+                "java.io.BufferedReader", "java.io.BufferedWriter", "java.io.IOException", "java.io.InputStream",
+                "java.io.InputStreamReader", "java.io.OutputStreamWriter", "java.io.UncheckedIOException", "java.io.Writer",
+                "java.nio.charset.StandardCharsets", "java.time.DateTimeException", "java.util.Iterator", "java.util.List",
+                "java.util.Map", "java.util.stream.Stream"));
+        final StringBuilder csvHeader = new StringBuilder("\"id\"");
+        final StringBuilder csvValues = new StringBuilder();
+        final StringBuilder csvParsers = new StringBuilder();
+        int column = 1;
+        for (final FieldSpec field : entity.fields()) {
+            csvHeader.append(", \"").append(field.name()).append('"');
+            if (csvValues.length() > 0) {
+                csvValues.append(", ");
+            }
+            csvValues.append(camelCaseEntityName).append('.').append(field.name()).append("()");
+            if (csvParsers.length() > 0) {
+                csvParsers.append(",\n                    ");
+            }
+            csvParsers.append("Csv.parse(values.get(").append(column++).append("), ").append(CSV_PARSERS.get(field.type())).append(')');
+            final String typeImport = FieldSpec.SUPPORTED_TYPES.get(field.type());
+            if (!typeImport.isEmpty()) {
+                javaImports.add(typeImport);
+            }
+            if (field.type().equals("String")) {
+                javaImports.add("java.util.function.Function");
+            }
+        }
+
+        final StringBuilder imports = new StringBuilder();
+        for (final String javaImport : javaImports) {
+            imports.append("import ").append(javaImport).append(";\n");
+        }
+
+        final Map<String, String> values = new HashMap<>();
+        values.put("basePackage", spec.basePackage());
+        values.put("modulePackage", spec.modulePackage());
+        values.put("entity", pascalCaseEntityName);
+        values.put("entityVar", camelCaseEntityName);
+        values.put("entities", pascalCaseEntityName + "s");
+        values.put("entitiesVar", camelCaseEntityName + "s");
+        values.put("service", camelCaseEntityName + "Service");
+        values.put("javaImports", imports.toString().stripTrailing());
+        values.put("csvHeader", csvHeader.toString());
+        values.put("csvValues", csvValues.toString());
+        values.put("csvParsers", csvParsers.toString());
+        // Only the import is timed: the export method returns before its body is written, which
+        // http.server.requests measures instead
+        final boolean timed = spec.hasFeature(Feature.OBSERVABILITY);
+        values.put("timedImport", timed ? "import io.micrometer.core.annotation.Timed;\n" : "");
+        values.put("timed", timed ? "    @Timed(value = \"" + ApplicationConfigGenerator.metricPrefix(spec) + ".controller\", histogram = true)\n" : "");
+        return TEMPLATE.render(values);
+    }
+
+    /**
+     * Generates the content for the package-private CSV reader and writer of the controllers.
+     *
+     * @param spec The project specification.
+     * @return A string containing the CSV class content.
+     */
+    public static String generateCsv(final ProjectSpec spec) {
+        return CSV_TEMPLATE.render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage()));
+    }
+}
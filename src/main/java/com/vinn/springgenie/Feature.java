@@ -0,0 +1,193 @@
+package com.vinn.springgenie;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The optional features a generated project can be given on top of the basic three-layer structure.
+ * Features are selected by name as a comma-separated list (e.g., "keyset-pagination").
+ */
+public enum Feature {
+
+    /**
+     * Adds a {@code /scroll} endpoint that pages by ID ({@code WHERE id > ?}) instead of by offset.
+     */
+    KEYSET_PAGINATION("keyset-pagination", "scroll endpoints that page by ID instead of by offset"),
+
+    /**
+     * Switches IDs to a pooled sequence (except on MySQL), turns on Hibernate's JDBC batching and
+     * adds a {@code POST /batch} endpoint that saves a list of entities in one transaction.
+     */
+    JDBC_BATCHING("jdbc-batching", "sequence IDs, batched inserts and updates, and bulk POST /batch endpoints"),
+
+    /**
+     * Sizes the HikariCP pool, enables the JDBC driver's statement caching and batch rewriting
+     * (MySQL and PostgreSQL) and turns SQL logging off.
+     */
+    PRODUCTION_TUNING("production-tuning", "HikariCP pool sizing, driver statement caching, no SQL logging"),
+
+    /**
+     * Caches entities by ID in a size- and age-bounded Caffeine cache per entity, and publishes
+     * the hit and miss counts through actuator.
+     */
+    CACHING("caching", "Caffeine caches of entities by ID, with hit/miss metrics"),
+
+    /**
+     * Targets Java 21 and serves requests on virtual threads, with a connection pool sized for them.
+     */
+    VIRTUAL_THREADS("virtual-threads", "Java 21 and virtual threads for request handling"),
+
+    /**
+     * Generates a non-blocking stack instead of Spring MVC and JPA: WebFlux controllers,
+     * {@code Mono}/{@code Flux} services and R2DBC repositories, with the schema in {@code schema.sql}.
+     */
+    REACTIVE("reactive", "WebFlux controllers, Mono/Flux services and R2DBC repositories instead of MVC and JPA"),
+
+    /**
+     * Adds the GraalVM native build tools (a {@code native} Maven profile or the Gradle plugin), which run
+     * Spring's AOT processing, and a configuration class with the runtime hints of the generated types.
+     */
+    NATIVE_IMAGE("native-image", "GraalVM native executable built with Spring AOT, with reflection hints"),
+
+    /**
+     * Adds a {@code Dockerfile} that layers the dependencies apart from the application and starts the
+     * JVM with an AppCDS archive recorded in a training run during the image build.
+     */
+    APP_CDS("app-cds", "Dockerfile with layered dependencies and an AppCDS archive for faster JVM startup"),
+
+    /**
+     * Adds actuator with a Prometheus registry, times every controller and service method with
+     * percentile histograms, and publishes connection pool and Hibernate statistics.
+     */
+    OBSERVABILITY("observability", "Prometheus metrics with latency histograms per endpoint and service method"),
+
+    /**
+     * Adds a {@code loadtest} source set with a program that starts the application on an in-memory H2
+     * database and sends requests to the CRUD endpoints at a fixed rate from virtual threads (on Java 21),
+     * recording the latency percentiles with HdrHistogram.
+     */
+    LOAD_TEST("load-test", "load test of the CRUD endpoints at a fixed request rate, with latency percentiles"),
+
+    /**
+     * Compresses responses and enables HTTP/2, and gives every entity a version and a last modification
+     * date that the detail endpoints send as {@code ETag} and {@code Last-Modified}, so that conditional
+     * GETs are answered with 304 Not Modified.
+     */
+    HTTP_CACHING("http-caching", "response compression, HTTP/2, and ETag/Last-Modified validators with 304 Not Modified"),
+
+    /**
+     * Adds {@code GET /export}, which streams all rows as NDJSON or CSV from a database cursor, and
+     * {@code POST /import}, which reads NDJSON or CSV incrementally and saves it in flushed batches.
+     */
+    EXPORT_IMPORT("export-import", "streaming NDJSON/CSV export and batched import endpoints with constant memory"),
+
+    /**
+     * Creates the schema with versioned Flyway migrations, one per entity with its table, ID sequence
+     * and indexes, and has Hibernate validate the schema instead of updating it on every start.
+     */
+    FLYWAY("flyway", "versioned Flyway SQL migrations per entity instead of Hibernate's ddl-auto=update"),
+
+    /**
+     * Shortens the startup of the application: a compile-time index of the components replaces the
+     * classpath scan, JPA repositories bootstrap in the background, lazy initialization can be turned on,
+     * and the {@code prod} profile leaves out springdoc. The startup steps are reported by the actuator.
+     */
+    FAST_STARTUP("fast-startup", "component index, deferred JPA bootstrap, opt-in lazy init, no springdoc in prod, and a startup report");
+
+    /**
+     * The features that rely on JPA, JDBC or blocking request threads, and so cannot be combined with {@link #REACTIVE}.
+     */
+    private static final Set<Feature> BLOCKING_ONLY = EnumSet.of(JDBC_BATCHING, CACHING, VIRTUAL_THREADS, EXPORT_IMPORT, FLYWAY);
+
+    private final String id;
+    private final String description;
+
+    Feature(final String id, final String description) {
+        this.id = id;
+        this.description = description;
+    }
+
+    /**
+     * Returns the name used to select the feature.
+     *
+     * @return The feature name (e.g., "keyset-pagination").
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * Returns a short description of what the feature adds to a generated project.
+     *
+     * @return The description.
+     */
+    public String description() {
+        return description;
+    }
+
+    /**
+     * Parses a comma-separated list of feature names.
+     *
+     * @param value The feature names (e.g., "keyset-pagination"); blank entries are ignored.
+     * @return The selected features.
+     * @throws IllegalArgumentException If a name does not match any feature.
+     */
+    public static Set<Feature> parseList(final String value) {
+        final Set<Feature> features = EnumSet.noneOf(Feature.class);
+        for (final String rawName : value.split(",")) {
+            final String name = rawName.trim();
+            if (!name.isEmpty()) {
+                features.add(fromId(name));
+            }
+        }
+        return features;
+    }
+
+    /**
+     * Formats features as the comma-separated list accepted by {@link #parseList(String)}.
+     *
+     * @param features The features to format.
+     * @return The feature names in declaration order.
+     */
+    public static String toList(final Set<Feature> features) {
+        final List<String> names = new ArrayList<>(features.size());
+        for (final Feature feature : values()) {
+            if (features.contains(feature)) {
+                names.add(feature.id);
+            }
+        }
+        return String.join(",", names);
+    }
+
+    /**
+     * Checks that the given features can be generated together.
+     *
+     * @param features The selected features.
+     * @throws IllegalArgumentException If {@link #REACTIVE} is combined with a feature of the blocking stack.
+     */
+    public static void checkCompatible(final Set<Feature> features) {
+        if (!features.contains(REACTIVE)) {
+            return;
+        }
+        for (final Feature feature : BLOCKING_ONLY) {
+            if (features.contains(feature)) {
+                throw new IllegalArgumentException("Feature '" + feature.id + "' cannot be combined with '" + REACTIVE.id + "'");
+            }
+        }
+    }
+
+    private static Feature fromId(final String name) {
+        for (final Feature feature : values()) {
+            if (feature.id.equalsIgnoreCase(name) || feature.name().equalsIgnoreCase(name)) {
+                return feature;
+            }
+        }
+        final List<String> names = new ArrayList<>();
+        for (final Feature feature : values()) {
+            names.add(feature.id);
+        }
+        throw new IllegalArgumentException("Unknown feature '" + name + "' (available: " + String.join(", ", names) + ")");
+    }
+}
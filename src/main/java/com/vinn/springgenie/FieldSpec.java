@@ -0,0 +1,207 @@
+package com.vinn.springgenie;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An immutable description of a single persistent field of a generated entity.
+ *
+ * Fields are written as {@code name:Type[:option...]}, with these options:
+ * <ul>
+ *     <li>{@code required} - the column is {@code NOT NULL}.</li>
+ *     <li>{@code unique} - the column gets a unique constraint (and therefore an index).</li>
+ *     <li>{@code indexed} - the column gets a non-unique index.</li>
+ *     <li>{@code length=N} - the column length of a {@code String} field.</li>
+ * </ul>
+ * For example: {@code sku:String:required:unique:length=64}.
+ *
+ * @param name     The field name in camelCase (e.g., "unitPrice").
+ * @param type     The simple Java type name (e.g., "BigDecimal"); one of {@link #SUPPORTED_TYPES}.
+ * @param nullable True if the column accepts null values.
+ * @param unique   True if the column values must be unique.
+ * @param indexed  True if the column is indexed.
+ * @param length   The column length, or 0 to use the JPA default (only used for {@code String}).
+ */
+public record FieldSpec(String name, String type, boolean nullable, boolean unique, boolean indexed, int length) {
+
+    /**
+     * The supported field types, mapped to the import they need (empty for {@code java.lang} types).
+     */
+    public static final Map<String, String> SUPPORTED_TYPES = Map.ofEntries(
+            Map.entry("String", ""),
+            Map.entry("Integer", ""),
+            Map.entry("Long", ""),
+            Map.entry("Double", ""),
+            Map.entry("Float", ""),
+            Map.entry("Boolean", ""),
+            Map.entry("BigDecimal", "java.math.BigDecimal"),
+            Map.entry("LocalDate", "java.time.LocalDate"),
+            Map.entry("LocalDateTime", "java.time.LocalDateTime"),
+            Map.entry("Instant", "java.time.Instant"),
+            Map.entry("UUID", "java.util.UUID"));
+
+    /**
+     * The fields an entity gets when none are specified: an indexed name and a description.
+     */
+    public static final String DEFAULT_FIELDS = "name:String:indexed,description:String";
+
+    /**
+     * Parses a comma-separated list of field definitions.
+     *
+     * @param value The field definitions (e.g., "sku:String:unique, price:BigDecimal:required").
+     * @return The parsed fields, in the given order.
+     * @throws IllegalArgumentException If a definition is invalid, a field is listed twice, or no field is given.
+     */
+    public static List<FieldSpec> parseList(final String value) {
+        final List<FieldSpec> fields = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        for (final String definition : value.split(",")) {
+            if (definition.trim().isEmpty()) {
+                continue;
+            }
+            final FieldSpec field = parse(definition.trim());
+            if (!names.add(field.name())) {
+                throw new IllegalArgumentException("Field listed more than once: " + field.name());
+            }
+            fields.add(field);
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("An entity needs at least one field");
+        }
+        return fields;
+    }
+
+    /**
+     * Parses a single field definition.
+     *
+     * @param definition The field definition (e.g., "sku:String:required:unique:length=64").
+     * @return The parsed field.
+     * @throws IllegalArgumentException If the definition is invalid.
+     */
+    public static FieldSpec parse(final String definition) {
+        final String[] parts = definition.split(":");
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Invalid field '" + definition + "' (expected name:Type[:required][:unique][:indexed][:length=N])");
+        }
+        final String name = parts[0].trim();
+        if (!isJavaIdentifier(name) || name.equals("id")) {
+            throw new IllegalArgumentException("Invalid field name '" + name + "'");
+        }
+        final String type = canonicalType(parts[1].trim());
+
+        boolean nullable = true;
+        boolean unique = false;
+        boolean indexed = false;
+        int length = 0;
+        for (int i = 2; i < parts.length; i++) {
+            final String option = parts[i].trim().toLowerCase();
+            if (option.equals("required")) {
+                nullable = false;
+            } else if (option.equals("unique")) {
+                unique = true;
+            } else if (option.equals("indexed")) {
+                indexed = true;
+            } else if (option.startsWith("length=") && type.equals("String")) {
+                try {
+                    length = Integer.parseInt(option.substring("length=".length()));
+                } catch (NumberFormatException e) {
+                    length = -1;
+                }
+                if (length <= 0) {
+                    throw new IllegalArgumentException("Invalid length in field '" + definition + "'");
+                }
+            } else if (!option.isEmpty()) {
+                throw new IllegalArgumentException("Unknown option '" + parts[i].trim() + "' in field '" + definition + "'");
+            }
+        }
+        return new FieldSpec(name, type, nullable, unique, indexed, length);
+    }
+
+    /**
+     * Formats the field in the same notation {@link #parse(String)} accepts.
+     *
+     * @return The field definition.
+     */
+    public String toDefinition() {
+        final StringBuilder definition = new StringBuilder(name).append(':').append(type);
+        if (!nullable) {
+            definition.append(":required");
+        }
+        if (unique) {
+            definition.append(":unique");
+        }
+        if (indexed) {
+            definition.append(":indexed");
+        }
+        if (length > 0) {
+            definition.append(":length=").append(length);
+        }
+        return definition.toString();
+    }
+
+    /**
+     * Returns the database column name of the field (e.g., "unit_price" for "unitPrice"),
+     * matching Spring Boot's default physical naming strategy.
+     *
+     * @return The column name in snake_case.
+     */
+    public String columnName() {
+        return toSnakeCase(name);
+    }
+
+    /**
+     * Returns the field name with its first letter in upper case, as used in accessor and finder names.
+     *
+     * @return The capitalized field name (e.g., "UnitPrice").
+     */
+    public String capitalizedName() {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Converts a camelCase or PascalCase name to snake_case (e.g., "InvoiceLine" -> "invoice_line").
+     *
+     * @param name The name to convert.
+     * @return The name in snake_case.
+     */
+    static String toSnakeCase(final String name) {
+        final StringBuilder snakeCase = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) {
+                    snakeCase.append('_');
+                }
+                snakeCase.append(Character.toLowerCase(c));
+            } else {
+                snakeCase.append(c);
+            }
+        }
+        return snakeCase.toString();
+    }
+
+    private static String canonicalType(final String type) {
+        for (final String supportedType : SUPPORTED_TYPES.keySet()) {
+            if (supportedType.equalsIgnoreCase(type)) {
+                return supportedType;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported field type '" + type + "' (supported: " + String.join(", ", new TreeSet<>(SUPPORTED_TYPES.keySet())) + ")");
+    }
+
+    private static boolean isJavaIdentifier(final String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.vinn.springgenie;
+
+/**
+ * A single rendered output file, held in memory until it is written.
+ *
+ * @param relativePath The path of the file relative to the project root, using '/' as separator.
+ * @param content      The rendered file content.
+ */
+public record GeneratedFile(String relativePath, String content) {
+
+    /**
+     * Returns the file name without its directory.
+     *
+     * @return The last segment of {@link #relativePath()}.
+     */
+    public String fileName() {
+        return relativePath.substring(relativePath.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.vinn.springgenie;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A helper class that creates the executors used for concurrent generation.
+ * Generation mostly waits on file I/O, so a thread per task is the best fit:
+ * on Java 21+ a virtual-thread-per-task executor is used; on older runtimes
+ * it falls back to a bounded platform thread pool.
+ */
+public class GenerationExecutors {
+
+    /**
+     * Creates a new executor for generation tasks.
+     * The caller is responsible for shutting it down.
+     *
+     * @return A virtual-thread-per-task executor when available, otherwise a fixed thread pool.
+     */
+    public static ExecutorService newGenerationExecutor() {
+        try {
+            // Looked up reflectively so the tool still runs on Java 17.
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            final int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                final Thread thread = new Thread(runnable, "springgenie-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.vinn.springgenie;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * The {@code .springgenie/manifest} file stored in every generated project.
+ * It records the input parameters of the last run and, for every generated file,
+ * the SHA-256 hash of the generated content together with the size and modification
+ * time the file had right after it was written. Size and modification time let a
+ * rerun recognize untouched files without reading them.
+ *
+ * The manifest is a properties file whose entries are written in sorted order,
+ * so rendering the same manifest twice produces identical bytes.
+ */
+public class GenerationManifest {
+
+    /**
+     * The location of the manifest, relative to the project root.
+     */
+    public static final String RELATIVE_PATH = ".springgenie/manifest";
+
+    private static final String INPUT_PREFIX = "input.";
+    private static final String FILE_PREFIX = "file.";
+
+    /**
+     * The recorded state of a generated file.
+     *
+     * @param hash         The SHA-256 hash (hex) of the content that was generated.
+     * @param size         The file size in bytes right after it was written.
+     * @param lastModified The file modification time in milliseconds right after it was written.
+     */
+    public record Entry(String hash, long size, long lastModified) {
+    }
+
+    private final Map<String, String> inputs = new TreeMap<>();
+    private final Map<String, Entry> files = new TreeMap<>();
+    private String loadedContent = "";
+
+    /**
+     * Loads the manifest of a project, or returns an empty manifest if there is none.
+     *
+     * @param projectRoot The project root directory.
+     * @return The loaded manifest.
+     * @throws IOException If the manifest exists but cannot be read.
+     */
+    public static GenerationManifest load(final Path projectRoot) throws IOException {
+        final GenerationManifest manifest = new GenerationManifest();
+        final Path manifestPath = projectRoot.resolve(RELATIVE_PATH);
+        if (Files.notExists(manifestPath)) {
+            return manifest;
+        }
+
+        manifest.loadedContent = Files.readString(manifestPath, StandardCharsets.UTF_8);
+        final Properties properties = new Properties();
+        properties.load(new StringReader(manifest.loadedContent));
+        for (final String name : properties.stringPropertyNames()) {
+            final String value = properties.getProperty(name);
+            if (name.startsWith(INPUT_PREFIX)) {
+                manifest.inputs.put(name.substring(INPUT_PREFIX.length()), value);
+            } else if (name.startsWith(FILE_PREFIX)) {
+                final String[] parts = value.trim().split("\\s+");
+                if (parts.length == 3) {
+                    manifest.files.put(name.substring(FILE_PREFIX.length()),
+                            new Entry(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+                }
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Returns the recorded input parameters.
+     *
+     * @return A sorted, modifiable map of input parameters.
+     */
+    public Map<String, String> inputs() {
+        return inputs;
+    }
+
+    /**
+     * Returns the recorded file entries keyed by project-relative path.
+     *
+     * @return A sorted, modifiable map of file entries.
+     */
+    public Map<String, Entry> files() {
+        return files;
+    }
+
+    /**
+     * Renders the manifest file content.
+     *
+     * @return The manifest content.
+     */
+    public String render() {
+        final StringBuilder content = new StringBuilder(128 + files.size() * 128);
+        content.append("# Spring Genie generation manifest. Used to regenerate this project incrementally; do not edit.\n");
+        for (final Map.Entry<String, String> input : inputs.entrySet()) {
+            appendProperty(content, INPUT_PREFIX + input.getKey(), input.getValue());
+        }
+        for (final Map.Entry<String, Entry> file : files.entrySet()) {
+            final Entry entry = file.getValue();
+            appendProperty(content, FILE_PREFIX + file.getKey(), entry.hash() + " " + entry.size() + " " + entry.lastModified());
+        }
+        return content.toString();
+    }
+
+    /**
+     * Returns true if the rendered manifest differs from the content the given manifest was loaded from.
+     * Every manifest differs from one that was not loaded from disk.
+     *
+     * @param previous The manifest loaded before this one was built.
+     * @return True if the manifest needs to be written.
+     */
+    public boolean differsFrom(final GenerationManifest previous) {
+        return !render().equals(previous.loadedContent);
+    }
+
+    /**
+     * Computes the SHA-256 hash of the given bytes.
+     *
+     * @param bytes The bytes to hash.
+     * @return The hash as a lowercase hex string.
+     */
+    public static String sha256(final byte[] bytes) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            final StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (final byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void appendProperty(final StringBuilder content, final String key, final String value) {
+        appendEscaped(content, key, true);
+        content.append('=');
+        appendEscaped(content, value, false);
+        content.append('\n');
+    }
+
+    /**
+     * Escapes a key or value the same way {@link Properties#store} does, so
+     * {@link Properties#load(java.io.Reader)} reads it back unchanged.
+     */
+    private static void appendEscaped(final StringBuilder content, final String text, final boolean isKey) {
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    content.append("\\\\");
+                    break;
+                case '\n':
+                    content.append("\\n");
+                    break;
+                case '\r':
+                    content.append("\\r");
+                    break;
+                case '\t':
+                    content.append("\\t");
+                    break;
+                case '\f':
+                    content.append("\\f");
+                    break;
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    content.append('\\').append(c);
+                    break;
+                case ' ':
+                    content.append(isKey || i == 0 ? "\\ " : " ");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        content.append("\\u").append(String.format("%04x", (int) c));
+                    } else {
+                        content.append(c);
+                    }
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.vinn.springgenie;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-stage timing and allocation figures for a generation run, so it is visible where
+ * the time goes (e.g., rendering a particular class, creating directories or writing files).
+ *
+ * A stage is measured with a {@link Span}: its wall time, the number of bytes and files it
+ * handled and, where the JVM supports it, the bytes allocated by the measuring thread.
+ * Every span is also emitted as a {@link GenerationStageEvent}, which JDK Flight Recorder
+ * records when a recording enables it.
+ *
+ * {@link #DISABLED} measures nothing and costs nothing beyond a field check, so instrumented
+ * code can always take a metrics instance.
+ */
+public class GenerationMetrics {
+
+    /**
+     * A metrics instance that records nothing.
+     */
+    public static final GenerationMetrics DISABLED = new GenerationMetrics(false);
+
+    private static final Span NO_SPAN = new Span(null, null, 0, 0, null);
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+    private final boolean enabled;
+    private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+
+    private GenerationMetrics(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Creates a metrics instance that records every stage.
+     *
+     * @return A new, empty metrics instance.
+     */
+    public static GenerationMetrics create() {
+        return new GenerationMetrics(true);
+    }
+
+    /**
+     * Returns true if this instance records stages.
+     *
+     * @return True unless this is {@link #DISABLED}.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts measuring a stage on the current thread. Close the returned span when the stage ends.
+     *
+     * @param stage The stage name (e.g., "render.ControllerClassGenerator").
+     * @return The running span.
+     */
+    public Span start(final String stage) {
+        if (!enabled) {
+            return NO_SPAN;
+        }
+        final GenerationStageEvent event = new GenerationStageEvent();
+        event.begin();
+        return new Span(stages.computeIfAbsent(stage, name -> new Stage()), event,
+                System.nanoTime(), currentThreadAllocatedBytes(), stage);
+    }
+
+    /**
+     * Renders the collected figures as a JSON report.
+     *
+     * @param totalWallNanos The wall time of the whole run, in nanoseconds.
+     * @return The JSON report.
+     */
+    public String toJson(final long totalWallNanos) {
+        final Map<String, Stage> sortedStages = new TreeMap<>(stages);
+        long bytesRendered = 0;
+        long bytesWritten = 0;
+        long filesRendered = 0;
+        long filesWritten = 0;
+        long allocatedBytes = 0;
+        for (final Map.Entry<String, Stage> entry : sortedStages.entrySet()) {
+            final Stage stage = entry.getValue();
+            if (entry.getKey().startsWith("render.")) {
+                bytesRendered += stage.bytes.sum();
+                filesRendered += stage.files.sum();
+            } else if (entry.getKey().startsWith("write.")) {
+                bytesWritten += stage.bytes.sum();
+                filesWritten += stage.files.sum();
+            }
+            allocatedBytes += stage.allocatedBytes.sum();
+        }
+
+        final StringBuilder json = new StringBuilder(256 + sortedStages.size() * 128);
+        json.append(String.format(Locale.ROOT,
+                "{\n  \"totalWallMillis\": %.3f,\n  \"filesRendered\": %d,\n  \"bytesRendered\": %d,"
+                        + "\n  \"filesWritten\": %d,\n  \"bytesWritten\": %d,\n  \"allocatedBytes\": %d,"
+                        + "\n  \"allocationTracking\": %b,\n  \"stages\": {",
+                totalWallNanos / 1_000_000.0, filesRendered, bytesRendered, filesWritten, bytesWritten,
+                allocatedBytes, ALLOCATION_BEAN != null));
+        boolean first = true;
+        for (final Map.Entry<String, Stage> entry : sortedStages.entrySet()) {
+            final Stage stage = entry.getValue();
+            json.append(first ? "\n    " : ",\n    ").append(Json.quote(entry.getKey()));
+            json.append(String.format(Locale.ROOT,
+                    ": {\"count\": %d, \"wallMillis\": %.3f, \"bytes\": %d, \"files\": %d, \"allocatedBytes\": %d}",
+                    stage.count.sum(), stage.wallNanos.sum() / 1_000_000.0, stage.bytes.sum(), stage.files.sum(),
+                    stage.allocatedBytes.sum()));
+            first = false;
+        }
+        return json.append(first ? "}\n}\n" : "\n  }\n}\n").toString();
+    }
+
+    /**
+     * Returns the number of bytes the given text takes up in UTF-8, without encoding it.
+     *
+     * @param text The text to measure.
+     * @return The UTF-8 length in bytes.
+     */
+    public static long utf8Length(final String text) {
+        long length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c >= 0x800) {
+                length += Character.isSurrogate(c) ? 1 : 2; // A surrogate pair is 4 bytes for 2 chars
+            } else if (c >= 0x80) {
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        return ALLOCATION_BEAN != null ? ALLOCATION_BEAN.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean allocationBean && allocationBean.isThreadAllocatedMemorySupported()) {
+            if (!allocationBean.isThreadAllocatedMemoryEnabled()) {
+                allocationBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return allocationBean;
+        }
+        return null;
+    }
+
+    /**
+     * The accumulated figures of one stage. Spans on several threads may add to it concurrently.
+     */
+    private static final class Stage {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder files = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+    }
+
+    /**
+     * A running measurement of one stage. A span must be closed on the thread that started it,
+     * since allocations are counted per thread.
+     */
+    public static final class Span implements AutoCloseable {
+
+        private final Stage stage;
+        private final GenerationStageEvent event;
+        private final long startNanos;
+        private final long startAllocatedBytes;
+        private final String name;
+        private long bytes;
+        private int files;
+
+        private Span(final Stage stage, final GenerationStageEvent event, final long startNanos,
+                     final long startAllocatedBytes, final String name) {
+            this.stage = stage;
+            this.event = event;
+            this.startNanos = startNanos;
+            this.startAllocatedBytes = startAllocatedBytes;
+            this.name = name;
+        }
+
+        /**
+         * Records that the stage handled one file of the given size.
+         *
+         * @param size The file size in bytes.
+         */
+        public void addFile(final long size) {
+            bytes += size;
+            files++;
+        }
+
+        @Override
+        public void close() {
+            if (stage == null) {
+                return;
+            }
+            final long allocated = currentThreadAllocatedBytes() - startAllocatedBytes;
+            stage.count.increment();
+            stage.wallNanos.add(System.nanoTime() - startNanos);
+            stage.bytes.add(bytes);
+            stage.files.add(files);
+            stage.allocatedBytes.add(allocated);
+            if (event.shouldCommit()) {
+                event.stage = name;
+                event.bytes = bytes;
+                event.files = files;
+                event.allocatedBytes = allocated;
+                event.commit();
+            }
+        }
+    }
+}
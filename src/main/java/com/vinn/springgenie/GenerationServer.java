@@ -0,0 +1,271 @@
+package com.vinn.springgenie;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A long-running HTTP server that generates projects on request, so the JVM start-up and
+ * template warm-up are paid once instead of once per generated project.
+ * It uses the JDK's built-in {@code com.sun.net.httpserver} and handles each request on the
+ * executor returned by {@link GenerationExecutors#newGenerationExecutor()}.
+ *
+ * Endpoints:
+ * <ul>
+ *     <li>{@code POST /generate[?format=zip|tar|tar.gz]} with a JSON body using the same keys as
+ *     {@link ProjectSpec#fromMap(Map)} ({@code entities} may be a JSON array). The project is
+ *     streamed back as an archive while it is being rendered.</li>
+ *     <li>{@code GET /metrics} returns request counters and latency statistics as JSON.</li>
+ *     <li>{@code GET /health} returns {@code ok}.</li>
+ * </ul>
+ */
+public class GenerationServer {
+
+    private static final int MAX_REQUEST_BYTES = 1024 * 1024;
+    private static final int WARM_UP_RUNS = 2_000;
+
+    /**
+     * Latency buckets: bucket {@code i} counts requests that took less than {@code 2^i} microseconds.
+     */
+    private static final int LATENCY_BUCKETS = 40;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long startNanos = System.nanoTime();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder generatedFiles = new LongAdder();
+    private final LongAdder latencyMicrosTotal = new LongAdder();
+    private final AtomicLong latencyMicrosMax = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+
+    private GenerationServer(final HttpServer server, final ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Warms up the templates and starts a server on the given port.
+     *
+     * @param port The port to listen on (0 picks a free port).
+     * @return The running server.
+     * @throws IOException If the server cannot be started.
+     */
+    public static GenerationServer start(final int port) throws IOException {
+        warmUp();
+        final HttpServer httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        final ExecutorService executor = GenerationExecutors.newGenerationExecutor();
+        final GenerationServer generationServer = new GenerationServer(httpServer, executor);
+        httpServer.createContext("/generate", generationServer::handleGenerate);
+        httpServer.createContext("/metrics", generationServer::handleMetrics);
+        httpServer.createContext("/health", exchange -> sendText(exchange, 200, "text/plain", "ok"));
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        return generationServer;
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The bound port.
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, waiting up to the given number of seconds for in-flight requests.
+     *
+     * @param delaySeconds The maximum time to wait for in-flight requests.
+     */
+    public void stop(final int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * Renders a representative project repeatedly so the templates and rendering paths are
+     * JIT-compiled before the first request arrives.
+     */
+    private static void warmUp() {
+        final ProjectSpec spec = ProjectSpec.fromMap(Map.of(
+                "projectName", "warm-up",
+                "basePackage", "com.example.warmup",
+                "moduleName", "Catalog",
+                "entities", "Product,Category",
+                "databaseType", "postgresql",
+                "databaseName", "warmup"));
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            CliGenerator.renderProject(spec);
+        }
+    }
+
+    private void handleGenerate(final HttpExchange exchange) throws IOException {
+        final long start = System.nanoTime();
+        requests.increment();
+        inFlight.incrementAndGet();
+        boolean succeeded = false;
+        boolean aborted = false;
+        try {
+            if (!exchange.getRequestMethod().equalsIgnoreCase("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Use POST with a JSON project description");
+                return;
+            }
+
+            final ProjectSpec spec;
+            final ArchiveOutput.Format format;
+            try {
+                final String body = readBody(exchange.getRequestBody());
+                spec = ProjectSpec.fromMap(Json.toStringMap(Json.parseObject(body)));
+                format = ArchiveOutput.Format.fromName(queryParameter(exchange.getRequestURI(), "format", "zip"));
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", format.contentType());
+            exchange.getResponseHeaders().set("Content-Disposition",
+                    "attachment; filename=\"" + spec.projectName().replace("\"", "") + format.extension() + "\"");
+            exchange.sendResponseHeaders(200, 0); // Chunked: the archive is streamed while it is rendered
+            final int fileCount;
+            try {
+                fileCount = CliGenerator.generateArchive(spec, format, new BufferedOutputStream(new UnclosableOutputStream(exchange.getResponseBody()), 16 * 1024));
+            } catch (IOException | RuntimeException e) {
+                // The 200 is already sent. Ending the chunked body would pass a truncated archive off as complete,
+                // so the exchange is left open and the server drops the connection when the exception reaches it.
+                aborted = true;
+                System.err.println("Error generating project '" + spec.projectName() + "': " + e);
+                throw e;
+            }
+            generatedFiles.add(fileCount);
+            succeeded = true;
+        } finally {
+            if (!aborted) {
+                exchange.close();
+            }
+            inFlight.decrementAndGet();
+            if (!succeeded) {
+                failures.increment();
+            }
+            recordLatency((System.nanoTime() - start) / 1_000);
+        }
+    }
+
+    private void handleMetrics(final HttpExchange exchange) throws IOException {
+        final long completed = requests.sum() - inFlight.get();
+        final double uptimeSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        final long totalMicros = latencyMicrosTotal.sum();
+        final String json = String.format(Locale.ROOT,
+                "{\"uptimeSeconds\":%.3f,\"requests\":%d,\"failures\":%d,\"inFlight\":%d,\"generatedFiles\":%d,"
+                        + "\"requestsPerSecond\":%.2f,\"latencyMillis\":{\"mean\":%.3f,\"p50\":%.3f,\"p99\":%.3f,\"p999\":%.3f,\"max\":%.3f}}",
+                uptimeSeconds, requests.sum(), failures.sum(), inFlight.get(), generatedFiles.sum(),
+                uptimeSeconds > 0 ? completed / uptimeSeconds : 0.0,
+                completed > 0 ? totalMicros / 1_000.0 / completed : 0.0,
+                latencyPercentileMicros(0.50) / 1_000.0,
+                latencyPercentileMicros(0.99) / 1_000.0,
+                latencyPercentileMicros(0.999) / 1_000.0,
+                latencyMicrosMax.get() / 1_000.0);
+        sendText(exchange, 200, "application/json", json);
+    }
+
+    private void recordLatency(final long micros) {
+        latencyMicrosTotal.add(micros);
+        latencyMicrosMax.accumulateAndGet(micros, Math::max);
+        final int bucket = Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns the upper bound of the histogram bucket containing the given percentile.
+     */
+    private long latencyPercentileMicros(final double percentile) {
+        long total = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            total += latencyHistogram.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            seen += latencyHistogram.get(i);
+            if (seen >= rank) {
+                return Math.min(1L << i, latencyMicrosMax.get());
+            }
+        }
+        return latencyMicrosMax.get();
+    }
+
+    /**
+     * A stream that only flushes when it is closed. The archive closes its stream even when it fails,
+     * so the response body is ended by {@link HttpExchange#close()} once the archive is complete.
+     */
+    private static final class UnclosableOutputStream extends FilterOutputStream {
+
+        private UnclosableOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    private static String readBody(final InputStream in) throws IOException {
+        final byte[] body = in.readNBytes(MAX_REQUEST_BYTES + 1);
+        if (body.length > MAX_REQUEST_BYTES) {
+            throw new IllegalArgumentException("Request body is larger than " + MAX_REQUEST_BYTES + " bytes");
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static String queryParameter(final URI uri, final String name, final String defaultValue) {
+        final String query = uri.getQuery();
+        if (query == null) {
+            return defaultValue;
+        }
+        for (final String pair : query.split("&")) {
+            final int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return pair.substring(separator + 1);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static void sendError(final HttpExchange exchange, final int status, final String message) throws IOException {
+        sendText(exchange, status, "application/json", "{\"error\":" + Json.quote(String.valueOf(message)) + "}");
+    }
+
+    private static void sendText(final HttpExchange exchange, final int status, final String contentType, final String text) throws IOException {
+        final byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (final OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
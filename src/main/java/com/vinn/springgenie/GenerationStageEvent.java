@@ -0,0 +1,36 @@
+package com.vinn.springgenie;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event emitted for every measured generation stage
+ * (see {@link GenerationMetrics}). Events are only recorded while a recording
+ * that enables {@code springgenie.GenerationStage} is running.
+ */
+@Name("springgenie.GenerationStage")
+@Label("Generation Stage")
+@Category("Spring Genie")
+@Description("A timed stage of project generation, such as rendering a class or writing files")
+@StackTrace(false)
+public class GenerationStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Files")
+    int files;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -1,24 +1,203 @@
 package com.vinn.springgenie;
 
+import java.util.Map;
+
 /**
  * A helper class to generate the content for the Gradle `build.gradle` file.
  * This includes basic project information and Spring Boot starter dependencies.
  */
 public class GradleBuildFileGenerator {
 
+    private static final Template TEMPLATE = Template.compile("""
+            plugins {
+                id 'java'
+                id 'org.springframework.boot' version '3.2.5' // Use a recent stable Spring Boot version
+                id 'io.spring.dependency-management' version '1.1.4'
+            ${nativePlugin}}
+
+            group = '${groupId}'
+            version = '0.0.1-SNAPSHOT'
+            ${javaVersion}
+            configurations {
+                compileOnly {
+                    extendsFrom annotationProcessor
+                }
+            }
+
+            repositories {
+                mavenCentral()
+            }
+
+            dependencies {
+            ${dependencies}
+            }
+
+            tasks.named('test') {
+                useJUnitPlatform()
+            }
+
+            ${loadTest}// Configuration for Spring Boot's 'bootJar' task to create an executable JAR
+            bootJar {
+                archiveFileName = '${projectName}.jar'
+                mainClass = '${mainClassName}'
+            }
+            """);
+
     /**
      * Generates the `build.gradle` content for a Spring Boot project,
-     * including the appropriate database driver dependency.
+     * including the appropriate database driver dependency and the dependencies
+     * of the selected features.
      *
-     * @param projectName The name of the project.
-     * @param basePackage The base package for the project's artifacts (used for group ID).
-     * @param databaseType The selected database type (h2, mysql, postgresql).
+     * @param spec The project specification; its project name, base package (used for group ID),
+     *             database type, Java version and features are used.
      * @return A string containing the `build.gradle` content.
      */
-    public static String generate(final String projectName, final String basePackage, final String databaseType) {
+    public static String generate(final ProjectSpec spec) {
+        final String databaseType = spec.databaseType();
         StringBuilder dependencies = new StringBuilder();
-        String mainClassName = basePackage + ".Application";
+        String mainClassName = spec.basePackage() + ".Application";
+
+        if (spec.isReactive()) {
+            appendReactiveStack(dependencies, databaseType);
+        } else {
+            appendServletStack(dependencies, databaseType);
+        }
+
+        // Add Lombok and Test dependencies
+        dependencies.append("""
+            compileOnly 'org.projectlombok:lombok'
+            annotationProcessor 'org.projectlombok:lombok'
+            testImplementation 'org.springframework.boot:spring-boot-starter-test'
+            """);
 
+        dependencies.append(spec.isReactive()
+                ? "    implementation 'org.springdoc:springdoc-openapi-starter-webflux-ui:2.3.0'\n"
+                : "    implementation 'org.springdoc:springdoc-openapi-starter-webmvc-ui:2.3.0'\n");
+
+        // Caffeine-backed caches, with actuator to publish their hit and miss counts
+        if (spec.hasFeature(Feature.CACHING)) {
+            dependencies.append("""
+                implementation 'org.springframework.boot:spring-boot-starter-cache'
+                implementation 'com.github.ben-manes.caffeine:caffeine'
+                """);
+        }
+        final boolean observability = spec.hasFeature(Feature.OBSERVABILITY);
+        final boolean fastStartup = spec.hasFeature(Feature.FAST_STARTUP);
+        if (spec.hasFeature(Feature.CACHING) || observability || fastStartup) {
+            dependencies.append("    implementation 'org.springframework.boot:spring-boot-starter-actuator'\n");
+        }
+        if (observability) {
+            dependencies.append("    runtimeOnly 'io.micrometer:micrometer-registry-prometheus'\n");
+            if (!spec.isReactive()) {
+                // AspectJ for the @Timed and @Observed aspects, and the binder of the Hibernate statistics
+                dependencies.append("""
+                    implementation 'org.springframework.boot:spring-boot-starter-aop'
+                    implementation 'org.hibernate.orm:hibernate-micrometer'
+                    """);
+            }
+        }
+
+        // Schema migrations; Flyway's MySQL support is a module of its own
+        if (spec.hasFeature(Feature.FLYWAY)) {
+            dependencies.append("    implementation 'org.flywaydb:flyway-core'\n");
+            if (databaseType.equalsIgnoreCase("mysql")) {
+                dependencies.append("    implementation 'org.flywaydb:flyway-mysql'\n");
+            }
+        }
+
+        // Writes META-INF/spring.components at compile time, which Spring reads instead of scanning the classpath
+        if (fastStartup) {
+            dependencies.append("    annotationProcessor 'org.springframework:spring-context-indexer'\n");
+        }
+
+        // Applying the native build tools makes the Spring Boot plugin run AOT processing (./gradlew nativeCompile)
+        final String nativePlugin = spec.hasFeature(Feature.NATIVE_IMAGE)
+                ? "    id 'org.graalvm.buildtools.native' version '0.9.28'\n"
+                : "";
+
+        return TEMPLATE.render(Map.of(
+                "nativePlugin", nativePlugin,
+                "loadTest", spec.hasFeature(Feature.LOAD_TEST) ? loadTest(spec) : "",
+                "groupId", spec.basePackage(),
+                "projectName", spec.projectName(),
+                "mainClassName", mainClassName,
+                "javaVersion", javaVersion(spec),
+                "dependencies", dependencies.toString()));
+    }
+
+    /**
+     * Returns the Java version the project is compiled for. Only {@link Feature#VIRTUAL_THREADS}
+     * pins a Java 21 toolchain; otherwise the source compatibility is set, so that any JDK from 17 on builds it.
+     */
+    private static String javaVersion(final ProjectSpec spec) {
+        if (!spec.hasFeature(Feature.VIRTUAL_THREADS)) {
+            return "sourceCompatibility = '" + spec.javaVersion() + "' // " + PomXmlGenerator.javaVersionNote(spec) + "\n";
+        }
+        return "\njava {\n"
+                + "    toolchain {\n"
+                + "        languageVersion = JavaLanguageVersion.of(" + spec.javaVersion() + ") // " + PomXmlGenerator.javaVersionNote(spec) + "\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    /**
+     * Returns the source set, dependencies and task of the load test of {@link Feature#LOAD_TEST}.
+     * The load test sees the application's classes and dependencies, plus HdrHistogram and the
+     * in-memory database, and is compiled and run on Java 21 for its virtual threads.
+     */
+    private static String loadTest(final ProjectSpec spec) {
+        final String h2Driver;
+        if (spec.databaseType().equalsIgnoreCase("h2")) {
+            h2Driver = "";
+        } else {
+            h2Driver = spec.isReactive() ? "    loadtestRuntimeOnly 'io.r2dbc:r2dbc-h2'\n" : "    loadtestRuntimeOnly 'com.h2database:h2'\n";
+        }
+        final String java21 = spec.javaVersion() >= 21 ? "" : """
+
+                tasks.named('compileLoadtestJava') {
+                    javaCompiler = javaToolchains.compilerFor {
+                        languageVersion = JavaLanguageVersion.of(21)
+                    }
+                }
+                """;
+        final String java21Launcher = spec.javaVersion() >= 21 ? "" : """
+                    javaLauncher = javaToolchains.launcherFor {
+                        languageVersion = JavaLanguageVersion.of(21)
+                    }
+                """;
+        return """
+                // Load test of the CRUD endpoints: ./gradlew loadtest [-Dloadtest.rate=500] [-Dloadtest.duration=60]
+                sourceSets {
+                    loadtest {
+                        compileClasspath += sourceSets.main.output
+                        runtimeClasspath += sourceSets.main.output
+                    }
+                }
+
+                configurations {
+                    loadtestImplementation.extendsFrom implementation
+                    loadtestRuntimeOnly.extendsFrom runtimeOnly
+                }
+
+                dependencies {
+                    loadtestImplementation 'org.hdrhistogram:HdrHistogram:2.1.12'
+                %s}
+                %s
+                tasks.register('loadtest', JavaExec) {
+                    description = 'Runs the load test against the application on an in-memory H2 database.'
+                    group = 'verification'
+                    classpath = sourceSets.loadtest.runtimeClasspath
+                    mainClass = '%s.%s.loadtest.LoadTest'
+                %s    systemProperties System.properties.findAll { it.key.toString().startsWith('loadtest.') }
+                }
+
+                """.formatted(h2Driver, java21, spec.basePackage(), spec.modulePackage(), java21Launcher);
+    }
+
+    /**
+     * Appends the Spring MVC and JPA starters and the JDBC driver of the database.
+     */
+    private static void appendServletStack(final StringBuilder dependencies, final String databaseType) {
         // Common Spring Boot Web and JPA starters
         dependencies.append("""
             implementation 'org.springframework.boot:spring-boot-starter-web'
@@ -41,52 +220,30 @@ public class GradleBuildFileGenerator {
                 dependencies.append("    runtimeOnly 'com.h2database:h2'\n");
                 break;
         }
+    }
 
-        // Add Lombok and Test dependencies
-        dependencies.append("""
-            compileOnly 'org.projectlombok:lombok'
-            annotationProcessor 'org.projectlombok:lombok'
-            testImplementation 'org.springframework.boot:spring-boot-starter-test'
-            """);
-
+    /**
+     * Appends the WebFlux and R2DBC starters and the R2DBC driver of the database.
+     */
+    private static void appendReactiveStack(final StringBuilder dependencies, final String databaseType) {
+        // Reactive web and data access
         dependencies.append("""
-            implementation 'org.springdoc:springdoc-openapi-starter-webmvc-ui:2.3.0'
+            implementation 'org.springframework.boot:spring-boot-starter-webflux'
+            implementation 'org.springframework.boot:spring-boot-starter-data-r2dbc'
             """);
 
-        return """
-                plugins {
-                    id 'java'
-                    id 'org.springframework.boot' version '3.2.5' // Use a recent stable Spring Boot version
-                    id 'io.spring.dependency-management' version '1.1.4'
-                }
-
-                group = '%s'
-                version = '0.0.1-SNAPSHOT'
-                sourceCompatibility = '17' // Recommended Java version for Spring Boot 3
-
-                configurations {
-                    compileOnly {
-                        extendsFrom annotationProcessor
-                    }
-                }
-
-                repositories {
-                    mavenCentral()
-                }
-
-                dependencies {
-                %s
-                }
-
-                tasks.named('test') {
-                    useJUnitPlatform()
-                }
-
-                // Configuration for Spring Boot's 'bootJar' task to create an executable JAR
-                bootJar {
-                    archiveFileName = '%s.jar'
-                    mainClass = '%s'
-                }
-                """.formatted(basePackage, dependencies.toString(), projectName, mainClassName);
+        // Add the R2DBC driver of the database
+        switch (databaseType.toLowerCase()) {
+            case "mysql":
+                dependencies.append("    runtimeOnly 'io.asyncer:r2dbc-mysql'\n");
+                break;
+            case "postgresql":
+                dependencies.append("    runtimeOnly 'org.postgresql:r2dbc-postgresql'\n");
+                break;
+            case "h2":
+            default:
+                dependencies.append("    runtimeOnly 'io.r2dbc:r2dbc-h2'\n");
+                break;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,352 @@
+package com.vinn.springgenie;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A helper class to generate the content for the load test of a project
+ * generated with {@link Feature#LOAD_TEST}.
+ * The load test is a plain Java program in its own {@code loadtest} source set that sends
+ * requests to the generated CRUD endpoints at a fixed rate and reports the latency percentiles.
+ */
+public class LoadTestGenerator {
+
+    private static final Template TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.loadtest;
+
+            import ${basePackage}.${modulePackage}.Application;
+            import org.HdrHistogram.ConcurrentHistogram;
+            import org.HdrHistogram.Histogram;
+            import org.springframework.boot.SpringApplication;
+            import org.springframework.context.ConfigurableApplicationContext;
+
+            ${imports}
+            /**
+             * Load test of the ${moduleName} API: it sends requests to the CRUD endpoints at a fixed rate
+             * and reports the latency percentiles and the throughput.
+             *
+             * Unless {@code loadtest.baseUrl} points at a running instance, the application is started in
+             * this JVM on an in-memory H2 database, configured by loadtest.properties. The test is an open
+             * model: requests are sent on schedule, each on its own virtual thread, whether or not earlier
+             * ones have completed, and latency is measured from the scheduled time. A slow response thus
+             * shows up in the percentiles instead of quietly lowering the request rate (coordinated omission).
+             *
+             * Run it with ${runCommand} and these optional system properties:
+             * <ul>
+             *     <li>{@code loadtest.rate} - requests per second (default 200).</li>
+             *     <li>{@code loadtest.duration} - seconds of measured load (default 30).</li>
+             *     <li>{@code loadtest.warmup} - seconds of load before measuring, for the JIT compiler (default 10).</li>
+             *     <li>{@code loadtest.baseUrl} - the URL of a running instance (e.g., http://localhost:8080).</li>
+             * </ul>
+             */
+            public class LoadTest {
+
+                /**
+                 * The rows created per entity before the load starts, so that reads and updates find data.
+                 */
+                private static final int SEED_COUNT = 100;
+
+                private static final Pattern ID = Pattern.compile("\\"id\\":([0-9]+)");
+
+                private enum Operation { LIST, GET, CREATE, UPDATE, DELETE }
+
+                /**
+                 * The operation mix, cycled through per entity: half reads by ID, a fifth pages, and the rest writes.
+                 */
+                private static final Operation[] MIX = {
+                        Operation.GET, Operation.LIST, Operation.GET, Operation.CREATE, Operation.GET,
+                        Operation.LIST, Operation.GET, Operation.UPDATE, Operation.GET, Operation.CREATE,
+                        Operation.GET, Operation.LIST, Operation.GET, Operation.UPDATE, Operation.GET,
+                        Operation.CREATE, Operation.LIST, Operation.GET, Operation.DELETE, Operation.GET};
+
+                /**
+                 * The collection endpoint of an entity, the request body of a new row, and the IDs of its rows.
+                 */
+                private record Endpoint(String url, LongFunction<String> body, IdPool ids) {
+                }
+
+                private final HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+                private final List<Endpoint> endpoints;
+                private final AtomicLong nextValue = new AtomicLong();
+                private final Histogram total = new ConcurrentHistogram(3);
+                private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+                private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+
+                LoadTest(final String baseUrl) {
+                    this.endpoints = List.of(
+            ${endpoints});
+                    for (final Operation operation : Operation.values()) {
+                        this.histograms.put(operation, new ConcurrentHistogram(3));
+                        this.failures.put(operation, new LongAdder());
+                    }
+                }
+
+                public static void main(final String[] args) throws Exception {
+                    final int rate = Integer.getInteger("loadtest.rate", 200);
+                    final int duration = Integer.getInteger("loadtest.duration", 30);
+                    final int warmup = Integer.getInteger("loadtest.warmup", 10);
+                    String baseUrl = System.getProperty("loadtest.baseUrl");
+                    ConfigurableApplicationContext context = null;
+                    if (baseUrl == null) {
+                        context = SpringApplication.run(Application.class, "--spring.config.name=loadtest");
+                        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                    }
+                    try {
+                        new LoadTest(baseUrl).run(rate, warmup, duration);
+                    } finally {
+                        if (context != null) {
+                            context.close();
+                        }
+                    }
+                }
+
+                void run(final int rate, final int warmup, final int duration) {
+                    for (final Endpoint endpoint : this.endpoints) {
+                        for (int i = 0; i < SEED_COUNT; i++) {
+                            send(endpoint, Operation.CREATE, false, System.nanoTime());
+                        }
+                    }
+
+                    final long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+                    final long start = System.nanoTime();
+                    final long measureFrom = start + TimeUnit.SECONDS.toNanos(warmup);
+                    final long end = measureFrom + TimeUnit.SECONDS.toNanos(duration);
+                    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                        for (long sequence = 0; ; sequence++) {
+                            final long scheduled = start + sequence * interval;
+                            if (scheduled >= end) {
+                                break;
+                            }
+                            // When the loop falls behind, the overdue requests are sent at once, keeping their scheduled times
+                            for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                                LockSupport.parkNanos(wait);
+                            }
+                            final Endpoint endpoint = this.endpoints.get((int) (sequence % this.endpoints.size()));
+                            final Operation operation = MIX[(int) (sequence / this.endpoints.size() % MIX.length)];
+                            final boolean measured = scheduled >= measureFrom;
+                            executor.execute(() -> send(endpoint, operation, measured, scheduled));
+                        }
+                    }
+                    final double seconds = (System.nanoTime() - measureFrom) / 1e9;
+                    report(rate, warmup, duration, seconds);
+                }
+
+                private void send(final Endpoint endpoint, final Operation operation, final boolean measured, final long scheduled) {
+                    final HttpRequest request = request(endpoint, operation);
+                    boolean success;
+                    try {
+                        final HttpResponse<String> response = this.client.send(request, HttpResponse.BodyHandlers.ofString());
+                        success = response.statusCode() / 100 == 2;
+                        if (success && operation == Operation.CREATE) {
+                            final Matcher matcher = ID.matcher(response.body());
+                            if (matcher.find()) {
+                                endpoint.ids().add(Long.parseLong(matcher.group(1)));
+                            }
+                        }
+                    } catch (IOException e) {
+                        success = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        success = false;
+                    }
+                    if (measured) {
+                        final long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+                        this.histograms.get(operation).recordValue(micros);
+                        this.total.recordValue(micros);
+                        if (!success) {
+                            this.failures.get(operation).increment();
+                        }
+                    }
+                }
+
+                private HttpRequest request(final Endpoint endpoint, final Operation operation) {
+                    final HttpRequest.Builder request = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+                    switch (operation) {
+                        case LIST:
+                            final int page = ThreadLocalRandom.current().nextInt(10);
+                            return request.uri(URI.create(endpoint.url() + "?page=" + page + "&size=20")).GET().build();
+                        case GET:
+                            return request.uri(URI.create(endpoint.url() + "/" + endpoint.ids().any())).GET().build();
+                        case CREATE:
+                            return request.uri(URI.create(endpoint.url()))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(endpoint.body().apply(this.nextValue.incrementAndGet())))
+                                    .build();
+                        case UPDATE:
+                            return request.uri(URI.create(endpoint.url() + "/" + endpoint.ids().any()))
+                                    .header("Content-Type", "application/json")
+                                    .PUT(HttpRequest.BodyPublishers.ofString(endpoint.body().apply(this.nextValue.incrementAndGet())))
+                                    .build();
+                        case DELETE:
+                        default:
+                            return request.uri(URI.create(endpoint.url() + "/" + endpoint.ids().take())).DELETE().build();
+                    }
+                }
+
+                private void report(final int rate, final int warmup, final int duration, final double seconds) {
+                    System.out.printf("%n%d requests/s for %d s after a %d s warm-up, latency in ms from the scheduled time%n",
+                            rate, duration, warmup);
+                    System.out.printf("%-10s %10s %10s %10s %10s %10s %10s%n", "operation", "requests", "failed", "p50", "p99", "p99.9", "max");
+                    long failed = 0;
+                    for (final Operation operation : Operation.values()) {
+                        final long operationFailures = this.failures.get(operation).sum();
+                        printRow(operation.name().toLowerCase(), this.histograms.get(operation), operationFailures);
+                        failed += operationFailures;
+                    }
+                    printRow("all", this.total, failed);
+                    System.out.printf("throughput: %.1f requests/s%n", this.total.getTotalCount() / seconds);
+                }
+
+                private static void printRow(final String name, final Histogram histogram, final long failed) {
+                    System.out.printf("%-10s %10d %10d %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount(), failed,
+                            histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                            histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+                }
+            ${bodies}
+                /**
+                 * The IDs of an entity's rows. Deletes take their ID out, so later requests rarely miss.
+                 */
+                private static final class IdPool {
+
+                    private final List<Long> ids = new ArrayList<>();
+
+                    synchronized void add(final long id) {
+                        this.ids.add(id);
+                    }
+
+                    synchronized long any() {
+                        return this.ids.isEmpty() ? 0 : this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size()));
+                    }
+
+                    synchronized long take() {
+                        if (this.ids.isEmpty()) {
+                            return 0;
+                        }
+                        final int index = ThreadLocalRandom.current().nextInt(this.ids.size());
+                        final long id = this.ids.get(index);
+                        this.ids.set(index, this.ids.get(this.ids.size() - 1));
+                        this.ids.remove(this.ids.size() - 1);
+                        return id;
+                    }
+                }
+            }
+            """);
+
+    /**
+     * Generates the content for the load test class.
+     * Every entity gets a collection endpoint in the load test and a method that writes a request
+     * body with a sample value for each field; the values are derived from a counter, so unique
+     * fields stay unique.
+     *
+     * @param spec The project specification.
+     * @return A string containing the load test class content.
+     */
+    public static String generate(final ProjectSpec spec) {
+        final TreeSet<String> javaImports = new TreeSet<>(List.of(
+                "java.io.IOException",
+                "java.net.URI",
+                "java.net.http.HttpClient",
+                "java.net.http.HttpRequest",
+                "java.net.http.HttpResponse",
+                "java.time.Duration",
+                "java.util.ArrayList",
+                "java.util.EnumMap",
+                "java.util.List",
+                "java.util.Map",
+                "java.util.concurrent.ExecutorService",
+                "java.util.concurrent.Executors",
+                "java.util.concurrent.ThreadLocalRandom",
+                "java.util.concurrent.TimeUnit",
+                "java.util.concurrent.atomic.AtomicLong",
+                "java.util.concurrent.atomic.LongAdder",
+                "java.util.concurrent.locks.LockSupport",
+                "java.util.function.LongFunction",
+                "java.util.regex.Matcher",
+                "java.util.regex.Pattern"));
+        final StringBuilder endpoints = new StringBuilder();
+        final StringBuilder bodies = new StringBuilder();
+        for (final EntitySpec entity : spec.entities()) {
+            final String entityVar = Character.toLowerCase(entity.name().charAt(0)) + entity.name().substring(1);
+            if (endpoints.length() > 0) {
+                endpoints.append(",\n");
+            }
+            endpoints.append("                new Endpoint(baseUrl + \"/api/").append(entityVar).append("s\", LoadTest::")
+                    .append(entityVar).append("Body, new IdPool())");
+
+            final StringBuilder json = new StringBuilder("\"{");
+            for (final FieldSpec field : entity.fields()) {
+                if (json.length() > 2) {
+                    json.append(", ");
+                }
+                json.append("\\\"").append(field.name()).append("\\\": ");
+                appendSampleValue(json, field, javaImports);
+            }
+            json.append("}\"");
+            bodies.append("\n")
+                    .append("    private static String ").append(entityVar).append("Body(final long n) {\n")
+                    .append("        return ").append(json).append(";\n")
+                    .append("    }\n");
+        }
+
+        final StringBuilder imports = new StringBuilder();
+        for (final String javaImport : javaImports) {
+            imports.append("import ").append(javaImport).append(";\n");
+        }
+
+        return TEMPLATE.render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage(),
+                "moduleName", spec.moduleName(),
+                "runCommand", spec.isGradle() ? "{@code ./gradlew loadtest}" : "{@code mvn -Ploadtest test-compile exec:java}",
+                "imports", imports.toString(),
+                "endpoints", endpoints.toString(),
+                "bodies", bodies.toString()));
+    }
+
+    /**
+     * Appends the JSON value of a field, derived from the counter {@code n}, to a Java string
+     * concatenation whose string literal is open.
+     */
+    private static void appendSampleValue(final StringBuilder json, final FieldSpec field, final TreeSet<String> javaImports) {
+        switch (field.type()) {
+            case "String":
+                // The field name as a prefix makes the values readable, unless the column is too short for it
+                final String prefix = field.length() == 0 || field.length() >= field.name().length() + 20 ? field.name() + "-" : "";
+                json.append("\\\"").append(prefix).append("\" + n + \"\\\"");
+                break;
+            case "Integer":
+            case "Long":
+                json.append("\" + n + \"");
+                break;
+            case "Double":
+            case "Float":
+            case "BigDecimal":
+                json.append("\" + n + \".5");
+                break;
+            case "Boolean":
+                json.append("\" + (n % 2 == 0) + \"");
+                break;
+            case "LocalDate":
+                javaImports.add("java.time.LocalDate");
+                json.append("\\\"\" + LocalDate.ofEpochDay(n) + \"\\\"");
+                break;
+            case "LocalDateTime":
+                javaImports.add("java.time.LocalDateTime");
+                json.append("\\\"\" + LocalDateTime.of(2024, 1, 1, 0, 0, 0).plusSeconds(n) + \"\\\"");
+                break;
+            case "Instant":
+                javaImports.add("java.time.Instant");
+                json.append("\\\"\" + Instant.ofEpochSecond(n) + \"\\\"");
+                break;
+            case "UUID":
+            default:
+                javaImports.add("java.util.UUID");
+                json.append("\\\"\" + new UUID(0, n) + \"\\\"");
+                break;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.vinn.springgenie;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The Flyway migrations already issued to a project with {@link Feature#FLYWAY}.
+ * A migration that a database has applied must keep its version and name, so a rerun reuses the
+ * file of every table that already has one, and numbers only the tables that are new, after the
+ * highest version found. The migrations are read from the project's {@code db/migration} directory
+ * and from its {@link GenerationManifest}, which still lists a migration whose file was deleted.
+ *
+ * An instance hands out the versions of one rendering and is not thread-safe.
+ */
+public class MigrationHistory {
+
+    /**
+     * The location of the migrations, relative to the project root.
+     */
+    public static final String RELATIVE_PATH = "src/main/resources/db/migration";
+
+    private static final Pattern VERSIONED = Pattern.compile("V(\\d+)__(.*)\\.sql");
+    private static final String CREATE_PREFIX = "create_";
+
+    private final Map<String, String> fileNames = new HashMap<>();
+    private final Map<String, Integer> versions = new HashMap<>();
+    private int lastVersion;
+
+    /**
+     * Returns an empty history, for a project generated from scratch.
+     *
+     * @return A history in which the migrations are numbered from 1.
+     */
+    public static MigrationHistory empty() {
+        return new MigrationHistory();
+    }
+
+    /**
+     * Loads the migrations already issued to a project.
+     *
+     * @param projectRoot The project root directory; it does not need to exist.
+     * @return The history of the project.
+     * @throws IOException If the migration directory or the manifest exists but cannot be read.
+     */
+    public static MigrationHistory load(final Path projectRoot) throws IOException {
+        final MigrationHistory history = new MigrationHistory();
+        for (final String path : GenerationManifest.load(projectRoot).files().keySet()) {
+            if (path.startsWith(RELATIVE_PATH + "/")) {
+                history.record(path.substring(RELATIVE_PATH.length() + 1));
+            }
+        }
+        final Path directory = projectRoot.resolve(RELATIVE_PATH);
+        if (Files.isDirectory(directory)) {
+            try (final DirectoryStream<Path> migrations = Files.newDirectoryStream(directory, "V*.sql")) {
+                for (final Path migration : migrations) {
+                    history.record(migration.getFileName().toString());
+                }
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Returns the file name of the migration that creates a table: the one already issued, or a new one
+     * with the next version.
+     *
+     * @param tableName The name of the table.
+     * @return The file name, e.g. "V3__create_product.sql".
+     */
+    public String fileName(final String tableName) {
+        return fileNames.computeIfAbsent(tableName, table -> "V" + (++lastVersion) + "__" + CREATE_PREFIX + table + ".sql");
+    }
+
+    /**
+     * Records a migration found in the project. Every versioned migration, including one a user added,
+     * raises the next version; of several that create the same table, the lowest version is kept,
+     * since that is the one a database applied first.
+     */
+    private void record(final String fileName) {
+        final Matcher matcher = VERSIONED.matcher(fileName);
+        if (!matcher.matches() || fileName.indexOf('/') >= 0) {
+            return;
+        }
+        final int version;
+        try {
+            version = Integer.parseInt(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return; // Too large to be one of ours
+        }
+        lastVersion = Math.max(lastVersion, version);
+        final String description = matcher.group(2);
+        if (description.startsWith(CREATE_PREFIX)) {
+            final String table = description.substring(CREATE_PREFIX.length());
+            final Integer recorded = versions.get(table);
+            if (recorded == null || version < recorded) {
+                versions.put(table, version);
+                fileNames.put(table, fileName);
+            }
+        }
+    }
+}
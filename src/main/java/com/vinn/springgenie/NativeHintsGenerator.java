@@ -0,0 +1,114 @@
+package com.vinn.springgenie;
+
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A helper class to generate the content for the native image hints of a project
+ * generated with {@link Feature#NATIVE_IMAGE}.
+ * This class creates a Spring configuration that registers the reflection and proxy hints
+ * GraalVM needs for the generated types that are only reached reflectively at runtime.
+ */
+public class NativeHintsGenerator {
+
+    private static final Template TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.config;
+
+            ${imports}import io.swagger.v3.oas.models.Components;
+            import io.swagger.v3.oas.models.OpenAPI;
+            import io.swagger.v3.oas.models.info.Info;
+            import io.swagger.v3.oas.models.security.SecurityRequirement;
+            import io.swagger.v3.oas.models.security.SecurityScheme;
+            import io.swagger.v3.oas.models.servers.Server;
+            import org.springframework.aop.SpringProxy;
+            import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+            import org.springframework.aot.hint.MemberCategory;
+            import org.springframework.aot.hint.RuntimeHints;
+            import org.springframework.aot.hint.RuntimeHintsRegistrar;
+            import org.springframework.context.annotation.Configuration;
+            import org.springframework.context.annotation.ImportRuntimeHints;
+            import org.springframework.core.DecoratingProxy;
+            import org.springframework.data.projection.TargetAware;
+
+            /**
+             * Runtime hints for the GraalVM native image of the ${moduleName} application.
+             * Spring AOT derives most hints from the beans it processes at build time; this class adds
+             * the entities, records, projections and OpenAPI model types that are only used reflectively.
+             * Build the native image with ${nativeBuildCommand}.
+             */
+            @Configuration
+            @ImportRuntimeHints(NativeHints.Registrar.class)
+            public class NativeHints {
+
+                /**
+                 * Registers the hints when the AOT engine processes the application.
+                 */
+                static class Registrar implements RuntimeHintsRegistrar {
+
+                    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+                    @Override
+                    public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+                        // Lombok writes the accessors and constructors of the entities at compile time,
+                        // and the persistence layer reaches them only through reflection
+            ${entityHints}
+                        // Request and response records, read and written by Jackson and described by springdoc
+            ${recordHints}
+                        // Summary projections, created as JDK proxies by Spring Data and serialized through their getters
+            ${projectionHints}
+                        // The OpenAPI model built by OpenApiConfig, serialized when /v3/api-docs is served
+                        this.bindingHints.registerReflectionHints(hints.reflection(), OpenAPI.class, Info.class, Server.class,
+                                Components.class, SecurityScheme.class, SecurityRequirement.class);
+                    }
+
+                    private void registerProjection(final RuntimeHints hints, final Class<?> projection) {
+                        hints.proxies().registerJdkProxy(projection, TargetAware.class, SpringProxy.class, DecoratingProxy.class);
+                        this.bindingHints.registerReflectionHints(hints.reflection(), projection);
+                    }
+                }
+            }
+            """);
+
+    /**
+     * Generates the content for the native hints configuration class.
+     * Every entity is registered for field, constructor and method reflection, its request and
+     * response records for JSON binding, and its summary projection as a JDK proxy.
+     *
+     * @param spec The project specification.
+     * @return A string containing the native hints configuration class content.
+     */
+    public static String generate(final ProjectSpec spec) {
+        final String modulePackage = spec.basePackage() + "." + spec.modulePackage();
+        final TreeSet<String> typeImports = new TreeSet<>();
+        final StringBuilder entityHints = new StringBuilder();
+        final StringBuilder recordHints = new StringBuilder();
+        final StringBuilder projectionHints = new StringBuilder();
+        for (final EntitySpec entity : spec.entities()) {
+            final String name = entity.name();
+            typeImports.add(modulePackage + ".dto." + name + "Request");
+            typeImports.add(modulePackage + ".dto." + name + "Response");
+            typeImports.add(modulePackage + ".dto." + name + "Summary");
+            typeImports.add(modulePackage + ".entity." + name);
+            entityHints.append("            hints.reflection().registerType(").append(name).append(".class, MemberCategory.DECLARED_FIELDS,\n")
+                    .append("                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);\n");
+            recordHints.append("            this.bindingHints.registerReflectionHints(hints.reflection(), ")
+                    .append(name).append("Request.class, ").append(name).append("Response.class);\n");
+            projectionHints.append("            registerProjection(hints, ").append(name).append("Summary.class);\n");
+        }
+
+        final StringBuilder imports = new StringBuilder();
+        for (final String typeImport : typeImports) {
+            imports.append("import ").append(typeImport).append(";\n");
+        }
+
+        return TEMPLATE.render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage(),
+                "moduleName", spec.moduleName(),
+                "imports", imports.toString(),
+                "nativeBuildCommand", spec.isGradle() ? "{@code ./gradlew nativeCompile}" : "{@code mvn -Pnative native:compile}",
+                "entityHints", entityHints.toString(),
+                "recordHints", recordHints.toString(),
+                "projectionHints", projectionHints.toString()));
+    }
+}
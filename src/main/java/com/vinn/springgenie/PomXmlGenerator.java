@@ -1,23 +1,286 @@
 package com.vinn.springgenie;
 
+import java.util.Map;
+
 /**
  * A helper class to generate the content for the Maven `pom.xml` file.
  * This includes basic project information and Spring Boot starter dependencies.
  */
 public class PomXmlGenerator {
 
+    private static final Template TEMPLATE = Template.compile("""
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                     xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                <modelVersion>4.0.0</modelVersion>
+                <parent>
+                    <groupId>org.springframework.boot</groupId>
+                    <artifactId>spring-boot-starter-parent</artifactId>
+                    <version>3.2.5</version> <!-- Use a recent stable Spring Boot version -->
+                    <relativePath/> <!-- lookup parent from repository -->
+                </parent>
+                <groupId>${groupId}</groupId>
+                <artifactId>${projectName}</artifactId>
+                <version>0.0.1-SNAPSHOT</version>
+                <name>${projectName}</name>
+                <description>Demo project for Spring Boot Module: ${projectName}</description>
+                <properties>
+                    <java.version>${javaVersion}</java.version> <!-- ${javaVersionNote} -->
+                </properties>
+                <dependencies>
+                    ${dependencies}
+                </dependencies>
+
+                <build>
+                    <plugins>
+                        <plugin>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-maven-plugin</artifactId>
+                            <configuration>
+                                <excludes>
+                                    <exclude>
+                                        <groupId>org.projectlombok</groupId>
+                                        <artifactId>lombok</artifactId>
+                                    </exclude>
+                                </excludes>
+                            </configuration>
+                        </plugin>
+                    </plugins>
+                </build>
+            ${profiles}
+            </project>
+            """);
+
     /**
      * Generates the `pom.xml` content for a Spring Boot project,
-     * including the appropriate database driver dependency.
+     * including the appropriate database driver dependency and the dependencies
+     * of the selected features.
      *
-     * @param projectName The name of the project.
-     * @param basePackage The base package for the project's artifacts.
-     * @param databaseType The selected database type (h2, mysql, postgresql).
+     * @param spec The project specification; its project name, base package (used as group ID),
+     *             database type, Java version and features are used.
      * @return A string containing the `pom.xml` content.
      */
-    public static String generate(final String projectName, final String basePackage, final String databaseType) {
+    public static String generate(final ProjectSpec spec) {
+        final String databaseType = spec.databaseType();
         StringBuilder dependencies = new StringBuilder();
 
+        if (spec.isReactive()) {
+            appendReactiveStack(dependencies, databaseType);
+        } else {
+            appendServletStack(dependencies, databaseType);
+        }
+
+        dependencies.append("""
+                        <dependency>
+                            <groupId>org.projectlombok</groupId>
+                            <artifactId>lombok</artifactId>
+                            <optional>true</optional>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-test</artifactId>
+                            <scope>test</scope>
+                        </dependency>
+                """);
+
+        dependencies.append("""
+                        <dependency>
+                            <groupId>org.springdoc</groupId>
+                            <artifactId>%s</artifactId>
+                            <version>2.3.0</version>
+                        </dependency>
+                """.formatted(spec.isReactive() ? "springdoc-openapi-starter-webflux-ui" : "springdoc-openapi-starter-webmvc-ui"));
+
+        if (spec.hasFeature(Feature.CACHING)) {
+            dependencies.append("""
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-cache</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>com.github.ben-manes.caffeine</groupId>
+                            <artifactId>caffeine</artifactId>
+                        </dependency>
+                """);
+        }
+
+        final boolean observability = spec.hasFeature(Feature.OBSERVABILITY);
+        final boolean fastStartup = spec.hasFeature(Feature.FAST_STARTUP);
+        if (spec.hasFeature(Feature.CACHING) || observability || fastStartup) {
+            dependencies.append("""
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-actuator</artifactId>
+                        </dependency>
+                """);
+        }
+        if (observability) {
+            dependencies.append("""
+                        <dependency>
+                            <groupId>io.micrometer</groupId>
+                            <artifactId>micrometer-registry-prometheus</artifactId>
+                            <scope>runtime</scope>
+                        </dependency>
+                """);
+            if (!spec.isReactive()) {
+                // AspectJ for the @Timed and @Observed aspects, and the binder of the Hibernate statistics
+                dependencies.append("""
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-aop</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.hibernate.orm</groupId>
+                            <artifactId>hibernate-micrometer</artifactId>
+                        </dependency>
+                """);
+            }
+        }
+
+        // Schema migrations; Flyway's MySQL support is a module of its own
+        if (spec.hasFeature(Feature.FLYWAY)) {
+            dependencies.append("""
+                        <dependency>
+                            <groupId>org.flywaydb</groupId>
+                            <artifactId>flyway-core</artifactId>
+                        </dependency>
+                """);
+            if (databaseType.equalsIgnoreCase("mysql")) {
+                dependencies.append("""
+                        <dependency>
+                            <groupId>org.flywaydb</groupId>
+                            <artifactId>flyway-mysql</artifactId>
+                        </dependency>
+                """);
+            }
+        }
+
+        // Writes META-INF/spring.components at compile time, which Spring reads instead of scanning the classpath
+        if (fastStartup) {
+            dependencies.append("""
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-context-indexer</artifactId>
+                            <optional>true</optional>
+                        </dependency>
+                """);
+        }
+
+        final StringBuilder profiles = new StringBuilder();
+        if (spec.hasFeature(Feature.NATIVE_IMAGE)) {
+            // The parent's "native" profile adds Spring AOT processing; the build tools plugin must be declared here
+            profiles.append("""
+                        <!-- mvn -Pnative native:compile builds a native executable into target/ -->
+                        <profile>
+                            <id>native</id>
+                            <build>
+                                <plugins>
+                                    <plugin>
+                                        <groupId>org.graalvm.buildtools</groupId>
+                                        <artifactId>native-maven-plugin</artifactId>
+                                    </plugin>
+                                </plugins>
+                            </build>
+                        </profile>
+                """);
+        }
+        if (spec.hasFeature(Feature.LOAD_TEST)) {
+            profiles.append(loadTestProfile(spec));
+        }
+
+        return TEMPLATE.render(Map.of(
+                "groupId", spec.basePackage(),
+                "projectName", spec.projectName(),
+                "javaVersion", Integer.toString(spec.javaVersion()),
+                "javaVersionNote", javaVersionNote(spec),
+                "dependencies", dependencies.toString(),
+                "profiles", profiles.length() == 0 ? "" : "    <profiles>\n" + profiles + "    </profiles>\n"));
+    }
+
+    /**
+     * Returns the profile of the load test of {@link Feature#LOAD_TEST}. It adds the load test sources
+     * and resources to the test build, HdrHistogram and the in-memory database to the test classpath,
+     * and compiles for Java 21, which the virtual threads of the load test need.
+     */
+    private static String loadTestProfile(final ProjectSpec spec) {
+        final String java21 = spec.javaVersion() >= 21 ? "" : """
+                            <properties>
+                                <java.version>21</java.version>
+                            </properties>
+                """;
+        String h2Driver = "";
+        if (!spec.databaseType().equalsIgnoreCase("h2")) {
+            h2Driver = """
+                                    <dependency>
+                                        <groupId>%s</groupId>
+                                        <artifactId>%s</artifactId>
+                                        <scope>test</scope>
+                                    </dependency>
+                    """.formatted(spec.isReactive() ? "io.r2dbc" : "com.h2database", spec.isReactive() ? "r2dbc-h2" : "h2");
+        }
+        return """
+                        <!-- mvn -Ploadtest test-compile exec:java [-Dloadtest.rate=500] [-Dloadtest.duration=60] runs the load test -->
+                        <profile>
+                            <id>loadtest</id>
+                %s            <dependencies>
+                                <dependency>
+                                    <groupId>org.hdrhistogram</groupId>
+                                    <artifactId>HdrHistogram</artifactId>
+                                    <version>2.1.12</version>
+                                    <scope>test</scope>
+                                </dependency>
+                %s            </dependencies>
+                            <build>
+                                <plugins>
+                                    <plugin>
+                                        <groupId>org.codehaus.mojo</groupId>
+                                        <artifactId>build-helper-maven-plugin</artifactId>
+                                        <executions>
+                                            <execution>
+                                                <id>add-loadtest-sources</id>
+                                                <goals>
+                                                    <goal>add-test-source</goal>
+                                                </goals>
+                                                <configuration>
+                                                    <sources>
+                                                        <source>src/loadtest/java</source>
+                                                    </sources>
+                                                </configuration>
+                                            </execution>
+                                            <execution>
+                                                <id>add-loadtest-resources</id>
+                                                <goals>
+                                                    <goal>add-test-resource</goal>
+                                                </goals>
+                                                <configuration>
+                                                    <resources>
+                                                        <resource>
+                                                            <directory>src/loadtest/resources</directory>
+                                                        </resource>
+                                                    </resources>
+                                                </configuration>
+                                            </execution>
+                                        </executions>
+                                    </plugin>
+                                    <plugin>
+                                        <groupId>org.codehaus.mojo</groupId>
+                                        <artifactId>exec-maven-plugin</artifactId>
+                                        <configuration>
+                                            <mainClass>%s.%s.loadtest.LoadTest</mainClass>
+                                            <classpathScope>test</classpathScope>
+                                            <cleanupDaemonThreads>false</cleanupDaemonThreads>
+                                        </configuration>
+                                    </plugin>
+                                </plugins>
+                            </build>
+                        </profile>
+                """.formatted(java21, h2Driver, spec.basePackage(), spec.modulePackage());
+    }
+
+    /**
+     * Appends the Spring MVC and JPA starters and the JDBC driver of the database.
+     */
+    private static void appendServletStack(final StringBuilder dependencies, final String databaseType) {
         dependencies.append("""
                         <dependency>
                             <groupId>org.springframework.boot</groupId>
@@ -69,69 +332,64 @@ public class PomXmlGenerator {
                         """);
                 break;
         }
+    }
 
+    /**
+     * Appends the WebFlux and R2DBC starters and the R2DBC driver of the database.
+     */
+    private static void appendReactiveStack(final StringBuilder dependencies, final String databaseType) {
         dependencies.append("""
                         <dependency>
-                            <groupId>org.projectlombok</groupId>
-                            <artifactId>lombok</artifactId>
-                            <optional>true</optional>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-webflux</artifactId>
                         </dependency>
                         <dependency>
                             <groupId>org.springframework.boot</groupId>
-                            <artifactId>spring-boot-starter-test</artifactId>
-                            <scope>test</scope>
+                            <artifactId>spring-boot-starter-data-r2dbc</artifactId>
                         </dependency>
                 """);
 
-        dependencies.append("""
+        switch (databaseType.toLowerCase()) {
+            case "mysql":
+                dependencies.append("""
                         <dependency>
-                            <groupId>org.springdoc</groupId>
-                            <artifactId>springdoc-openapi-starter-webmvc-ui</artifactId>
-                            <version>2.3.0</version>
+                            <groupId>io.asyncer</groupId>
+                            <artifactId>r2dbc-mysql</artifactId>
+                            <scope>runtime</scope>
                         </dependency>
-                """);
+                        """);
+                break;
+            case "postgresql":
+                dependencies.append("""
+                        <dependency>
+                            <groupId>org.postgresql</groupId>
+                            <artifactId>r2dbc-postgresql</artifactId>
+                            <scope>runtime</scope>
+                        </dependency>
+                        """);
+                break;
+            case "h2":
+            default:
+                dependencies.append("""
+                        <dependency>
+                            <groupId>io.r2dbc</groupId>
+                            <artifactId>r2dbc-h2</artifactId>
+                            <scope>runtime</scope>
+                        </dependency>
+                        """);
+                break;
+        }
+    }
 
-        return """
-                <?xml version="1.0" encoding="UTF-8"?>
-                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
-                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
-                    <modelVersion>4.0.0</modelVersion>
-                    <parent>
-                        <groupId>org.springframework.boot</groupId>
-                        <artifactId>spring-boot-starter-parent</artifactId>
-                        <version>3.2.5</version> <!-- Use a recent stable Spring Boot version -->
-                        <relativePath/> <!-- lookup parent from repository -->
-                    </parent>
-                    <groupId>%s</groupId>
-                    <artifactId>%s</artifactId>
-                    <version>0.0.1-SNAPSHOT</version>
-                    <name>%s</name>
-                    <description>Demo project for Spring Boot Module: %s</description>
-                    <properties>
-                        <java.version>17</java.version> <!-- Recommended Java version for Spring Boot 3 -->
-                    </properties>
-                    <dependencies>
-                        %s
-                    </dependencies>
-
-                    <build>
-                        <plugins>
-                            <plugin>
-                                <groupId>org.springframework.boot</groupId>
-                                <artifactId>spring-boot-maven-plugin</artifactId>
-                                <configuration>
-                                    <excludes>
-                                        <exclude>
-                                            <groupId>org.projectlombok</groupId>
-                                            <artifactId>lombok</artifactId>
-                                        </exclude>
-                                    </excludes>
-                                </configuration>
-                            </plugin>
-                        </plugins>
-                    </build>
-
-                </project>
-                """.formatted(basePackage, projectName, projectName, projectName, dependencies.toString());
+    /**
+     * Returns the comment that explains the chosen Java version.
+     *
+     * @param spec The project specification.
+     * @return The comment text.
+     */
+    static String javaVersionNote(final ProjectSpec spec) {
+        return spec.hasFeature(Feature.VIRTUAL_THREADS)
+                ? "Virtual threads need Java 21"
+                : "Recommended Java version for Spring Boot 3";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.vinn.springgenie;
+
+import java.io.IOException;
+
+/**
+ * A destination for rendered project files.
+ * Files are handed over one at a time, in generation order, as soon as they are rendered,
+ * so an output can start streaming before the rest of the project has been rendered.
+ */
+@FunctionalInterface
+public interface ProjectOutput {
+
+    /**
+     * Accepts a rendered file.
+     *
+     * @param file The rendered file, with a path relative to the project root.
+     * @throws IOException If the file cannot be written.
+     */
+    void write(GeneratedFile file) throws IOException;
+}
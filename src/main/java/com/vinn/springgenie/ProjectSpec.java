@@ -0,0 +1,291 @@
+package com.vinn.springgenie;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable description of a single project to generate.
+ * Every entry point (interactive prompts, batch manifests) collects its answers
+ * into a flat key/value map and builds a {@code ProjectSpec} through {@link #fromMap(Map)},
+ * so defaults are applied in exactly one place.
+ *
+ * @param projectName              The name of the project (also the output directory name).
+ * @param basePackage              The base package of the application.
+ * @param moduleName               The module name in PascalCase (e.g., "Product"); its camelCase form is the module package.
+ * @param entities                 The entities and their fields; all of them share the module's
+ *                                 {@code Application} and {@code OpenApiConfig} classes.
+ * @param buildTool                The build tool ("maven" or "gradle").
+ * @param configFileType           The config file type ("properties" or "yml").
+ * @param databaseType             The database type ("h2", "mysql", "postgresql").
+ * @param databaseName             The database name (ignored for h2).
+ * @param databaseDialect          The Hibernate dialect (can be empty).
+ * @param createDatabaseIfNotExist True if the database should be created if it doesn't exist.
+ * @param dbUsername               The database username (can be empty).
+ * @param dbPassword               The database password (can be empty).
+ * @param maxPageSize              The largest page a generated list endpoint returns.
+ * @param features                 The optional features to generate.
+ */
+public record ProjectSpec(String projectName,
+                          String basePackage,
+                          String moduleName,
+                          List<EntitySpec> entities,
+                          String buildTool,
+                          String configFileType,
+                          String databaseType,
+                          String databaseName,
+                          String databaseDialect,
+                          boolean createDatabaseIfNotExist,
+                          String dbUsername,
+                          String dbPassword,
+                          int maxPageSize,
+                          Set<Feature> features) {
+
+    private static final String FIELDS_PREFIX = "fields.";
+    private static final int DEFAULT_MAX_PAGE_SIZE = 100;
+
+    /**
+     * The JDBC batch size of projects generated with {@link Feature#JDBC_BATCHING}. It is also the
+     * allocation size of their ID sequences, so one sequence call covers a whole insert batch.
+     */
+    public static final int JDBC_BATCH_SIZE = 50;
+
+    public ProjectSpec {
+        entities = List.copyOf(entities);
+        features = features.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(features));
+        Feature.checkCompatible(features);
+        if (features.contains(Feature.HTTP_CACHING)) {
+            checkNoValidatorFields(entities);
+        }
+    }
+
+    /**
+     * Builds a project specification from a flat map of answers.
+     * Missing optional values fall back to the same defaults as the interactive prompts.
+     *
+     * @param values The answers keyed by component name (e.g., "projectName", "buildTool").
+     *               {@code entities} is a comma-separated list and defaults to the module name.
+     *               {@code fields.<Entity>} holds the field definitions of an entity
+     *               (see {@link FieldSpec}) and defaults to {@link FieldSpec#DEFAULT_FIELDS}.
+     *               {@code features} is a comma-separated list of {@link Feature} names.
+     * @return A new {@code ProjectSpec}.
+     * @throws IllegalArgumentException If a required value is missing, an entity is listed twice,
+     *                                  a field definition is invalid, a number or feature name is not valid,
+     *                                  or the features cannot be combined.
+     */
+    public static ProjectSpec fromMap(final Map<String, String> values) {
+        final String projectName = require(values, "projectName");
+        final String basePackage = require(values, "basePackage").toLowerCase();
+        final String moduleName = CliGenerator.toPascalCase(require(values, "moduleName"));
+        final List<EntitySpec> entities = parseEntities(valueOrDefault(values, "entities", moduleName), values);
+        final String databaseType = valueOrDefault(values, "databaseType", "h2").toLowerCase();
+        final boolean isH2 = databaseType.equals("h2");
+        return new ProjectSpec(
+                projectName,
+                basePackage,
+                moduleName,
+                entities,
+                valueOrDefault(values, "buildTool", "maven").toLowerCase(),
+                valueOrDefault(values, "configFileType", "properties"),
+                databaseType,
+                isH2 ? "" : valueOrDefault(values, "databaseName", ""),
+                isH2 ? "" : valueOrDefault(values, "databaseDialect", ""),
+                !isH2 && isYes(valueOrDefault(values, "createDatabaseIfNotExist", "no")),
+                valueOrDefault(values, "dbUsername", ""),
+                valueOrDefault(values, "dbPassword", ""),
+                positiveInt(values, "maxPageSize", DEFAULT_MAX_PAGE_SIZE),
+                Feature.parseList(valueOrDefault(values, "features", "")));
+    }
+
+    /**
+     * Returns the specification as a flat map using the same keys as {@link #fromMap(Map)}.
+     * The database password is left out, because the map is recorded in the project's
+     * generation manifest.
+     *
+     * @return A map of the specification's values.
+     */
+    public Map<String, String> toMap() {
+        final Map<String, String> values = new LinkedHashMap<>();
+        values.put("projectName", projectName);
+        values.put("basePackage", basePackage);
+        values.put("moduleName", moduleName);
+        final List<String> entityNames = new ArrayList<>(entities.size());
+        for (final EntitySpec entity : entities) {
+            entityNames.add(entity.name());
+        }
+        values.put("entities", String.join(",", entityNames));
+        for (final EntitySpec entity : entities) {
+            values.put(FIELDS_PREFIX + entity.name(), entity.fieldDefinitions());
+        }
+        values.put("buildTool", buildTool);
+        values.put("configFileType", configFileType);
+        values.put("databaseType", databaseType);
+        values.put("databaseName", databaseName);
+        values.put("databaseDialect", databaseDialect);
+        values.put("createDatabaseIfNotExist", createDatabaseIfNotExist ? "yes" : "no");
+        values.put("dbUsername", dbUsername);
+        values.put("maxPageSize", Integer.toString(maxPageSize));
+        values.put("features", Feature.toList(features));
+        return values;
+    }
+
+    /**
+     * Returns true if the project uses Gradle as its build tool.
+     *
+     * @return True for Gradle, false for Maven.
+     */
+    public boolean isGradle() {
+        return buildTool.equalsIgnoreCase("gradle");
+    }
+
+    /**
+     * Returns true if the given optional feature was selected.
+     *
+     * @param feature The feature to check.
+     * @return True if the project is generated with the feature.
+     */
+    public boolean hasFeature(final Feature feature) {
+        return features.contains(feature);
+    }
+
+    /**
+     * Returns true if the project is generated for the reactive stack (WebFlux and R2DBC)
+     * instead of Spring MVC and JPA.
+     *
+     * @return True with {@link Feature#REACTIVE}.
+     */
+    public boolean isReactive() {
+        return hasFeature(Feature.REACTIVE);
+    }
+
+    /**
+     * Returns true if entity IDs come from a pooled database sequence instead of an identity column.
+     * That is the case with {@link Feature#JDBC_BATCHING}, except on MySQL, which has no sequences.
+     *
+     * @return True for sequence IDs, false for identity IDs.
+     */
+    public boolean usesSequenceIds() {
+        return hasFeature(Feature.JDBC_BATCHING) && !databaseType.equalsIgnoreCase("mysql");
+    }
+
+    /**
+     * Returns the Java version the generated project is compiled for: 21 with
+     * {@link Feature#VIRTUAL_THREADS}, which needs it, and 17 otherwise.
+     *
+     * @return The Java version.
+     */
+    public int javaVersion() {
+        return hasFeature(Feature.VIRTUAL_THREADS) ? 21 : 17;
+    }
+
+    /**
+     * Returns a copy of this specification on an in-memory H2 database, configured in a .properties file.
+     * The load test of {@link Feature#LOAD_TEST} runs the application with that configuration.
+     *
+     * @return The specification with the database settings of H2.
+     */
+    public ProjectSpec withInMemoryDatabase() {
+        return new ProjectSpec(projectName, basePackage, moduleName, entities, buildTool, "properties", "h2",
+                "", "", false, "", "", maxPageSize, features);
+    }
+
+    /**
+     * Returns the module's package segment below the base package (e.g., "catalog" for "Catalog",
+     * "productItem" for "ProductItem"). It is the PascalCase module name with a lowercase first letter;
+     * every generated package and the directory layout use it.
+     *
+     * @return The module package.
+     */
+    public String modulePackage() {
+        return Character.toLowerCase(moduleName.charAt(0)) + moduleName.substring(1);
+    }
+
+    private static List<EntitySpec> parseEntities(final String value, final Map<String, String> values) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (final String rawName : value.split(",")) {
+            final String name = CliGenerator.toPascalCase(rawName.trim());
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Entity listed more than once: " + name);
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("Missing required value: entities");
+        }
+
+        final Map<String, String> fieldDefinitions = new LinkedHashMap<>();
+        for (final Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getKey().startsWith(FIELDS_PREFIX) && entry.getValue() != null && !entry.getValue().trim().isEmpty()) {
+                final String entityName = CliGenerator.toPascalCase(entry.getKey().substring(FIELDS_PREFIX.length()).trim());
+                if (!names.contains(entityName)) {
+                    throw new IllegalArgumentException("Fields given for unknown entity: " + entityName);
+                }
+                fieldDefinitions.put(entityName, entry.getValue());
+            }
+        }
+
+        final List<EntitySpec> entities = new ArrayList<>(names.size());
+        for (final String name : names) {
+            try {
+                entities.add(new EntitySpec(name, FieldSpec.parseList(fieldDefinitions.getOrDefault(name, FieldSpec.DEFAULT_FIELDS))));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Entity '" + name + "': " + e.getMessage(), e);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Checks that no entity declares a field that {@link Feature#HTTP_CACHING} generates itself.
+     */
+    private static void checkNoValidatorFields(final List<EntitySpec> entities) {
+        for (final EntitySpec entity : entities) {
+            for (final FieldSpec field : entity.fields()) {
+                if (field.name().equals("version") || field.name().equals("lastModified")) {
+                    throw new IllegalArgumentException("Field '" + field.name() + "' of " + entity.name()
+                            + " is generated by feature '" + Feature.HTTP_CACHING.id() + "'");
+                }
+            }
+        }
+    }
+
+    private static String require(final Map<String, String> values, final String key) {
+        final String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing required value: " + key);
+        }
+        return value.trim();
+    }
+
+    private static String valueOrDefault(final Map<String, String> values, final String key, final String defaultValue) {
+        final String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    private static int positiveInt(final Map<String, String> values, final String key, final int defaultValue) {
+        final String value = valueOrDefault(values, key, Integer.toString(defaultValue));
+        try {
+            final int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid value for " + key + ": " + value + " (expected a positive whole number)");
+    }
+
+    private static boolean isYes(final String value) {
+        return value.equalsIgnoreCase("yes") || value.equalsIgnoreCase("true");
+    }
+}
@@ -0,0 +1,339 @@
+package com.vinn.springgenie;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Writes a rendered project to disk without ever leaving a half-written tree behind,
+ * and without rewriting files whose content has not changed.
+ *
+ * Every project carries a {@link GenerationManifest} with the hash of each generated file.
+ * On a rerun, each rendered file is compared against the manifest and the file on disk:
+ * <ul>
+ *     <li>Files whose generated content is unchanged are not touched.</li>
+ *     <li>Files that were edited by hand since the last run are reported as conflicts
+ *     and left alone, unless {@code force} is set.</li>
+ *     <li>Files that were generated before but are no longer generated are reported as stale
+ *     and left alone.</li>
+ * </ul>
+ * The files that do need writing are first written as UTF-8 into a staging directory next to
+ * the project root. Only when all of them have been written is the result moved into place:
+ * one atomic rename for a new project, or one atomic replace per file otherwise, so files that
+ * were not generated (e.g., a {@code .git} directory) are kept and every generated file is either
+ * fully old or fully new. If anything fails before the move, the staging directory is removed
+ * and the project root is left untouched.
+ *
+ * Comparing, creating directories, writing and moving are measured as stages of the writer's
+ * {@link GenerationMetrics}.
+ */
+public class ProjectWriter {
+
+    /**
+     * The outcome of writing a project.
+     *
+     * @param written   The files that were created or updated.
+     * @param unchanged The files whose content was already up to date.
+     * @param conflicts The files that were edited by hand and therefore not overwritten.
+     * @param stale     The files from a previous run that are no longer generated.
+     */
+    public record WriteReport(List<Path> written, List<Path> unchanged, List<Path> conflicts, List<Path> stale) {
+    }
+
+    private final boolean durable;
+    private final boolean force;
+    private final GenerationMetrics metrics;
+
+    /**
+     * Creates a project writer that records no metrics.
+     *
+     * @param durable True to flush each file to stable storage before it is moved into place
+     *                and to sync the directories it was moved into afterwards.
+     * @param force   True to overwrite files that were edited by hand.
+     */
+    public ProjectWriter(final boolean durable, final boolean force) {
+        this(durable, force, GenerationMetrics.DISABLED);
+    }
+
+    /**
+     * Creates a project writer.
+     *
+     * @param durable True to flush each file to stable storage before it is moved into place
+     *                and to sync the directories it was moved into afterwards.
+     * @param force   True to overwrite files that were edited by hand.
+     * @param metrics The metrics to record the write stages in.
+     */
+    public ProjectWriter(final boolean durable, final boolean force, final GenerationMetrics metrics) {
+        this.durable = durable;
+        this.force = force;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the metrics this writer records its stages in.
+     *
+     * @return The metrics, possibly {@link GenerationMetrics#DISABLED}.
+     */
+    public GenerationMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Writes the rendered files under the given project root and updates its manifest.
+     *
+     * @param projectRoot The project root directory.
+     * @param files       The rendered files, with paths relative to the project root.
+     * @param inputs      The input parameters to record in the manifest.
+     * @return A report of what was written, skipped and left alone.
+     * @throws IOException If an I/O error occurs.
+     */
+    public WriteReport write(final Path projectRoot, final List<GeneratedFile> files, final Map<String, String> inputs) throws IOException {
+        final Path absoluteRoot = projectRoot.toAbsolutePath().normalize();
+        final GenerationManifest previous = GenerationManifest.load(absoluteRoot);
+        final GenerationManifest manifest = new GenerationManifest();
+        manifest.inputs().putAll(inputs);
+
+        final List<Path> unchanged = new ArrayList<>();
+        final List<Path> conflicts = new ArrayList<>();
+        final List<GeneratedFile> changedFiles = new ArrayList<>();
+        final List<byte[]> changedContents = new ArrayList<>();
+        final List<String> changedHashes = new ArrayList<>();
+        final Set<String> generatedPaths = new HashSet<>();
+
+        final GenerationMetrics.Span compareSpan = metrics.start("compare");
+        for (final GeneratedFile file : files) {
+            generatedPaths.add(file.relativePath());
+            final byte[] content = file.content().getBytes(StandardCharsets.UTF_8);
+            final String hash = GenerationManifest.sha256(content);
+            final Path target = absoluteRoot.resolve(file.relativePath());
+            final GenerationManifest.Entry recorded = previous.files().get(file.relativePath());
+
+            final BasicFileAttributes attributes = readAttributes(target);
+            if (attributes == null) {
+                changedFiles.add(file);
+                changedContents.add(content);
+                changedHashes.add(hash);
+                continue;
+            }
+
+            final boolean untouchedSinceLastRun = recorded != null
+                    && attributes.size() == recorded.size()
+                    && attributes.lastModifiedTime().toMillis() == recorded.lastModified();
+            final String diskHash = untouchedSinceLastRun ? recorded.hash() : GenerationManifest.sha256(Files.readAllBytes(target));
+
+            if (diskHash.equals(hash)) {
+                unchanged.add(projectRoot.resolve(file.relativePath()));
+                manifest.files().put(file.relativePath(),
+                        new GenerationManifest.Entry(hash, attributes.size(), attributes.lastModifiedTime().toMillis()));
+            } else if (force || (recorded != null && diskHash.equals(recorded.hash()))) {
+                changedFiles.add(file);
+                changedContents.add(content);
+                changedHashes.add(hash);
+            } else {
+                // Edited by hand, or an existing file the generator never wrote: leave it alone.
+                conflicts.add(projectRoot.resolve(file.relativePath()));
+                if (recorded != null) {
+                    manifest.files().put(file.relativePath(), recorded);
+                }
+            }
+        }
+        compareSpan.close();
+
+        final List<Path> stale = new ArrayList<>();
+        for (final Map.Entry<String, GenerationManifest.Entry> recorded : previous.files().entrySet()) {
+            if (!generatedPaths.contains(recorded.getKey()) && Files.exists(absoluteRoot.resolve(recorded.getKey()))) {
+                stale.add(projectRoot.resolve(recorded.getKey()));
+                manifest.files().put(recorded.getKey(), recorded.getValue());
+            }
+        }
+
+        final List<Path> written = new ArrayList<>(changedFiles.size());
+        if (!changedFiles.isEmpty()) {
+            writeStaged(absoluteRoot, changedFiles, changedContents);
+            for (int i = 0; i < changedFiles.size(); i++) {
+                final String relativePath = changedFiles.get(i).relativePath();
+                final BasicFileAttributes attributes = Files.readAttributes(absoluteRoot.resolve(relativePath), BasicFileAttributes.class);
+                manifest.files().put(relativePath,
+                        new GenerationManifest.Entry(changedHashes.get(i), attributes.size(), attributes.lastModifiedTime().toMillis()));
+                written.add(projectRoot.resolve(relativePath));
+            }
+        }
+
+        if (manifest.differsFrom(previous)) {
+            writeManifest(absoluteRoot, manifest);
+        }
+
+        return new WriteReport(written, unchanged, conflicts, stale);
+    }
+
+    /**
+     * Writes the given files into a staging directory, then moves them into place.
+     */
+    private void writeStaged(final Path absoluteRoot, final List<GeneratedFile> files, final List<byte[]> contents) throws IOException {
+        final Path parent = absoluteRoot.getParent();
+        Files.createDirectories(parent);
+
+        // Not Files.createTempDirectory: its owner-only permissions would be carried over to the project root.
+        final Path stagingRoot = Files.createDirectory(parent.resolve(
+                "." + absoluteRoot.getFileName() + ".staging-" + Long.toHexString(ThreadLocalRandom.current().nextLong())));
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                writeFile(stagingRoot.resolve(files.get(i).relativePath()), contents.get(i));
+            }
+
+            final boolean freshProject = Files.notExists(absoluteRoot);
+            if (freshProject) {
+                moveIntoPlace(stagingRoot, absoluteRoot);
+            } else {
+                for (final GeneratedFile file : files) {
+                    final Path target = absoluteRoot.resolve(file.relativePath());
+                    createDirectories(target.getParent());
+                    moveIntoPlace(stagingRoot.resolve(file.relativePath()), target);
+                }
+            }
+
+            if (durable) {
+                syncDirectories(absoluteRoot, files);
+                if (freshProject) {
+                    syncDirectory(parent);
+                }
+            }
+        } finally {
+            deleteRecursively(stagingRoot);
+        }
+    }
+
+    /**
+     * Writes the manifest through a temporary file next to it, so it is replaced atomically.
+     */
+    private void writeManifest(final Path absoluteRoot, final GenerationManifest manifest) throws IOException {
+        final Path manifestPath = absoluteRoot.resolve(GenerationManifest.RELATIVE_PATH);
+        final Path temporaryPath = manifestPath.resolveSibling(
+                manifestPath.getFileName() + ".tmp-" + Long.toHexString(ThreadLocalRandom.current().nextLong()));
+        try {
+            createDirectories(manifestPath.getParent());
+            // Measured on its own: the manifest is bookkeeping, not one of the files written
+            final GenerationMetrics.Span span = metrics.start("write.manifest");
+            try {
+                writeContent(temporaryPath, manifest.render().getBytes(StandardCharsets.UTF_8));
+            } finally {
+                span.close();
+            }
+            moveAtomically(temporaryPath, manifestPath);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Writes a single generated file, creating its directory first. The directory creation is
+     * measured as a stage of its own, before the file's span starts, so no time is counted twice.
+     */
+    private void writeFile(final Path path, final byte[] content) throws IOException {
+        createDirectories(path.getParent());
+        try (final GenerationMetrics.Span span = metrics.start("write.file")) {
+            writeContent(path, content);
+            span.addFile(content.length);
+        }
+    }
+
+    /**
+     * Writes a new file in one pass: the content is handed to the channel as a single buffer.
+     */
+    private void writeContent(final Path path, final byte[] content) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(content);
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (durable) {
+                channel.force(true);
+            }
+        }
+    }
+
+    private void moveIntoPlace(final Path source, final Path target) throws IOException {
+        final GenerationMetrics.Span span = metrics.start("write.moveIntoPlace");
+        try {
+            moveAtomically(source, target);
+        } finally {
+            span.close();
+        }
+    }
+
+    private void createDirectories(final Path directory) throws IOException {
+        final GenerationMetrics.Span span = metrics.start("write.createDirectories");
+        try {
+            Files.createDirectories(directory);
+        } finally {
+            span.close();
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(final Path path) throws IOException {
+        if (Files.notExists(path)) {
+            return null;
+        }
+        return Files.readAttributes(path, BasicFileAttributes.class);
+    }
+
+    private static void moveAtomically(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Syncs every directory between the project root and the moved files, root included, since each
+     * of them may have gained an entry: a moved file, or a directory created for one.
+     */
+    private static void syncDirectories(final Path absoluteRoot, final List<GeneratedFile> files) {
+        final Set<Path> directories = new LinkedHashSet<>();
+        for (final GeneratedFile file : files) {
+            Path directory = absoluteRoot.resolve(file.relativePath()).getParent();
+            while (directory.startsWith(absoluteRoot) && directories.add(directory)) {
+                directory = directory.getParent();
+            }
+        }
+        for (final Path directory : directories) {
+            syncDirectory(directory);
+        }
+    }
+
+    private static void syncDirectory(final Path directory) {
+        try (final FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms (e.g., Windows) cannot open a directory as a channel; the data itself is already synced.
+        }
+    }
+
+    private static void deleteRecursively(final Path root) throws IOException {
+        if (Files.notExists(root)) {
+            return;
+        }
+        try (final Stream<Path> paths = Files.walk(root)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.vinn.springgenie;
 
+import java.util.Map;
+import java.util.TreeSet;
+
 /**
  * A helper class to generate the content for a Spring Data JPA Repository interface.
  * This interface provides methods for CRUD operations on the corresponding entity.
@@ -7,31 +10,260 @@ package com.vinn.springgenie;
 public class RepositoryClassGenerator {
 
     /**
-     * Generates the content for a Spring Data JPA Repository interface.
-     * It extends JpaRepository to inherit common CRUD functionalities.
-     *
-     * @param basePackage          The base package of the application.
-     * @param pascalCaseModuleName The module name in PascalCase (e.g., "Product").
-     * @return A string containing the Repository interface content.
+     * The rows fetched per database round trip by the export stream of {@link Feature#EXPORT_IMPORT}.
+     * Without a fetch size, PostgreSQL and MySQL drivers read the whole result set into memory.
      */
-    public static String generate(final String basePackage, final String pascalCaseModuleName) {
-        final String camelCaseModuleName = Character.toLowerCase(pascalCaseModuleName.charAt(0)) + pascalCaseModuleName.substring(1);
-        return """
-                package %s.%s.repository;
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private static final Template TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.repository;
+
+            ${responseImport}import ${basePackage}.${modulePackage}.dto.${entity}Summary;
+            import ${basePackage}.${modulePackage}.entity.${entity};
+            ${hintImports}${limitImport}import org.springframework.data.domain.Pageable;
+            import org.springframework.data.domain.Slice;
+            import org.springframework.data.jpa.repository.JpaRepository;
+            import org.springframework.data.jpa.repository.Modifying;
+            import org.springframework.data.jpa.repository.Query;
+            ${queryHintsImport}import org.springframework.data.repository.query.Param;
+            import org.springframework.stereotype.Repository;
+            ${imports}
+            /**
+             * Spring Data JPA repository for the ${entity} entity.
+             * Provides standard CRUD operations and custom query capabilities for ${entity} data.
+             */
+            @Repository
+            public interface ${entity}Repository extends JpaRepository<${entity}, Long> {
+                /**
+                 * Finds one page of ${entity} summaries without counting all rows, unlike {@code findAll(Pageable)}.
+                 * Only the columns of {@link ${entity}Summary} are selected, and no entities are loaded.
+                 *
+                 * @param pageable The page to retrieve.
+                 * @return A slice of ${entity} summaries that knows whether a next page exists.
+                 */
+                Slice<${entity}Summary> findAllBy(Pageable pageable);
+
+                /**
+                 * Deletes the ${entity} with the given ID in a single DELETE statement, without loading it first
+                 * (unlike {@code deleteById}, which selects the entity and then removes it).
+                 *
+                 * @param id The ID of the ${entity} to delete.
+                 * @return The number of deleted rows: 1 if the ${entity} existed, 0 otherwise.
+                 */
+                @Modifying
+                @Query("delete from ${entity} e where e.id = :id")
+                int deleteRowById(@Param("id") Long id);
+            ${finders}}
+            """);
+
+    private static final Template REACTIVE_TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.repository;
+
+            import ${basePackage}.${modulePackage}.dto.${entity}Summary;
+            import ${basePackage}.${modulePackage}.entity.${entity};
+            import org.springframework.data.domain.Pageable;
+            import org.springframework.data.r2dbc.repository.Modifying;
+            import org.springframework.data.r2dbc.repository.Query;
+            import org.springframework.data.repository.query.Param;
+            import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+            import org.springframework.stereotype.Repository;
+            import reactor.core.publisher.Flux;
+            import reactor.core.publisher.Mono;
+            ${imports}
+            /**
+             * Spring Data R2DBC repository for the ${entity} entity.
+             * Provides non-blocking CRUD operations and custom query capabilities for ${entity} data.
+             */
+            @Repository
+            public interface ${entity}Repository extends ReactiveCrudRepository<${entity}, Long> {
+                /**
+                 * Finds one page of ${entity} summaries, read with LIMIT and OFFSET.
+                 * Only the columns of {@link ${entity}Summary} are selected.
+                 *
+                 * @param pageable The page to retrieve.
+                 * @return The ${entity} summaries of the page.
+                 */
+                Flux<${entity}Summary> findAllBy(Pageable pageable);
+
+                /**
+                 * Deletes the ${entity} with the given ID in a single DELETE statement.
+                 *
+                 * @param id The ID of the ${entity} to delete.
+                 * @return The number of deleted rows: 1 if the ${entity} existed, 0 otherwise.
+                 */
+                @Modifying
+                @Query("DELETE FROM ${table} WHERE id = :id")
+                Mono<Integer> deleteRowById(@Param("id") Long id);
+            ${finders}}
+            """);
 
-                import %s.%s.entity.%s;
-                import org.springframework.data.jpa.repository.JpaRepository;
-                import org.springframework.stereotype.Repository;
+    private static final Template SUMMARY_TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.dto;
+            ${imports}
+            /**
+             * A closed interface projection of the ${entity} entity, returned by the list endpoints.
+             * Spring Data selects only the columns of these getters, so a page of summaries
+             * reads less data than a page of entities and does not fill the persistence context.
+             */
+            public interface ${entity}Summary {
 
                 /**
-                 * Spring Data JPA repository for the %s entity.
-                 * Provides standard CRUD operations and custom query capabilities for %s data.
+                 * @return The ID of the ${entity}.
                  */
-                @Repository
-                public interface %sRepository extends JpaRepository<%s, Long> {
-                    // Custom query methods can be added here if needed, e.g.:
-                    // Optional<%s> findByName(String name);
+                Long getId();
+            ${getters}}
+            """);
+
+    /**
+     * Generates the content for a Spring Data JPA Repository interface.
+     * It extends JpaRepository to inherit common CRUD functionalities and declares a finder
+     * for every unique or indexed field, so those lookups are served by the field's index:
+     * unique fields return an {@code Optional}, indexed fields a {@code List}.
+     * Pages are read as a {@code Slice}, and with {@link Feature#KEYSET_PAGINATION} by ID as well;
+     * both return the entity's summary projection (see {@link #generateSummary}).
+     * Deletes by ID are a single bulk query that returns the affected row count.
+     * With {@link Feature#EXPORT_IMPORT} it streams all entities as response records for the export.
+     * With {@link Feature#REACTIVE} it is an R2DBC {@code ReactiveCrudRepository} whose finders
+     * return {@code Mono} and {@code Flux} instead.
+     *
+     * @param spec   The project specification.
+     * @param entity The entity and its fields.
+     * @return A string containing the Repository interface content.
+     */
+    public static String generate(final ProjectSpec spec, final EntitySpec entity) {
+        final boolean reactive = spec.isReactive();
+        final boolean keyset = spec.hasFeature(Feature.KEYSET_PAGINATION);
+        final String singleType = reactive ? "Mono" : "Optional";
+        final String multipleType = reactive ? "Flux" : "List";
+        final TreeSet<String> javaImports = new TreeSet<>();
+        final StringBuilder finders = new StringBuilder();
+        if (keyset) {
+            if (!reactive) {
+                javaImports.add("java.util.List");
+            }
+            finders.append("\n")
+                    .append("    /**\n")
+                    .append("     * Finds the summaries of the ").append(entity.name()).append(" entities that follow the given ID, ordered by ID.\n")
+                    .append("     * The query seeks in the primary key index, so deep pages cost the same as the first one.\n")
+                    .append("     *\n")
+                    .append("     * @param id The ID after which to start (exclusive).\n");
+            if (reactive) {
+                finders.append("     * @param pageable The first page of the given size; it limits the number of ").append(entity.name()).append(" entities returned.\n");
+            } else {
+                finders.append("     * @param limit The maximum number of ").append(entity.name()).append(" entities to return.\n");
+            }
+            finders.append("     * @return The summaries of the next ").append(entity.name()).append(" entities, ordered by ID.\n")
+                    .append("     */\n")
+                    .append("    ").append(multipleType).append('<').append(entity.name()).append("Summary> findByIdGreaterThanOrderByIdAsc(Long id, ")
+                    .append(reactive ? "Pageable pageable" : "Limit limit").append(");\n");
+        }
+        final boolean export = spec.hasFeature(Feature.EXPORT_IMPORT) && !reactive;
+        if (export) {
+            javaImports.add("java.util.stream.Stream");
+            finders.append("\n")
+                    .append("    /**\n")
+                    .append("     * Streams all ").append(entity.name()).append(" entities as response records, ordered by ID.\n")
+                    .append("     * The rows are read from a database cursor ").append(EXPORT_FETCH_SIZE)
+                    .append(" at a time and mapped to records, which the\n")
+                    .append("     * persistence context does not keep; the stream must be consumed in a transaction and closed.\n")
+                    .append("     *\n")
+                    .append("     * @return The stream of all ").append(entity.name()).append(" entities.\n")
+                    .append("     */\n")
+                    .append("    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = \"").append(EXPORT_FETCH_SIZE).append("\"))\n")
+                    .append("    Stream<").append(entity.name()).append("Response> streamAllByOrderByIdAsc();\n");
+        }
+        for (final FieldSpec field : entity.indexedFields()) {
+            finders.append("\n");
+            if (field.unique()) {
+                if (!reactive) {
+                    javaImports.add("java.util.Optional");
                 }
-                """.formatted(basePackage, camelCaseModuleName, basePackage, camelCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName);
+                finders.append("    /**\n")
+                        .append("     * Finds the ").append(entity.name()).append(" with the given ").append(field.name())
+                        .append(", using the unique constraint on ").append(field.columnName()).append(".\n")
+                        .append("     *\n")
+                        .append("     * @param ").append(field.name()).append(" The ").append(field.name()).append(" to look up.\n")
+                        .append("     * @return The matching ").append(entity.name()).append(", or empty if there is none.\n")
+                        .append("     */\n")
+                        .append("    ").append(singleType).append('<').append(entity.name()).append("> findBy").append(field.capitalizedName())
+                        .append('(').append(field.type()).append(' ').append(field.name()).append(");\n");
+            } else {
+                if (!reactive) {
+                    javaImports.add("java.util.List");
+                }
+                finders.append("    /**\n")
+                        .append("     * Finds all ").append(entity.name()).append(" entities with the given ").append(field.name())
+                        .append(", using the index on ").append(field.columnName()).append(".\n")
+                        .append("     *\n")
+                        .append("     * @param ").append(field.name()).append(" The ").append(field.name()).append(" to look up.\n")
+                        .append("     * @return The matching ").append(entity.name()).append(" entities.\n")
+                        .append("     */\n")
+                        .append("    ").append(multipleType).append('<').append(entity.name()).append("> findBy").append(field.capitalizedName())
+                        .append('(').append(field.type()).append(' ').append(field.name()).append(");\n");
+            }
+            final String typeImport = FieldSpec.SUPPORTED_TYPES.get(field.type());
+            if (!typeImport.isEmpty()) {
+                javaImports.add(typeImport);
+            }
+        }
+
+        final StringBuilder imports = new StringBuilder();
+        if (!javaImports.isEmpty()) {
+            imports.append('\n');
+            for (final String javaImport : javaImports) {
+                imports.append("import ").append(javaImport).append(";\n");
+            }
+        }
+
+        return (reactive ? REACTIVE_TEMPLATE : TEMPLATE).render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage(),
+                "entity", entity.name(),
+                "table", entity.tableName(),
+                "limitImport", keyset ? "import org.springframework.data.domain.Limit;\n" : "",
+                "responseImport", export ? "import " + spec.basePackage() + "." + spec.modulePackage() + ".dto." + entity.name() + "Response;\n" : "",
+                "hintImports", export ? "import jakarta.persistence.QueryHint;\nimport org.hibernate.jpa.HibernateHints;\n" : "",
+                "queryHintsImport", export ? "import org.springframework.data.jpa.repository.QueryHints;\n" : "",
+                "imports", imports.toString(),
+                "finders", finders.toString()));
+    }
+
+    /**
+     * Generates the content for the summary projection of an entity, which the list queries return.
+     * It declares a getter for the ID and for each of {@link EntitySpec#summaryFields()}.
+     *
+     * @param spec   The project specification.
+     * @param entity The entity and its fields.
+     * @return A string containing the projection interface content.
+     */
+    public static String generateSummary(final ProjectSpec spec, final EntitySpec entity) {
+        final TreeSet<String> javaImports = new TreeSet<>();
+        final StringBuilder getters = new StringBuilder();
+        for (final FieldSpec field : entity.summaryFields()) {
+            getters.append("\n")
+                    .append("    /**\n")
+                    .append("     * @return The ").append(field.name()).append(" of the ").append(entity.name()).append(".\n")
+                    .append("     */\n")
+                    .append("    ").append(field.type()).append(" get").append(field.capitalizedName()).append("();\n");
+            final String typeImport = FieldSpec.SUPPORTED_TYPES.get(field.type());
+            if (!typeImport.isEmpty()) {
+                javaImports.add(typeImport);
+            }
+        }
+
+        final StringBuilder imports = new StringBuilder();
+        if (!javaImports.isEmpty()) {
+            imports.append('\n');
+            for (final String javaImport : javaImports) {
+                imports.append("import ").append(javaImport).append(";\n");
+            }
+        }
+
+        return SUMMARY_TEMPLATE.render(Map.of(
+                "basePackage", spec.basePackage(),
+                "modulePackage", spec.modulePackage(),
+                "entity", entity.name(),
+                "imports", imports.toString(),
+                "getters", getters.toString()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package com.vinn.springgenie;
+
+/**
+ * A helper class to generate the SQL schema of a project's entities.
+ * Every entity gets a table with its columns, primary key, unique constraints and indexes,
+ * written in the dialect of the selected database (h2, mysql, postgresql) and matching what
+ * Hibernate would create for the generated JPA entity. All statements use {@code IF NOT EXISTS},
+ * so the schema can be applied on every start, and a migration of {@link Feature#FLYWAY} can be
+ * run against a database whose tables Hibernate already created.
+ */
+public class SchemaSqlGenerator {
+
+    /**
+     * The column length of a {@code String} field without an explicit length, as in JPA.
+     */
+    private static final int DEFAULT_STRING_LENGTH = 255;
+
+    /**
+     * The last modification date every entity gets with {@link Feature#HTTP_CACHING}.
+     */
+    private static final FieldSpec LAST_MODIFIED = new FieldSpec("lastModified", "Instant", true, false, false, 0);
+
+    /**
+     * Generates the schema of all entities of a project (e.g., for {@code schema.sql}).
+     *
+     * @param spec The project specification; its entities, database type and features are used.
+     * @return A string containing the SQL statements.
+     */
+    public static String generate(final ProjectSpec spec) {
+        final StringBuilder schema = new StringBuilder(spec.entities().size() * 512);
+        schema.append("-- Schema of the ").append(spec.moduleName()).append(" module, one table per entity\n");
+        for (final EntitySpec entity : spec.entities()) {
+            schema.append("\n").append(createStatements(spec, entity));
+        }
+        return schema.toString();
+    }
+
+    /**
+     * Generates the Flyway migration that creates the table of one entity, with its ID sequence and indexes.
+     *
+     * @param spec   The project specification; its database type and features are used.
+     * @param entity The entity and its fields.
+     * @return A string containing the SQL statements of the migration.
+     */
+    public static String generateMigration(final ProjectSpec spec, final EntitySpec entity) {
+        return "-- Creates the table of the " + entity.name() + " entity\n\n" + createStatements(spec, entity);
+    }
+
+    /**
+     * Generates the statements that create the table of one entity, together with its ID sequence
+     * (if {@link ProjectSpec#usesSequenceIds()}) and its indexes.
+     *
+     * @param spec   The project specification.
+     * @param entity The entity and its fields.
+     * @return A string containing the SQL statements, each terminated by a semicolon and a newline.
+     */
+    public static String createStatements(final ProjectSpec spec, final EntitySpec entity) {
+        final String databaseType = spec.databaseType().toLowerCase();
+        final boolean mysql = databaseType.equals("mysql");
+        final String tableName = entity.tableName();
+        final StringBuilder statements = new StringBuilder(512);
+
+        if (spec.usesSequenceIds()) {
+            statements.append("CREATE SEQUENCE IF NOT EXISTS ").append(tableName).append("_seq START WITH 1 INCREMENT BY ")
+                    .append(ProjectSpec.JDBC_BATCH_SIZE).append(";\n\n");
+        }
+
+        statements.append("CREATE TABLE IF NOT EXISTS ").append(tableName).append(" (\n");
+        if (spec.usesSequenceIds()) {
+            statements.append("    id BIGINT NOT NULL,\n");
+        } else if (mysql) {
+            statements.append("    id BIGINT NOT NULL AUTO_INCREMENT,\n");
+        } else {
+            statements.append("    id BIGINT GENERATED BY DEFAULT AS IDENTITY,\n");
+        }
+        for (final FieldSpec field : entity.fields()) {
+            statements.append("    ").append(field.columnName()).append(' ').append(columnType(databaseType, field));
+            if (!field.nullable()) {
+                statements.append(" NOT NULL");
+            }
+            statements.append(",\n");
+        }
+        if (spec.hasFeature(Feature.HTTP_CACHING)) {
+            // Defaults for rows inserted without the application, e.g. seed data, so that every row has its validators
+            statements.append("    version BIGINT DEFAULT 0 NOT NULL,\n");
+            statements.append("    ").append(LAST_MODIFIED.columnName()).append(' ').append(columnType(databaseType, LAST_MODIFIED))
+                    .append(" DEFAULT CURRENT_TIMESTAMP(6) NOT NULL,\n");
+        }
+        statements.append("    PRIMARY KEY (id)");
+        for (final FieldSpec field : entity.indexedFields()) {
+            if (field.unique()) {
+                statements.append(",\n    CONSTRAINT uk_").append(tableName).append('_').append(field.columnName())
+                        .append(" UNIQUE (").append(field.columnName()).append(')');
+            } else if (mysql) {
+                // MySQL has no CREATE INDEX IF NOT EXISTS, so its indexes are declared with the table
+                statements.append(",\n    INDEX idx_").append(tableName).append('_').append(field.columnName())
+                        .append(" (").append(field.columnName()).append(')');
+            }
+        }
+        statements.append("\n);\n");
+
+        if (!mysql) {
+            for (final FieldSpec field : entity.indexedFields()) {
+                if (!field.unique()) {
+                    statements.append("\nCREATE INDEX IF NOT EXISTS idx_").append(tableName).append('_').append(field.columnName())
+                            .append(" ON ").append(tableName).append(" (").append(field.columnName()).append(");\n");
+                }
+            }
+        }
+        return statements.toString();
+    }
+
+    /**
+     * Returns the SQL column type of a field, as Hibernate maps the Java type on the given database.
+     *
+     * @param databaseType The database type in lower case (h2, mysql, postgresql).
+     * @param field        The field.
+     * @return The column type (e.g., "VARCHAR(255)").
+     */
+    static String columnType(final String databaseType, final FieldSpec field) {
+        final boolean mysql = databaseType.equals("mysql");
+        switch (field.type()) {
+            case "String":
+                return "VARCHAR(" + (field.length() > 0 ? field.length() : DEFAULT_STRING_LENGTH) + ")";
+            case "Integer":
+                return "INTEGER";
+            case "Long":
+                return "BIGINT";
+            case "Double":
+                return "DOUBLE PRECISION";
+            case "Float":
+                return mysql ? "FLOAT" : "REAL";
+            case "Boolean":
+                return "BOOLEAN";
+            case "BigDecimal":
+                return "NUMERIC(38, 2)";
+            case "LocalDate":
+                return "DATE";
+            case "LocalDateTime":
+                return mysql ? "DATETIME(6)" : "TIMESTAMP(6)";
+            case "Instant":
+                return mysql ? "DATETIME(6)" : "TIMESTAMP(6) WITH TIME ZONE";
+            case "UUID":
+                return mysql ? "BINARY(16)" : "UUID";
+            default:
+                throw new IllegalArgumentException("Unsupported field type: " + field.type());
+        }
+    }
+}
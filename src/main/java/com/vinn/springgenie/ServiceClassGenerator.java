@@ -1,5 +1,9 @@
 package com.vinn.springgenie;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
 /**
  * A helper class to generate the content for a business layer Service class.
  * This class encapsulates business logic and interacts with the repository.
@@ -7,120 +11,400 @@ package com.vinn.springgenie;
  */
 public class ServiceClassGenerator {
 
-    /**
-     * Generates the content for a business layer Service class.
-     * It includes basic CRUD operations that delegate to the repository.
-     *
-     * @param basePackage          The base package of the application.
-     * @param pascalCaseModuleName The module name in PascalCase (e.g., "Product").
-     * @return A string containing the Service class content.
-     */
-    public static String generate(final String basePackage, final String pascalCaseModuleName) {
-        final String camelCaseModuleName = Character.toLowerCase(pascalCaseModuleName.charAt(0)) + pascalCaseModuleName.substring(1);
-        final String repositoryVarName = camelCaseModuleName + "Repository";
-        return """
-                package %s.%s.service;
-
-                import %s.%s.entity.%s;
-                import %s.%s.repository.%sRepository;
-                import org.springframework.stereotype.Service;
-                import java.util.List;
-                import java.util.Optional;
-
-                /**
-                 * Service layer for managing %s entities.
-                 * This class contains the business logic for operations related to %s.
-                 * It acts as an intermediary between the Controller and Repository layers for %s data.
-                 */
-                @Service
-                public class %sService {
-
-                    private final %sRepository %s;
-
-                    /**
-                     * Constructs a new %sService with the given %sRepository.
-                     * Spring automatically injects the %sRepository instance.
-                     *
-                     * @param %s The %sRepository to be used by this service.
-                     */
-                    public %sService(final %sRepository %s) {
-                        this.%s = %s;
-                    }
+    private static final Template TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.service;
 
-                    /**
-                     * Retrieves all %s entities.
-                     * This method fetches all %s records from the database.
-                     *
-                     * @return A list of all %s entities.
-                     */
-                    public List<%s> findAll() {
-                        return this.%s.findAll();
-                    }
+            ${responseImport}import ${basePackage}.${modulePackage}.dto.${entity}Summary;
+            import ${basePackage}.${modulePackage}.entity.${entity};
+            import ${basePackage}.${modulePackage}.repository.${entity}Repository;
+            ${observedImport}${entityManagerImport}${cacheImports}${limitImport}import org.springframework.data.domain.Pageable;
+            import org.springframework.data.domain.Slice;
+            import org.springframework.stereotype.Service;
+            import org.springframework.transaction.annotation.Transactional;
+            ${javaImports}
 
-                    /**
-                     * Retrieves a %s entity by its ID.
-                     * This method attempts to find a single %s based on its primary key.
-                     *
-                     * @param id The ID of the %s to retrieve.
-                     * @return An Optional containing the %s if found, or empty if not.
-                     */
-                    public Optional<%s> findById(final Long id) {
-                        return this.%s.findById(id);
-                    }
+            /**
+             * Service layer for managing ${entity} entities.
+             * This class contains the business logic for operations related to ${entity}.
+             * It acts as an intermediary between the Controller and Repository layers for ${entity} data.
+             * Every method runs in a transaction, read-only unless it writes.
+             */
+            ${observed}@Service
+            @Transactional(readOnly = true)
+            public class ${entity}Service {
+
+                private final ${entity}Repository ${repository};
+            ${dependencyFields}
+                /**
+                 * Constructs a new ${entity}Service with the given ${entity}Repository.
+                 * Spring automatically injects the ${entity}Repository instance.
+                 *
+                 * @param ${repository} The ${entity}Repository to be used by this service.
+            ${dependencyDocs}     */
+                public ${entity}Service(final ${entity}Repository ${repository}${dependencyParameters}) {
+                    this.${repository} = ${repository};
+            ${dependencyAssignments}    }
+
+                /**
+                 * Retrieves one page of ${entity} summaries.
+                 * Only the requested page and the summary columns are read, and the total number of rows is not counted.
+                 *
+                 * @param pageable The page to retrieve.
+                 * @return A slice of ${entity} summaries.
+                 */
+                public Slice<${entity}Summary> findAll(final Pageable pageable) {
+                    return this.${repository}.findAllBy(pageable);
+                }${findAfter}
+
+                /**
+                 * Retrieves a ${entity} entity by its ID.
+                 * This method attempts to find a single ${entity} based on its primary key.
+                 *
+                 * @param id The ID of the ${entity} to retrieve.
+                 * @return An Optional containing the ${entity} if found, or empty if not.
+                 */
+            ${cacheable}    public Optional<${entity}> findById(final Long id) {
+                    return this.${repository}.findById(id);
+                }
+
+                /**
+                 * Saves a new ${entity} entity.
+                 * This method persists the ${entity} object to the database.
+                 *
+                 * @param ${entityVar} The ${entity} entity to save.
+                 * @return The saved ${entity} entity.
+                 */
+                @Transactional
+            ${cachePutSave}    public ${entity} save(final ${entity} ${entityVar}) {
+                    return this.${repository}.save(${entityVar});
+                }${saveAll}${exportImport}
 
-                    /**
-                     * Saves a new %s entity or updates an existing one.
-                     * This method persists the %s object to the database.
-                     *
-                     * @param %s The %s entity to save or update.
-                     * @return The saved or updated %s entity.
-                     */
-                    public %s save(final %s %s) {
-                        return this.%s.save(%s);
+                /**
+                 * Updates an existing ${entity} entity with the fields of the given one.
+                 * The ${entity} is loaded and modified within this transaction, so Hibernate's dirty
+                 * checking writes the changes with a single UPDATE on commit; no {@code save} is needed.
+                 *
+                 * @param id The ID of the ${entity} to update.
+                 * @param ${entityVar} The ${entity} carrying the new field values.
+                 * @return An Optional containing the updated ${entity}, or empty if there is no ${entity} with the ID.
+                 */
+                @Transactional
+            ${cachePutUpdate}    public Optional<${entity}> update(final Long id, final ${entity} ${entityVar}) {
+                    return this.${repository}.findById(id)
+                            .map(existing${entity} -> {
+                                ${copyFields}
+                                return existing${entity};
+                            });
+                }
+
+                /**
+                 * Deletes a ${entity} entity by its ID.
+                 * This method removes the ${entity} record with a single DELETE statement, without loading it.
+                 *
+                 * @param id The ID of the ${entity} to delete.
+                 * @return The number of deleted rows: 1 if the ${entity} existed, 0 otherwise.
+                 */
+                @Transactional
+            ${cacheEvict}    public int deleteById(final Long id) {
+                    return this.${repository}.deleteRowById(id);
+                }
+            }
+            """);
+
+    private static final Template FIND_AFTER_TEMPLATE = Template.compile("""
+
+
+                /**
+                 * Retrieves the ${entity} entities that follow the given ID, ordered by ID.
+                 * This is keyset pagination: the query seeks to the ID in the primary key index
+                 * and reads at most {@code limit} rows, however deep the page is.
+                 *
+                 * @param afterId The ID of the last ${entity} already seen (0 to start from the beginning).
+                 * @param limit The maximum number of ${entity} entities to return.
+                 * @return The summaries of the next ${entity} entities, ordered by ID.
+                 */
+                public List<${entity}Summary> findAfter(final Long afterId, final int limit) {
+                    return this.${repository}.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+                }\
+            """);
+
+    private static final Template SAVE_ALL_TEMPLATE = Template.compile("""
+
+
+                /**
+                 * Saves a list of new ${entity} entities in one transaction.
+                 * Hibernate sends the inserts to the database in JDBC batches instead of one round trip per row.
+                 *
+                 * @param ${entitiesVar} The ${entity} entities to save.
+                 * @return The saved ${entity} entities, in the same order.
+                 */
+                @Transactional
+                public List<${entity}> saveAll(final List<${entity}> ${entitiesVar}) {
+            ${saveAllBody}    }\
+            """);
+
+    private static final Template EXPORT_IMPORT_TEMPLATE = Template.compile("""
+
+
+                /**
+                 * Passes every ${entity} to the given consumer as a response record, ordered by ID.
+                 * The rows are read from a database cursor in chunks and are not kept in the persistence
+                 * context, so memory does not grow with the table.
+                 *
+                 * @param consumer Receives the ${entity} records one at a time.
+                 */
+                public void exportAll(final Consumer<${entity}Response> consumer) {
+                    try (Stream<${entity}Response> ${entitiesVar} = this.${repository}.streamAllByOrderByIdAsc()) {
+                        ${entitiesVar}.forEach(consumer);
                     }
+                }
 
-                    /**
-                     * Deletes a %s entity by its ID.
-                     * This method removes the %s record identified by the given ID from the database.
-                     *
-                     * @param id The ID of the %s to delete.
-                     */
-                    public void deleteById(final Long id) {
-                        this.%s.deleteById(id);
+                /**
+                 * Saves new ${entity} entities, read one at a time, in one transaction.
+                 * Every ${batchSize} entities the persistence context is flushed, which sends their inserts,
+                 * and cleared, so memory does not grow with the number of imported entities.
+                 *
+                 * @param ${entitiesVar} The ${entity} entities to save, e.g., parsed lazily from a request body.
+                 * @return The number of saved ${entity} entities.
+                 */
+                @Transactional
+                public long importAll(final Iterator<${entity}> ${entitiesVar}) {
+                    long count = 0;
+                    while (${entitiesVar}.hasNext()) {
+                        this.entityManager.persist(${entitiesVar}.next());
+                        count++;
+                        if (count % ${batchSize} == 0) {
+                            this.entityManager.flush();
+                            this.entityManager.clear();
+                        }
                     }
+                    return count;
+                }\
+            """);
+
+    private static final Template REACTIVE_TEMPLATE = Template.compile("""
+            package ${basePackage}.${modulePackage}.service;
+
+            import ${basePackage}.${modulePackage}.dto.${entity}Summary;
+            import ${basePackage}.${modulePackage}.entity.${entity};
+            import ${basePackage}.${modulePackage}.repository.${entity}Repository;
+            ${pageRequestImport}import org.springframework.data.domain.Pageable;
+            import org.springframework.stereotype.Service;
+            import org.springframework.transaction.annotation.Transactional;
+            import reactor.core.publisher.Flux;
+            import reactor.core.publisher.Mono;
+
+            /**
+             * Service layer for managing ${entity} entities.
+             * This class contains the business logic for operations related to ${entity}.
+             * It acts as an intermediary between the Controller and Repository layers for ${entity} data.
+             * Every method is non-blocking and runs in a reactive transaction, read-only unless it writes.
+             */
+            @Service
+            @Transactional(readOnly = true)
+            public class ${entity}Service {
+
+                private final ${entity}Repository ${repository};
+
+                /**
+                 * Constructs a new ${entity}Service with the given ${entity}Repository.
+                 * Spring automatically injects the ${entity}Repository instance.
+                 *
+                 * @param ${repository} The ${entity}Repository to be used by this service.
+                 */
+                public ${entity}Service(final ${entity}Repository ${repository}) {
+                    this.${repository} = ${repository};
                 }
-                """.formatted(basePackage, camelCaseModuleName,
-                basePackage, camelCaseModuleName, pascalCaseModuleName,
-                basePackage, camelCaseModuleName, pascalCaseModuleName,
-                pascalCaseModuleName, pascalCaseModuleName, pascalCaseModuleName, // Class Javadoc (3 placeholders)
-                pascalCaseModuleName, // Class name (1 placeholder)
-                pascalCaseModuleName, repositoryVarName, // private final (2 placeholders)
-                pascalCaseModuleName, pascalCaseModuleName, // Constructor Javadoc (2 placeholders)
-                pascalCaseModuleName, // Constructor Javadoc (1 placeholder)
-                repositoryVarName, pascalCaseModuleName, // Constructor Javadoc param (2 placeholders)
-                pascalCaseModuleName, pascalCaseModuleName, repositoryVarName, // Constructor method signature (3 placeholders)
-                repositoryVarName, repositoryVarName, // this.repo = repo (2 placeholders)
-                pascalCaseModuleName, // findAll Javadoc 1 (1 placeholder)
-                pascalCaseModuleName, // findAll Javadoc 2 (1 placeholder)
-                pascalCaseModuleName, // findAll Javadoc return (1 placeholder)
-                pascalCaseModuleName, // findAll method signature (1 placeholder)
-                repositoryVarName, // findAll method body (1 placeholder)
-                pascalCaseModuleName, // findById Javadoc 1 (1 placeholder)
-                pascalCaseModuleName, // findById Javadoc 2 (1 placeholder)
-                pascalCaseModuleName, // findById Javadoc param (1 placeholder)
-                pascalCaseModuleName, // findById Javadoc return (1 placeholder)
-                pascalCaseModuleName, // findById method signature (1 placeholder)
-                repositoryVarName, // findById method body (1 placeholder)
-                pascalCaseModuleName, // save Javadoc 1 (1 placeholder)
-                pascalCaseModuleName, // save Javadoc 2 (1 placeholder)
-                camelCaseModuleName, pascalCaseModuleName, // save Javadoc param (2 placeholders)
-                pascalCaseModuleName, // save Javadoc return (1 placeholder)
-                pascalCaseModuleName, // save method return type (1 placeholder)
-                pascalCaseModuleName, camelCaseModuleName, // save method params (2 placeholders)
-                repositoryVarName, camelCaseModuleName, // save method body (2 placeholders)
-                pascalCaseModuleName, // delete Javadoc 1 (1 placeholder)
-                pascalCaseModuleName, // delete Javadoc 2 (1 placeholder)
-                pascalCaseModuleName, // delete Javadoc param (1 placeholder)
-                repositoryVarName); // delete method body (1 placeholder)
+
+                /**
+                 * Retrieves one page of ${entity} summaries.
+                 * Only the requested page and the summary columns are read from the database.
+                 *
+                 * @param pageable The page to retrieve.
+                 * @return The ${entity} summaries of the page.
+                 */
+                public Flux<${entity}Summary> findAll(final Pageable pageable) {
+                    return this.${repository}.findAllBy(pageable);
+                }${findAfter}
+
+                /**
+                 * Retrieves a ${entity} entity by its ID.
+                 * This method attempts to find a single ${entity} based on its primary key.
+                 *
+                 * @param id The ID of the ${entity} to retrieve.
+                 * @return A Mono emitting the ${entity} if found, or completing empty if not.
+                 */
+                public Mono<${entity}> findById(final Long id) {
+                    return this.${repository}.findById(id);
+                }
+
+                /**
+                 * Saves a new ${entity} entity.
+                 * This method persists the ${entity} object to the database.
+                 *
+                 * @param ${entityVar} The ${entity} entity to save.
+                 * @return A Mono emitting the saved ${entity} entity.
+                 */
+                @Transactional
+                public Mono<${entity}> save(final ${entity} ${entityVar}) {
+                    return this.${repository}.save(${entityVar});
+                }
+
+                /**
+                 * Updates an existing ${entity} entity with the fields of the given one.
+                 * R2DBC has no dirty checking, so the ${entity} is read and written back within one transaction.
+                 *
+                 * @param id The ID of the ${entity} to update.
+                 * @param ${entityVar} The ${entity} carrying the new field values.
+                 * @return A Mono emitting the updated ${entity}, or completing empty if there is no ${entity} with the ID.
+                 */
+                @Transactional
+                public Mono<${entity}> update(final Long id, final ${entity} ${entityVar}) {
+                    return this.${repository}.findById(id)
+                            .flatMap(existing${entity} -> {
+                                ${copyFields}
+                                return this.${repository}.save(existing${entity});
+                            });
+                }
+
+                /**
+                 * Deletes a ${entity} entity by its ID.
+                 * This method removes the ${entity} record with a single DELETE statement.
+                 *
+                 * @param id The ID of the ${entity} to delete.
+                 * @return A Mono emitting the number of deleted rows: 1 if the ${entity} existed, 0 otherwise.
+                 */
+                @Transactional
+                public Mono<Integer> deleteById(final Long id) {
+                    return this.${repository}.deleteRowById(id);
+                }
+            }
+            """);
+
+    private static final Template REACTIVE_FIND_AFTER_TEMPLATE = Template.compile("""
+
+
+                /**
+                 * Retrieves the ${entity} entities that follow the given ID, ordered by ID.
+                 * This is keyset pagination: the query seeks to the ID in the primary key index
+                 * and reads at most {@code limit} rows, however deep the page is.
+                 *
+                 * @param afterId The ID of the last ${entity} already seen (0 to start from the beginning).
+                 * @param limit The maximum number of ${entity} entities to return.
+                 * @return The summaries of the next ${entity} entities, ordered by ID.
+                 */
+                public Flux<${entity}Summary> findAfter(final Long afterId, final int limit) {
+                    return this.${repository}.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit));
+                }\
+            """);
+
+    /**
+     * Generates the content for a business layer Service class.
+     * It includes basic CRUD operations that delegate to the repository; lists are read
+     * one page of summary projections at a time, and by ID with {@link Feature#KEYSET_PAGINATION}. With
+     * {@link Feature#JDBC_BATCHING} lists of entities are saved in one batched transaction. With
+     * {@link Feature#EXPORT_IMPORT} all entities are streamed to the export, and imports are saved in
+     * batches of {@link ProjectSpec#JDBC_BATCH_SIZE}, flushing and clearing the persistence context after each.
+     * The class is {@code @Transactional(readOnly = true)} and the writing methods override it:
+     * updates copy every field onto the managed entity and rely on dirty checking, and deletes
+     * are one statement whose row count tells the caller whether the entity existed.
+     * With {@link Feature#CACHING} reads by ID go through the entity's cache, and every write
+     * puts the new state into it or evicts it. With {@link Feature#OBSERVABILITY} every method call
+     * is observed, which times it with the class and method as tags. With {@link Feature#REACTIVE} every method
+     * returns a {@code Mono} or {@code Flux} from the R2DBC repository.
+     *
+     * @param spec   The project specification.
+     * @param entity The entity and its fields.
+     * @return A string containing the Service class content.
+     */
+    public static String generate(final ProjectSpec spec, final EntitySpec entity) {
+        final String pascalCaseEntityName = entity.name();
+        final String camelCaseEntityName = Character.toLowerCase(pascalCaseEntityName.charAt(0)) + pascalCaseEntityName.substring(1);
+        final StringBuilder copyFields = new StringBuilder(entity.fields().size() * 96);
+        for (final FieldSpec field : entity.fields()) {
+            copyFields.append(copyFields.length() > 0 ? "\n                    " : "").append("existing").append(pascalCaseEntityName).append(".set").append(field.capitalizedName())
+                    .append('(').append(camelCaseEntityName).append(".get").append(field.capitalizedName()).append("());");
+        }
+        final boolean keyset = spec.hasFeature(Feature.KEYSET_PAGINATION);
+        final boolean batching = spec.hasFeature(Feature.JDBC_BATCHING);
+        final TreeSet<String> javaImports = new TreeSet<>();
+        javaImports.add("import java.util.Optional;");
+        if (keyset || batching) {
+            javaImports.add("import java.util.List;");
+        }
+        final boolean exportImport = spec.hasFeature(Feature.EXPORT_IMPORT);
+        if (exportImport) {
+            javaImports.add("import java.util.Iterator;");
+            javaImports.add("import java.util.function.Consumer;");
+            javaImports.add("import java.util.stream.Stream;");
+        }
+        final Map<String, String> values = new HashMap<>();
+        values.put("basePackage", spec.basePackage());
+        values.put("modulePackage", spec.modulePackage());
+        values.put("entity", pascalCaseEntityName);
+        values.put("entityVar", camelCaseEntityName);
+        values.put("repository", camelCaseEntityName + "Repository");
+        values.put("copyFields", copyFields.toString());
+        values.put("limitImport", keyset ? "import org.springframework.data.domain.Limit;\n" : "");
+        values.put("entitiesVar", camelCaseEntityName + "s");
+        values.put("javaImports", String.join("\n", javaImports));
+        values.put("batchSize", Integer.toString(ProjectSpec.JDBC_BATCH_SIZE));
+        values.put("responseImport", exportImport ? "import " + spec.basePackage() + "." + spec.modulePackage() + ".dto." + pascalCaseEntityName + "Response;\n" : "");
+        values.put("entityManagerImport", exportImport ? "import jakarta.persistence.EntityManager;\n" : "");
+        final boolean caching = spec.hasFeature(Feature.CACHING);
+        final String cacheName = CacheConfigGenerator.cacheName(entity);
+        // A batch evicts the IDs it saved through the cache itself, since an annotation names one key
+        final boolean batchCache = caching && batching && !spec.isReactive();
+        final String cacheField = camelCaseEntityName + "Cache";
+        final StringBuilder dependencyFields = new StringBuilder();
+        final StringBuilder dependencyDocs = new StringBuilder();
+        final StringBuilder dependencyParameters = new StringBuilder();
+        final StringBuilder dependencyAssignments = new StringBuilder();
+        if (exportImport) {
+            dependencyFields.append("    private final EntityManager entityManager;\n");
+            dependencyDocs.append("     * @param entityManager The EntityManager that batches the imports.\n");
+            dependencyParameters.append(", final EntityManager entityManager");
+            dependencyAssignments.append("        this.entityManager = entityManager;\n");
+        }
+        if (batchCache) {
+            dependencyFields.append("    private final Cache ").append(cacheField).append(";\n");
+            dependencyDocs.append("     * @param cacheManager The CacheManager that holds the cache of ").append(pascalCaseEntityName).append(" entities.\n");
+            dependencyParameters.append(", final CacheManager cacheManager");
+            dependencyAssignments.append("        this.").append(cacheField).append(" = cacheManager.getCache(\"").append(cacheName).append("\");\n");
+        }
+        values.put("dependencyFields", dependencyFields.toString());
+        values.put("dependencyDocs", dependencyDocs.toString());
+        values.put("dependencyParameters", dependencyParameters.toString());
+        values.put("dependencyAssignments", dependencyAssignments.toString());
+        values.put("cacheImports", caching ? (batchCache ? "import org.springframework.cache.Cache;\nimport org.springframework.cache.CacheManager;\n" : "")
+                + "import org.springframework.cache.annotation.CacheEvict;\n"
+                + "import org.springframework.cache.annotation.CachePut;\n"
+                + "import org.springframework.cache.annotation.Cacheable;\n" : "");
+        values.put("cacheable", caching ? "    @Cacheable(cacheNames = \"" + cacheName + "\", key = \"#id\", unless = \"#result == null\")\n" : "");
+        values.put("cachePutSave", caching ? "    @CachePut(cacheNames = \"" + cacheName + "\", key = \"#result.id\")\n" : "");
+        values.put("cachePutUpdate", caching ? "    @CachePut(cacheNames = \"" + cacheName + "\", key = \"#id\", unless = \"#result == null\")\n" : "");
+        values.put("cacheEvict", caching ? "    @CacheEvict(cacheNames = \"" + cacheName + "\", key = \"#id\")\n" : "");
+        values.put("saveAllBody", batchCache
+                ? "        final List<" + pascalCaseEntityName + "> saved" + pascalCaseEntityName + "s = this." + camelCaseEntityName + "Repository.saveAll(" + camelCaseEntityName + "s);\n"
+                + "        // A batch may overwrite existing rows, whose IDs are only known after the merge; other cached\n"
+                + "        // entities stay valid. The cache is transaction-aware, so the evictions happen on commit.\n"
+                + "        for (final " + pascalCaseEntityName + " saved" + pascalCaseEntityName + " : saved" + pascalCaseEntityName + "s) {\n"
+                + "            this." + cacheField + ".evict(saved" + pascalCaseEntityName + ".getId());\n"
+                + "        }\n"
+                + "        return saved" + pascalCaseEntityName + "s;\n"
+                : "        return this." + camelCaseEntityName + "Repository.saveAll(" + camelCaseEntityName + "s);\n");
+        // The aspect would only time the assembly of a Mono or Flux, so reactive services are not annotated
+        final boolean observed = spec.hasFeature(Feature.OBSERVABILITY) && !spec.isReactive();
+        values.put("observedImport", observed ? "import io.micrometer.observation.annotation.Observed;\n" : "");
+        values.put("observed", observed ? "@Observed(name = \"" + ApplicationConfigGenerator.metricPrefix(spec) + ".service\")\n" : "");
+        if (spec.isReactive()) {
+            values.put("pageRequestImport", keyset ? "import org.springframework.data.domain.PageRequest;\n" : "");
+            values.put("findAfter", keyset ? REACTIVE_FIND_AFTER_TEMPLATE.render(values) : "");
+            return REACTIVE_TEMPLATE.render(values);
+        }
+        values.put("findAfter", keyset ? FIND_AFTER_TEMPLATE.render(values) : "");
+        values.put("saveAll", batching ? SAVE_ALL_TEMPLATE.render(values) : "");
+        values.put("exportImport", exportImport ? EXPORT_IMPORT_TEMPLATE.render(values) : "");
+        return TEMPLATE.render(values);
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.vinn.springgenie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A precompiled text template with named placeholders.
+ * A template is parsed once into alternating literal and slot segments, so rendering
+ * is a straight copy into a pre-sized {@link StringBuilder} with no formatting or regex work.
+ * Generators keep their templates in {@code static final} fields, which makes the
+ * compiled form a per-class cache that is safe to share between threads.
+ *
+ * Placeholders have the form {@code ${name}}, where {@code name} is a Java identifier.
+ * Write {@code $${} to emit a literal {@code ${} (e.g., for Spring property placeholders).
+ */
+public final class Template {
+
+    private final String[] literals;
+    private final String[] slotNames;
+    private final int literalLength;
+
+    private Template(final String[] literals, final String[] slotNames) {
+        this.literals = literals;
+        this.slotNames = slotNames;
+        int length = 0;
+        for (final String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses a template source into its compiled form.
+     *
+     * @param source The template text.
+     * @return The compiled template.
+     * @throws IllegalArgumentException If a placeholder is unterminated or has an invalid name.
+     */
+    public static Template compile(final String source) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> slotNames = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < source.length()) {
+            final char c = source.charAt(i);
+            if (c == '$' && source.startsWith("$${", i)) {
+                literal.append("${");
+                i += 3;
+            } else if (c == '$' && source.startsWith("${", i)) {
+                final int end = source.indexOf('}', i + 2);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated placeholder at offset " + i);
+                }
+                final String name = source.substring(i + 2, end);
+                if (!isIdentifier(name)) {
+                    throw new IllegalArgumentException("Invalid placeholder name '" + name + "' at offset " + i);
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slotNames.add(name);
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new Template(literals.toArray(new String[0]), slotNames.toArray(new String[0]));
+    }
+
+    /**
+     * Renders the template with the given placeholder values.
+     *
+     * @param values The placeholder values keyed by name.
+     * @return The rendered text.
+     * @throws IllegalArgumentException If a placeholder has no value.
+     */
+    public String render(final Map<String, String> values) {
+        final String[] resolved = new String[slotNames.length];
+        int length = literalLength;
+        for (int i = 0; i < slotNames.length; i++) {
+            final String value = values.get(slotNames[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for placeholder '" + slotNames[i] + "'");
+            }
+            resolved[i] = value;
+            length += value.length();
+        }
+
+        final StringBuilder out = new StringBuilder(length);
+        out.append(literals[0]);
+        for (int i = 0; i < resolved.length; i++) {
+            out.append(resolved[i]).append(literals[i + 1]);
+        }
+        return out.toString();
+    }
+
+    private static boolean isIdentifier(final String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,167 @@
+package com.vinn.springgenie;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes archives through {@link ArchiveOutput} and reads them back: zip archives with
+ * {@link ZipInputStream}, tar archives with a reader of the ustar header fields.
+ */
+class ArchiveOutputTest {
+
+    private static final String ROOT = "demo";
+    private static final int BLOCK_SIZE = 512;
+
+    @Test
+    void zipRoundTrip() throws IOException {
+        final List<GeneratedFile> files = List.of(
+                new GeneratedFile("pom.xml", "<project/>\n"),
+                new GeneratedFile("src/main/resources/application.yml", "# Gr\u00fc\u00dfe\n"));
+        final Map<String, String> entries = new LinkedHashMap<>();
+        try (final ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive(ArchiveOutput.Format.ZIP, files)), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(Map.of(ROOT + "/pom.xml", "<project/>\n", ROOT + "/src/main/resources/application.yml", "# Gr\u00fc\u00dfe\n"), entries);
+    }
+
+    @Test
+    void tarRoundTripWithShortNames() throws IOException {
+        final String content = "x".repeat(BLOCK_SIZE + 1); // Padded to two blocks
+        final Map<String, String> entries = readTar(archive(ArchiveOutput.Format.TAR, List.of(
+                new GeneratedFile("pom.xml", "<project/>\n"),
+                new GeneratedFile("src/Main.java", content))));
+        assertEquals(Map.of(ROOT + "/pom.xml", "<project/>\n", ROOT + "/src/Main.java", content), entries);
+    }
+
+    @Test
+    void tarKeepsNamesOfExactlyOneHundredBytesInTheNameField() throws IOException {
+        final String relativePath = "src/" + "a".repeat(100 - ROOT.length() - 1 - "src/".length());
+        final byte[] tar = archive(ArchiveOutput.Format.TAR, List.of(new GeneratedFile(relativePath, "one")));
+        assertEquals(100, field(tar, 0, 100).length());
+        assertEquals("", field(tar, 345, 155));
+        assertEquals(Map.of(ROOT + "/" + relativePath, "one"), readTar(tar));
+    }
+
+    @Test
+    void tarSplitsLongNamesIntoPrefixAndName() throws IOException {
+        final String directory = "src/main/java/" + "com/example/".repeat(8) + "catalog";
+        final String fileName = "Product" + "Controller".repeat(6) + ".java";
+        final List<GeneratedFile> files = List.of(
+                new GeneratedFile(directory + "/" + fileName, "class A {}"),
+                new GeneratedFile(directory + "/" + "b".repeat(30) + "/" + "c".repeat(60) + ".java", "class B {}"));
+        for (final GeneratedFile file : files) {
+            final int length = (ROOT + "/" + file.relativePath()).getBytes(StandardCharsets.UTF_8).length;
+            assertTrue(length > 100 && length <= 255, "name of " + length + " bytes");
+        }
+
+        final byte[] tar = archive(ArchiveOutput.Format.TAR, files);
+        assertTrue(field(tar, 0, 100).endsWith("/" + fileName));
+        assertTrue((ROOT + "/" + directory).startsWith(field(tar, 345, 155) + "/"));
+        assertEquals(Map.of(
+                ROOT + "/" + files.get(0).relativePath(), "class A {}",
+                ROOT + "/" + files.get(1).relativePath(), "class B {}"), readTar(tar));
+    }
+
+    @Test
+    void tarRejectsNamesThatCannotBeSplit() {
+        // The last segment alone does not fit in the 100-byte name field
+        assertThrows(IOException.class, () -> archive(ArchiveOutput.Format.TAR,
+                List.of(new GeneratedFile("src/" + "x".repeat(101), ""))));
+        // The directories do not fit in the 155-byte prefix field
+        assertThrows(IOException.class, () -> archive(ArchiveOutput.Format.TAR,
+                List.of(new GeneratedFile("d".repeat(200) + "/Main.java", ""))));
+    }
+
+    @Test
+    void tarGzRoundTrip() throws IOException {
+        final byte[] tarGz = archive(ArchiveOutput.Format.TAR_GZ, List.of(new GeneratedFile("README.md", "# Demo\n")));
+        try (final InputStream in = new GZIPInputStream(new ByteArrayInputStream(tarGz))) {
+            assertEquals(Map.of(ROOT + "/README.md", "# Demo\n"), readTar(in.readAllBytes()));
+        }
+    }
+
+    private static byte[] archive(final ArchiveOutput.Format format, final List<GeneratedFile> files) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final ArchiveOutput archive = ArchiveOutput.open(format, out, ROOT)) {
+            for (final GeneratedFile file : files) {
+                archive.write(file);
+            }
+            assertEquals(files.size(), archive.entryCount());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads the entries of a ustar archive, checking the magic, the checksum and the end-of-archive blocks.
+     */
+    private static Map<String, String> readTar(final byte[] tar) {
+        assertEquals(0, tar.length % BLOCK_SIZE);
+        final Map<String, String> entries = new LinkedHashMap<>();
+        int offset = 0;
+        while (!isZeroBlock(tar, offset)) {
+            final byte[] header = Arrays.copyOfRange(tar, offset, offset + BLOCK_SIZE);
+            assertEquals("ustar", field(header, 257, 6));
+            assertEquals("00", new String(header, 263, 2, StandardCharsets.US_ASCII));
+            assertEquals('0', header[156]);
+            assertEquals(Long.parseLong(field(header, 148, 8).trim(), 8), checksum(header));
+
+            final String prefix = field(header, 345, 155);
+            final String name = prefix.isEmpty() ? field(header, 0, 100) : prefix + "/" + field(header, 0, 100);
+            final int size = Integer.parseInt(field(header, 124, 12), 8);
+            entries.put(name, new String(tar, offset + BLOCK_SIZE, size, StandardCharsets.UTF_8));
+            offset += BLOCK_SIZE + (size + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE;
+        }
+        assertTrue(isZeroBlock(tar, offset + BLOCK_SIZE), "two empty blocks end the archive");
+        assertEquals(tar.length, offset + 2 * BLOCK_SIZE);
+        return entries;
+    }
+
+    private static boolean isZeroBlock(final byte[] tar, final int offset) {
+        for (int i = offset; i < offset + BLOCK_SIZE; i++) {
+            if (tar[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the sum of the header bytes, with the checksum field counted as spaces.
+     */
+    private static long checksum(final byte[] header) {
+        long checksum = 0;
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            checksum += i >= 148 && i < 156 ? ' ' : header[i] & 0xFF;
+        }
+        return checksum;
+    }
+
+    /**
+     * Returns a NUL-terminated header field, or the whole field if it has no NUL.
+     */
+    private static String field(final byte[] header, final int offset, final int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,109 @@
+package com.vinn.springgenie;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parses request bodies of the {@link GenerationServer} with {@link Json} and flattens them
+ * for {@link ProjectSpec#fromMap(Map)}.
+ */
+class JsonTest {
+
+    @Test
+    void parsesValuesOfEveryType() {
+        final Map<String, Object> object = Json.parseObject(
+                " { \"name\" : \"shop\", \"size\": 100, \"ratio\": -1.5e2, \"flag\": true, \"off\": false, \"none\": null } ");
+        assertEquals("shop", object.get("name"));
+        assertEquals(100L, object.get("size"));
+        assertEquals(-150.0, object.get("ratio"));
+        assertEquals(Boolean.TRUE, object.get("flag"));
+        assertEquals(Boolean.FALSE, object.get("off"));
+        assertTrue(object.containsKey("none"));
+        assertNull(object.get("none"));
+        assertEquals(List.of("name", "size", "ratio", "flag", "off", "none"), List.copyOf(object.keySet()));
+    }
+
+    @Test
+    void readsEscapes() {
+        final Map<String, Object> object = Json.parseObject(
+                "{\"text\": \"quote \\\" backslash \\\\ slash \\/ \\b\\f\\n\\r\\t end\"}");
+        assertEquals("quote \" backslash \\ slash / \b\f\n\r\t end", object.get("text"));
+    }
+
+    @Test
+    void readsUnicodeEscapes() {
+        final Map<String, Object> object = Json.parseObject("{\"text\": \"\\u0047r\\u00FC\\u00dfe \\ud83d\\ude00\"}");
+        assertEquals("Gr\u00fc\u00dfe \uD83D\uDE00", object.get("text"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"text\": \"\\u00G1\"}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"text\": \"\\u00"));
+    }
+
+    @Test
+    void quoteRoundTrips() {
+        final String value = "line\nbreak \"quoted\" \\ tab\t bell\u0007 \u00fc";
+        assertEquals("\"line\\nbreak \\\"quoted\\\" \\\\ tab\\t bell\\u0007 \u00fc\"", Json.quote(value));
+        assertEquals(value, Json.parseObject("{\"value\": " + Json.quote(value) + "}").get("value"));
+    }
+
+    @Test
+    void parsesNestedArraysAndObjects() {
+        final Map<String, Object> object = Json.parseObject("{\"matrix\": [[1, 2], [], [[\"a\"]]], \"nested\": {\"list\": [{}]}}");
+        assertEquals(List.of(List.of(1L, 2L), List.of(), List.of(List.of("a"))), object.get("matrix"));
+        assertEquals(Map.of("list", List.of(Map.of())), object.get("nested"));
+    }
+
+    @Test
+    void rejectsTrailingContent() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{} {}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\": 1} x"));
+        assertEquals(Map.of(), Json.parseObject("{}\n\t "));
+    }
+
+    @Test
+    void rejectsInvalidDocuments() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("[1, 2]"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject(""));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\": 1,}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\" 1}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{a: 1}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\": tru}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\": 1.2.3}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\": \"\\x\"}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\": \"open"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\": [1"));
+    }
+
+    @Test
+    void flattensValuesToStrings() {
+        final Map<String, String> values = Json.toStringMap(Json.parseObject(
+                "{\"entities\": [\"Product\", \"Category\"], \"maxPageSize\": 50.0, \"ratio\": 0.25, \"count\": 7,"
+                        + " \"large\": 1e3, \"flag\": true, \"none\": null, \"nested\": {\"a\": 1}}"));
+        assertEquals("Product,Category", values.get("entities"));
+        assertEquals("50", values.get("maxPageSize"));
+        assertEquals("0.25", values.get("ratio"));
+        assertEquals("7", values.get("count"));
+        assertEquals("1000", values.get("large"));
+        assertEquals("true", values.get("flag"));
+        assertEquals("{a=1}", values.get("nested"));
+        assertFalse(values.containsKey("none"));
+    }
+
+    @Test
+    void flatteningKeepsNumbersThatAreNotWhole() {
+        final Map<String, String> values = Json.toStringMap(Map.of(
+                "infinite", Double.POSITIVE_INFINITY,
+                "notANumber", Double.NaN,
+                "negative", -3.0));
+        assertEquals("Infinity", values.get("infinite"));
+        assertEquals("NaN", values.get("notANumber"));
+        assertEquals("-3", values.get("negative"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.vinn.springgenie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes projects with {@link ProjectWriter} and reruns it against the {@link GenerationManifest}
+ * it left behind, to check which files count as unchanged, changed, conflicting and stale.
+ */
+class ProjectWriterTest {
+
+    private static final Map<String, String> INPUTS = Map.of("projectName", "demo");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writesANewProjectWithItsManifest() throws IOException {
+        final Path root = tempDir.resolve("demo");
+        final ProjectWriter.WriteReport report = new ProjectWriter(false, false).write(root, List.of(
+                new GeneratedFile("pom.xml", "<project/>\n"),
+                new GeneratedFile("src/main/java/App.java", "class App {}\n")), INPUTS);
+
+        assertEquals(List.of(root.resolve("pom.xml"), root.resolve("src/main/java/App.java")), report.written());
+        assertEquals(List.of(), report.unchanged());
+        assertEquals("class App {}\n", read(root.resolve("src/main/java/App.java")));
+
+        final GenerationManifest manifest = GenerationManifest.load(root);
+        assertEquals(INPUTS, manifest.inputs());
+        assertEquals(GenerationManifest.sha256("<project/>\n".getBytes(StandardCharsets.UTF_8)), manifest.files().get("pom.xml").hash());
+        assertEquals(Files.size(root.resolve("pom.xml")), manifest.files().get("pom.xml").size());
+        try (final Stream<Path> siblings = Files.list(tempDir)) {
+            assertEquals(List.of(root), siblings.toList(), "the staging directory is removed");
+        }
+    }
+
+    @Test
+    void leavesUnchangedFilesAndTheManifestAlone() throws IOException {
+        final Path root = tempDir.resolve("demo");
+        final List<GeneratedFile> files = List.of(new GeneratedFile("pom.xml", "<project/>\n"));
+        new ProjectWriter(false, false).write(root, files, INPUTS);
+        final Path manifestPath = root.resolve(GenerationManifest.RELATIVE_PATH);
+        final FileTime manifestTime = FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(manifestPath, manifestTime);
+
+        final ProjectWriter.WriteReport report = new ProjectWriter(false, false).write(root, files, INPUTS);
+
+        assertEquals(List.of(), report.written());
+        assertEquals(List.of(root.resolve("pom.xml")), report.unchanged());
+        assertEquals(manifestTime, Files.getLastModifiedTime(manifestPath), "an unchanged manifest is not rewritten");
+    }
+
+    @Test
+    void recognizesUnchangedContentOfATouchedFile() throws IOException {
+        final Path root = tempDir.resolve("demo");
+        final List<GeneratedFile> files = List.of(new GeneratedFile("pom.xml", "<project/>\n"));
+        new ProjectWriter(false, false).write(root, files, INPUTS);
+        final FileTime touched = FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(root.resolve("pom.xml"), touched);
+
+        final ProjectWriter.WriteReport report = new ProjectWriter(false, false).write(root, files, INPUTS);
+
+        assertEquals(List.of(root.resolve("pom.xml")), report.unchanged());
+        assertEquals(touched.toMillis(), GenerationManifest.load(root).files().get("pom.xml").lastModified(),
+                "the manifest records the new modification time, so the next run does not hash the file again");
+    }
+
+    @Test
+    void updatesFilesThatWereNotEditedByHand() throws IOException {
+        final Path root = tempDir.resolve("demo");
+        new ProjectWriter(false, false).write(root, List.of(new GeneratedFile("pom.xml", "<project/>\n")), INPUTS);
+
+        final ProjectWriter.WriteReport report = new ProjectWriter(false, false).write(root,
+                List.of(new GeneratedFile("pom.xml", "<project><version>2</version></project>\n")), INPUTS);
+
+        assertEquals(List.of(root.resolve("pom.xml")), report.written());
+        assertEquals(List.of(), report.conflicts());
+        assertEquals("<project><version>2</version></project>\n", read(root.resolve("pom.xml")));
+    }
+
+    @Test
+    void reportsFilesEditedByHandAsConflicts() throws IOException {
+        final Path root = tempDir.resolve("demo");
+        new ProjectWriter(false, false).write(root, List.of(new GeneratedFile("pom.xml", "<project/>\n")), INPUTS);
+        final String recordedHash = GenerationManifest.load(root).files().get("pom.xml").hash();
+        Files.writeString(root.resolve("pom.xml"), "<project><!-- edited --></project>\n");
+
+        final List<GeneratedFile> regenerated = List.of(new GeneratedFile("pom.xml", "<project><version>2</version></project>\n"));
+        final ProjectWriter.WriteReport report = new ProjectWriter(false, false).write(root, regenerated, INPUTS);
+
+        assertEquals(List.of(root.resolve("pom.xml")), report.conflicts());
+        assertEquals(List.of(), report.written());
+        assertEquals("<project><!-- edited --></project>\n", read(root.resolve("pom.xml")));
+        assertEquals(recordedHash, GenerationManifest.load(root).files().get("pom.xml").hash(),
+                "the manifest keeps the last generated hash, so the edit is still detected on the next run");
+
+        final ProjectWriter.WriteReport forced = new ProjectWriter(false, true).write(root, regenerated, INPUTS);
+        assertEquals(List.of(root.resolve("pom.xml")), forced.written());
+        assertEquals("<project><version>2</version></project>\n", read(root.resolve("pom.xml")));
+    }
+
+    @Test
+    void reportsExistingFilesTheGeneratorNeverWroteAsConflicts() throws IOException {
+        final Path root = tempDir.resolve("demo");
+        Files.createDirectories(root);
+        Files.writeString(root.resolve("README.md"), "# Mine\n");
+        Files.writeString(root.resolve("pom.xml"), "<project/>\n");
+
+        final ProjectWriter.WriteReport report = new ProjectWriter(false, false).write(root, List.of(
+                new GeneratedFile("README.md", "# Demo\n"),
+                new GeneratedFile("pom.xml", "<project/>\n")), INPUTS);
+
+        assertEquals(List.of(root.resolve("README.md")), report.conflicts());
+        assertEquals(List.of(root.resolve("pom.xml")), report.unchanged());
+        assertEquals("# Mine\n", read(root.resolve("README.md")));
+        assertFalse(GenerationManifest.load(root).files().containsKey("README.md"));
+    }
+
+    @Test
+    void reportsFilesThatAreNoLongerGeneratedAsStale() throws IOException {
+        final Path root = tempDir.resolve("demo");
+        new ProjectWriter(false, false).write(root, List.of(
+                new GeneratedFile("pom.xml", "<project/>\n"),
+                new GeneratedFile("src/Old.java", "class Old {}\n")), INPUTS);
+
+        final ProjectWriter.WriteReport report = new ProjectWriter(false, false).write(root,
+                List.of(new GeneratedFile("pom.xml", "<project/>\n")), INPUTS);
+
+        assertEquals(List.of(root.resolve("src/Old.java")), report.stale());
+        assertTrue(Files.exists(root.resolve("src/Old.java")));
+        assertTrue(GenerationManifest.load(root).files().containsKey("src/Old.java"));
+    }
+
+    private static String read(final Path path) throws IOException {
+        return Files.readString(path, StandardCharsets.UTF_8);
+    }
+}